@@ -0,0 +1,160 @@
+package com.janeirodigital.sai.rdfutils;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonObjectBuilder;
+import jakarta.json.JsonStructure;
+import jakarta.json.JsonValue;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Batch operations over many small documents, run in parallel on a shared pool. Items are
+ * grouped into a few chunks per available worker, so the per-task overhead is paid per chunk
+ * rather than per document, and results are returned in input order with per-item failures
+ * reported rather than failing the whole batch.
+ */
+public final class RdfBatch {
+
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private RdfBatch() { }
+
+    /**
+     * Parses <code>sources</code> in parallel on the common fork join pool
+     * @param sources Documents to parse
+     * @return Parsed models or per-item failures, in input order
+     */
+    public static List<RdfBatchResult<Model>> parse(List<RdfSource> sources) {
+        return parse(sources, RdfParseOptions.UNBOUNDED, ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Parses <code>sources</code> in parallel on <code>executor</code>, applying <code>options</code> to each
+     * @param sources Documents to parse
+     * @param options Parse options applied to each document
+     * @param executor Executor to parse on
+     * @param parallelism Number of workers available in <code>executor</code>
+     * @return Parsed models or per-item failures, in input order
+     */
+    public static List<RdfBatchResult<Model>> parse(List<RdfSource> sources, RdfParseOptions options, Executor executor, int parallelism) {
+        Objects.requireNonNull(sources, "Must provide sources to parse");
+        Objects.requireNonNull(options, "Must provide parse options for the batch");
+        return run(sources, executor, parallelism, source -> {
+            Model model = ModelFactory.createDefaultModel();
+            RdfParsing.parse(source.getBaseUri(), source.getContent(), RdfUtils.getLangForContentType(source.getContentType()), options, model.getGraph());
+            return model;
+        });
+    }
+
+    /**
+     * Serializes <code>models</code> to JSON-LD in parallel on the common fork join pool. The
+     * <code>context</code> is shared by every item, so it's loaded and parsed once for the batch.
+     * @param models Models to serialize
+     * @param context Shared context to compact with, or null for expanded JSON-LD
+     * @return Serialized JSON-LD strings or per-item failures, in input order
+     */
+    public static List<RdfBatchResult<String>> toJsonLd(List<Model> models, RdfJsonLdContext context) {
+        return toJsonLd(models, context, ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Serializes <code>models</code> to JSON-LD in parallel on <code>executor</code>
+     * @param models Models to serialize
+     * @param context Shared context to compact with, or null for expanded JSON-LD
+     * @param executor Executor to serialize on
+     * @param parallelism Number of workers available in <code>executor</code>
+     * @return Serialized JSON-LD strings or per-item failures, in input order
+     */
+    public static List<RdfBatchResult<String>> toJsonLd(List<Model> models, RdfJsonLdContext context, Executor executor, int parallelism) {
+        Objects.requireNonNull(models, "Must provide models to serialize");
+        return run(models, executor, parallelism, model -> RdfJsonLdContext.toJson(model, context).toString());
+    }
+
+    /**
+     * Serializes <code>models</code> in parallel into a single JSON-LD document. With a
+     * <code>context</code> the nodes of every model are emitted in one <code>@graph</code> under a
+     * single <code>@context</code>; without one the result is a single expanded JSON-LD array.
+     * @param models Models to serialize
+     * @param context Shared context to compact with, or null for expanded JSON-LD
+     * @return Serialized JSON-LD document
+     * @throws SaiRdfException when any of the models can't be serialized
+     */
+    public static String toJsonLdDocument(List<Model> models, RdfJsonLdContext context) throws SaiRdfException {
+        Objects.requireNonNull(models, "Must provide models to serialize");
+        List<RdfBatchResult<JsonStructure>> results = run(models, ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism(),
+                                                          model -> RdfJsonLdContext.toJson(model, context));
+        JsonArrayBuilder nodes = Json.createArrayBuilder();
+        for (RdfBatchResult<JsonStructure> result : results) {
+            JsonStructure json = result.get();
+            if (json instanceof JsonObject) { addCompactedNodes(nodes, (JsonObject) json); } else { json.asJsonArray().forEach(nodes::add); }
+        }
+        if (context == null) { return nodes.build().toString(); }
+        JsonObjectBuilder document = Json.createObjectBuilder();
+        JsonValue contextValue = context.getContextValue();
+        if (contextValue != null) { document.add("@context", contextValue); }
+        return document.add("@graph", nodes).build().toString();
+    }
+
+    /**
+     * Adds the node objects of a compacted document, without its <code>@context</code>, to <code>nodes</code>
+     */
+    private static void addCompactedNodes(JsonArrayBuilder nodes, JsonObject compacted) {
+        JsonObjectBuilder node = Json.createObjectBuilder(compacted).remove("@context");
+        JsonObject stripped = node.build();
+        if (stripped.isEmpty()) { return; }
+        if (stripped.size() == 1 && stripped.containsKey("@graph")) {
+            stripped.getJsonArray("@graph").forEach(nodes::add);
+        } else {
+            nodes.add(stripped);
+        }
+    }
+
+    /**
+     * Operation applied to each item of a batch
+     */
+    @FunctionalInterface
+    interface BatchOperation<I, T> {
+        T apply(I item) throws SaiRdfException;
+    }
+
+    /**
+     * Applies <code>operation</code> to chunks of <code>items</code> in parallel, collecting results in input order
+     */
+    static <I, T> List<RdfBatchResult<T>> run(List<I> items, Executor executor, int parallelism, BatchOperation<I, T> operation) {
+        Objects.requireNonNull(executor, "Must provide an executor for the batch");
+        if (parallelism < 1) { throw new IllegalArgumentException("Parallelism must be positive"); }
+        List<RdfBatchResult<T>> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) { results.add(null); }
+        int chunkSize = Math.max(1, (int) Math.ceil(items.size() / (double) (parallelism * CHUNKS_PER_WORKER)));
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int start = 0; start < items.size(); start += chunkSize) {
+            final int from = start;
+            final int to = Math.min(items.size(), start + chunkSize);
+            chunks.add(CompletableFuture.runAsync(() -> {
+                for (int i = from; i < to; i++) { results.set(i, apply(operation, items.get(i))); }
+            }, executor));
+        }
+        CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).join();
+        return results;
+    }
+
+    private static <I, T> RdfBatchResult<T> apply(BatchOperation<I, T> operation, I item) {
+        try {
+            return RdfBatchResult.success(operation.apply(item));
+        } catch (SaiRdfException ex) {
+            return RdfBatchResult.failure(ex);
+        } catch (RuntimeException ex) {
+            return RdfBatchResult.failure(new SaiRdfException("Failed to process batch item", ex));
+        }
+    }
+
+}
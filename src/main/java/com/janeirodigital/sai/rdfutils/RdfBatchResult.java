@@ -0,0 +1,56 @@
+package com.janeirodigital.sai.rdfutils;
+
+/**
+ * Outcome of one item of a batch operation in {@link RdfBatch}: either its value or the
+ * exception that prevented it from being produced
+ * @param <T> Type of value
+ */
+public final class RdfBatchResult<T> {
+
+    private final T value;
+    private final SaiRdfException exception;
+
+    private RdfBatchResult(T value, SaiRdfException exception) {
+        this.value = value;
+        this.exception = exception;
+    }
+
+    static <T> RdfBatchResult<T> success(T value) {
+        return new RdfBatchResult<>(value, null);
+    }
+
+    static <T> RdfBatchResult<T> failure(SaiRdfException exception) {
+        return new RdfBatchResult<>(null, exception);
+    }
+
+    /**
+     * @return True when the item succeeded
+     */
+    public boolean isSuccess() {
+        return exception == null;
+    }
+
+    /**
+     * @return Value of the item, or null when it failed
+     */
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * @return Exception for the item, or null when it succeeded
+     */
+    public SaiRdfException getException() {
+        return exception;
+    }
+
+    /**
+     * @return Value of the item
+     * @throws SaiRdfException when the item failed
+     */
+    public T get() throws SaiRdfException {
+        if (exception != null) { throw exception; }
+        return value;
+    }
+
+}
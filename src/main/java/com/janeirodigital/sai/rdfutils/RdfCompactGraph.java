@@ -0,0 +1,290 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.graph.Capabilities;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.graph.impl.GraphBase;
+import org.apache.jena.shared.PrefixMapping;
+import org.apache.jena.shared.impl.PrefixMappingImpl;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.util.iterator.NiceIterator;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Frozen, read-only Jena Graph for large read-mostly working sets. Nodes are
+ * dictionary-encoded to integer identifiers and triples are stored three times, as
+ * SPO, POS and OSP permutations sorted in primitive int arrays (optionally allocated
+ * off-heap). Every triple pattern maps onto a prefix of one permutation, so lookups
+ * are two binary searches followed by a sequential scan of the matches.
+ * <p>
+ * Nodes are matched by term equality, so literals with the same value but different
+ * lexical forms (e.g. <code>"1"</code> and <code>"01"</code> as xsd:integer) are distinct.
+ * Use {@link RdfUtils#getCompactModel(org.apache.jena.rdf.model.Model)} to wrap a frozen copy
+ * of an existing Model.
+ */
+public class RdfCompactGraph extends GraphBase {
+
+    private static final int SPO = 0;
+    private static final int POS = 1;
+    private static final int OSP = 2;
+
+    private static final Capabilities READ_ONLY = new Capabilities() {
+        @Override public boolean sizeAccurate() { return true; }
+        @Override public boolean addAllowed() { return false; }
+        @Override public boolean deleteAllowed() { return false; }
+        @Override public boolean handlesLiteralTyping() { return false; }
+    };
+
+    private final Node[] dictionary;
+    private final Map<Node, Integer> identifiers;
+    private final IntBuffer[] permutations;
+    private final int size;
+    private final PrefixMapping prefixes;
+
+    private RdfCompactGraph(Node[] dictionary, Map<Node, Integer> identifiers, IntBuffer[] permutations, int size, PrefixMapping prefixes) {
+        this.dictionary = dictionary;
+        this.identifiers = identifiers;
+        this.permutations = permutations;
+        this.size = size;
+        this.prefixes = prefixes;
+    }
+
+    /**
+     * Builds a compact copy of <code>source</code> on the heap
+     * @param source Graph to copy
+     * @return Compact read-only graph
+     */
+    public static RdfCompactGraph of(Graph source) {
+        return of(source, false);
+    }
+
+    /**
+     * Builds a compact copy of <code>source</code>
+     * @param source Graph to copy
+     * @param offHeap When true the triple permutations are stored in direct (off-heap) buffers
+     * @return Compact read-only graph
+     */
+    public static RdfCompactGraph of(Graph source, boolean offHeap) {
+        Objects.requireNonNull(source, "Cannot build a compact graph from a null graph");
+        Map<Node, Integer> identifiers = new HashMap<>();
+        Node[] dictionary = new Node[16];
+        int[] spo = new int[Math.max(3, source.size() * 3)];
+        int count = 0;
+        Iterator<Triple> it = source.find();
+        try {
+            while (it.hasNext()) {
+                Triple triple = it.next();
+                if (count * 3 == spo.length) { spo = grow(spo); }
+                Node[] nodes = { triple.getSubject(), triple.getPredicate(), triple.getObject() };
+                for (int position = 0; position < 3; position++) {
+                    Node node = nodes[position];
+                    Integer id = identifiers.get(node);
+                    if (id == null) {
+                        id = identifiers.size();
+                        identifiers.put(node, id);
+                        if (id == dictionary.length) { dictionary = Arrays.copyOf(dictionary, id * 2); }
+                        dictionary[id] = node;
+                    }
+                    spo[count * 3 + position] = id;
+                }
+                count++;
+            }
+        } finally {
+            NiceIterator.close(it);
+        }
+        int[] pos = new int[count * 3];
+        int[] osp = new int[count * 3];
+        for (int i = 0; i < count; i++) {
+            int s = spo[i * 3], p = spo[i * 3 + 1], o = spo[i * 3 + 2];
+            pos[i * 3] = p; pos[i * 3 + 1] = o; pos[i * 3 + 2] = s;
+            osp[i * 3] = o; osp[i * 3 + 1] = s; osp[i * 3 + 2] = p;
+        }
+        spo = Arrays.copyOf(spo, count * 3);
+        IntBuffer[] permutations = new IntBuffer[3];
+        int[][] arrays = { spo, pos, osp };
+        for (int i = 0; i < 3; i++) {
+            sort(arrays[i], 0, count - 1);
+            permutations[i] = offHeap ? toDirect(arrays[i]) : IntBuffer.wrap(arrays[i]);
+        }
+        PrefixMapping prefixes = new PrefixMappingImpl().setNsPrefixes(source.getPrefixMapping()).lock();
+        return new RdfCompactGraph(Arrays.copyOf(dictionary, identifiers.size()), identifiers, permutations, count, prefixes);
+    }
+
+    /**
+     * @return Number of distinct nodes in the dictionary
+     */
+    public int getNodeCount() {
+        return dictionary.length;
+    }
+
+    /**
+     * @return True when the triple permutations are stored off-heap
+     */
+    public boolean isOffHeap() {
+        return permutations[SPO].isDirect();
+    }
+
+    @Override
+    protected ExtendedIterator<Triple> graphBaseFind(Triple pattern) {
+        Node s = pattern.getSubject(), p = pattern.getPredicate(), o = pattern.getObject();
+        int sid = idOf(s), pid = idOf(p), oid = idOf(o);
+        if (sid == -2 || pid == -2 || oid == -2) { return NiceIterator.emptyIterator(); }
+        if (sid >= 0) {
+            if (pid >= 0) { return range(SPO, sid, pid, oid); }
+            if (oid >= 0) { return range(OSP, oid, sid, -1); }
+            return range(SPO, sid, -1, -1);
+        }
+        if (pid >= 0) { return range(POS, pid, oid, -1); }
+        if (oid >= 0) { return range(OSP, oid, -1, -1); }
+        return range(SPO, -1, -1, -1);
+    }
+
+    @Override
+    protected boolean graphBaseContains(Triple triple) {
+        ExtendedIterator<Triple> it = graphBaseFind(triple);
+        try {
+            return it.hasNext();
+        } finally {
+            it.close();
+        }
+    }
+
+    @Override
+    protected int graphBaseSize() {
+        return size;
+    }
+
+    @Override
+    public Capabilities getCapabilities() {
+        return READ_ONLY;
+    }
+
+    @Override
+    protected PrefixMapping createPrefixMapping() {
+        return prefixes;
+    }
+
+    /**
+     * Identifier of <code>node</code>: -1 for a wildcard, -2 for a node not in the graph
+     */
+    private int idOf(Node node) {
+        if (node == null || !node.isConcrete()) { return -1; }
+        Integer id = identifiers.get(node);
+        return (id == null) ? -2 : id;
+    }
+
+    /**
+     * Iterator over the triples of <code>permutation</code> beginning with the bound key prefix
+     */
+    private ExtendedIterator<Triple> range(int permutation, int k0, int k1, int k2) {
+        IntBuffer index = permutations[permutation];
+        int[] key = (k0 < 0) ? new int[0] : (k1 < 0) ? new int[] { k0 } : (k2 < 0) ? new int[] { k0, k1 } : new int[] { k0, k1, k2 };
+        int from = bound(index, key, false);
+        int to = bound(index, key, true);
+        return new NiceIterator<>() {
+            private int next = from;
+            @Override public boolean hasNext() { return next < to; }
+            @Override public Triple next() {
+                if (!hasNext()) { throw new NoSuchElementException(); }
+                int base = next++ * 3;
+                int a = index.get(base), b = index.get(base + 1), c = index.get(base + 2);
+                switch (permutation) {
+                    case POS: return Triple.create(dictionary[c], dictionary[a], dictionary[b]);
+                    case OSP: return Triple.create(dictionary[b], dictionary[c], dictionary[a]);
+                    default: return Triple.create(dictionary[a], dictionary[b], dictionary[c]);
+                }
+            }
+        };
+    }
+
+    /**
+     * Binary search for the first record not less than (or, when <code>upper</code>, greater than) the key prefix
+     */
+    private int bound(IntBuffer index, int[] key, boolean upper) {
+        int low = 0, high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int cmp = comparePrefix(index, mid * 3, key);
+            if (cmp < 0 || (upper && cmp == 0)) { low = mid + 1; } else { high = mid; }
+        }
+        return low;
+    }
+
+    private static int comparePrefix(IntBuffer index, int base, int[] key) {
+        for (int i = 0; i < key.length; i++) {
+            int cmp = Integer.compare(index.get(base + i), key[i]);
+            if (cmp != 0) { return cmp; }
+        }
+        return 0;
+    }
+
+    private static int[] grow(int[] array) {
+        return Arrays.copyOf(array, array.length * 2);
+    }
+
+    private static IntBuffer toDirect(int[] array) {
+        IntBuffer buffer = ByteBuffer.allocateDirect(Math.max(1, array.length) * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+        buffer.put(array).flip();
+        return buffer;
+    }
+
+    /**
+     * In-place quicksort of the three-int records between record indexes <code>low</code> and <code>high</code>
+     */
+    private static void sort(int[] records, int low, int high) {
+        while (low < high) {
+            if (high - low < 16) {
+                insertionSort(records, low, high);
+                return;
+            }
+            swap(records, ThreadLocalRandom.current().nextInt(low, high + 1), high);
+            int store = low;
+            for (int i = low; i < high; i++) {
+                if (compare(records, i, high) < 0) { swap(records, i, store++); }
+            }
+            swap(records, store, high);
+            // Recurse into the smaller side to bound stack depth
+            if (store - low < high - store) {
+                sort(records, low, store - 1);
+                low = store + 1;
+            } else {
+                sort(records, store + 1, high);
+                high = store - 1;
+            }
+        }
+    }
+
+    private static void insertionSort(int[] records, int low, int high) {
+        for (int i = low + 1; i <= high; i++) {
+            for (int j = i; j > low && compare(records, j - 1, j) > 0; j--) { swap(records, j - 1, j); }
+        }
+    }
+
+    private static int compare(int[] records, int i, int j) {
+        for (int k = 0; k < 3; k++) {
+            int cmp = Integer.compare(records[i * 3 + k], records[j * 3 + k]);
+            if (cmp != 0) { return cmp; }
+        }
+        return 0;
+    }
+
+    private static void swap(int[] records, int i, int j) {
+        for (int k = 0; k < 3; k++) {
+            int tmp = records[i * 3 + k];
+            records[i * 3 + k] = records[j * 3 + k];
+            records[j * 3 + k] = tmp;
+        }
+    }
+
+}
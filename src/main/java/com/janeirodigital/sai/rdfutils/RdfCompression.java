@@ -0,0 +1,92 @@
+package com.janeirodigital.sai.rdfutils;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streaming gzip support for RDF input and output. Compressed input is recognized by its
+ * magic bytes regardless of file name, and is inflated incrementally as the parser reads it,
+ * so large compressed documents never need a temporary file or a fully inflated copy in memory.
+ */
+public final class RdfCompression {
+
+    /**
+     * Buffer size used for compressed streams, sized to amortize the cost of inflate and deflate calls
+     */
+    public static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * File name extension of gzip compressed files
+     */
+    public static final String GZIP_EXTENSION = ".gz";
+
+    private static final int GZIP_MAGIC_FIRST = 0x1f;
+    private static final int GZIP_MAGIC_SECOND = 0x8b;
+
+    private RdfCompression() { }
+
+    /**
+     * Wraps <code>in</code> to inflate it as it's read when it starts with the gzip magic bytes.
+     * Uncompressed input is passed through buffered.
+     * @param in Input stream to read
+     * @return Stream of uncompressed input
+     * @throws IOException when the input can't be read
+     */
+    public static InputStream decompress(InputStream in) throws IOException {
+        Objects.requireNonNull(in, "Must provide an input stream to decompress");
+        BufferedInputStream buffered = (in instanceof BufferedInputStream) ? (BufferedInputStream) in : new BufferedInputStream(in, BUFFER_SIZE);
+        return isGzip(buffered) ? new GZIPInputStream(buffered, BUFFER_SIZE) : buffered;
+    }
+
+    /**
+     * Wraps <code>out</code> to deflate everything written to it in gzip format. The returned
+     * stream must be closed to write the gzip trailer.
+     * @param out Output stream to write compressed output to
+     * @return Compressing output stream
+     * @throws IOException when the gzip header can't be written
+     */
+    public static OutputStream compress(OutputStream out) throws IOException {
+        Objects.requireNonNull(out, "Must provide an output stream to compress to");
+        return new GZIPOutputStream(out, BUFFER_SIZE);
+    }
+
+    /**
+     * Checks whether <code>in</code> starts with the gzip magic bytes, without consuming them
+     * @param in Input stream supporting mark and reset
+     * @return True when the input is gzip compressed
+     * @throws IOException when the input can't be read
+     */
+    public static boolean isGzip(InputStream in) throws IOException {
+        if (!in.markSupported()) { throw new IllegalArgumentException("Input stream must support mark and reset"); }
+        in.mark(2);
+        try {
+            return in.read() == GZIP_MAGIC_FIRST && in.read() == GZIP_MAGIC_SECOND;
+        } finally {
+            in.reset();
+        }
+    }
+
+    /**
+     * @param filePath Path to a file
+     * @return True when <code>filePath</code> has the gzip extension
+     */
+    public static boolean isGzipPath(String filePath) {
+        Objects.requireNonNull(filePath, "Must provide a file path");
+        return filePath.toLowerCase(Locale.ROOT).endsWith(GZIP_EXTENSION);
+    }
+
+    /**
+     * @param filePath Path to a file
+     * @return <code>filePath</code> without the gzip extension
+     */
+    public static String stripGzipExtension(String filePath) {
+        return isGzipPath(filePath) ? filePath.substring(0, filePath.length() - GZIP_EXTENSION.length()) : filePath;
+    }
+
+}
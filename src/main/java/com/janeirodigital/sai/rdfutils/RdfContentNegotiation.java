@@ -0,0 +1,129 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.riot.Lang;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.janeirodigital.sai.rdfutils.RdfUtils.*;
+
+/**
+ * Selects the serialization of a response from a client's <code>Accept</code> header. Each offered
+ * media type gets the quality of the most specific range that includes it, and when several are
+ * equally acceptable the one offered first, which is the cheapest to produce, is chosen. By default
+ * N-Triples is preferred over Turtle, and expanded over compacted JSON-LD.
+ * <p>
+ * Content types are resolved to Jena languages through a precomputed table keyed by the type
+ * without parameters, and negotiation results for the default offers are memoized, since a
+ * service sees only a handful of distinct <code>Accept</code> headers.
+ */
+public final class RdfContentNegotiation {
+
+    /**
+     * JSON-LD profile requesting expanded documents
+     */
+    public static final String JSON_LD_EXPANDED = "http://www.w3.org/ns/json-ld#expanded";
+
+    /**
+     * JSON-LD profile requesting compacted documents
+     */
+    public static final String JSON_LD_COMPACTED = "http://www.w3.org/ns/json-ld#compacted";
+
+    /**
+     * Supported media types, cheapest to produce first
+     */
+    public static final List<RdfMediaType> DEFAULT_OFFERS = List.of(
+            mediaType(N_TRIPLES, null),
+            mediaType(TEXT_TURTLE, null),
+            mediaType(LD_JSON, JSON_LD_EXPANDED),
+            mediaType(LD_JSON, JSON_LD_COMPACTED),
+            mediaType(RDF_XML, null));
+
+    private static final Map<String, Lang> LANGS = Map.of(
+            TEXT_TURTLE, Lang.TURTLE,
+            LD_JSON, Lang.JSONLD11,
+            RDF_XML, Lang.RDFXML,
+            N_TRIPLES, Lang.NTRIPLES);
+
+    private static final int MAX_MEMOIZED = 256;
+    private static final RdfMediaType NONE = mediaType("application/x-none", null);
+    private static final Map<String, RdfMediaType> NEGOTIATED = new ConcurrentHashMap<>();
+
+    private RdfContentNegotiation() { }
+
+    /**
+     * Selects the cheapest of the {@link #DEFAULT_OFFERS} with the highest quality in <code>accept</code>
+     * @param accept Value of an <code>Accept</code> header, or null when the client sent none
+     * @return Selected media type, or null when none of the offers is acceptable
+     */
+    public static RdfMediaType negotiate(String accept) {
+        if (accept == null || accept.isBlank()) { return DEFAULT_OFFERS.get(0); }
+        RdfMediaType selected = NEGOTIATED.get(accept);
+        if (selected == null) {
+            selected = negotiate(accept, DEFAULT_OFFERS);
+            if (selected == null) { selected = NONE; }
+            if (NEGOTIATED.size() >= MAX_MEMOIZED) { NEGOTIATED.clear(); }
+            NEGOTIATED.put(accept, selected);
+        }
+        return (selected == NONE) ? null : selected;
+    }
+
+    /**
+     * Selects the earliest of <code>offers</code> with the highest quality in <code>accept</code>
+     * @param accept Value of an <code>Accept</code> header, or null when the client sent none
+     * @param offers Media types that can be produced, in order of preference
+     * @return Selected media type, or null when none of the offers is acceptable
+     */
+    public static RdfMediaType negotiate(String accept, List<RdfMediaType> offers) {
+        Objects.requireNonNull(offers, "Must provide media types to offer");
+        if (offers.isEmpty()) { return null; }
+        if (accept == null || accept.isBlank()) { return offers.get(0); }
+        List<RdfMediaType> ranges = RdfMediaType.parseAccept(accept);
+        RdfMediaType selected = null;
+        double best = 0;
+        for (RdfMediaType offer : offers) {
+            double quality = getQuality(offer, ranges);
+            if (quality > best) {
+                best = quality;
+                selected = offer;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Determine the Jena language for a content type, ignoring parameters and case
+     * @param contentType Content type, optionally with parameters
+     * @return Serialization language, or null when the content type isn't supported
+     */
+    static Lang getLang(String contentType) {
+        Lang lang = LANGS.get(contentType);
+        if (lang != null) { return lang; }
+        int parameters = contentType.indexOf(';');
+        String essence = (parameters < 0) ? contentType : contentType.substring(0, parameters);
+        return LANGS.get(essence.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Quality of <code>offer</code> given by the most specific of <code>ranges</code> that includes it
+     */
+    private static double getQuality(RdfMediaType offer, List<RdfMediaType> ranges) {
+        RdfMediaType match = null;
+        for (RdfMediaType range : ranges) {
+            if (range.includes(offer) && (match == null || range.getSpecificity() > match.getSpecificity())) { match = range; }
+        }
+        return (match == null) ? 0 : match.getQuality();
+    }
+
+    private static RdfMediaType mediaType(String essence, String profile) {
+        try {
+            return (profile == null) ? RdfMediaType.of(essence) : RdfMediaType.of(essence, "profile", profile);
+        } catch (SaiRdfException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+}
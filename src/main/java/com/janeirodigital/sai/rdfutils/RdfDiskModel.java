@@ -0,0 +1,268 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.query.Dataset;
+import org.apache.jena.query.ReadWrite;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.tdb2.TDB2Factory;
+import org.apache.jena.tdb2.loader.DataLoader;
+import org.apache.jena.tdb2.loader.LoaderFactory;
+import org.apache.jena.tdb2.sys.TDBInternal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Jena Model persisted in a local TDB2 database, for datasets larger than the heap. A source
+ * file is bulk loaded into the database location once; later opens of the same location reuse
+ * the loaded data as long as the source file hasn't changed since. When it has, the location is
+ * deleted and the source loaded into a new database, so reloads don't grow the storage.
+ * <p>
+ * Handles on the same location share its database, which is released once the last of them is
+ * closed. A location can't be reloaded while a handle on it is open.
+ * <p>
+ * The model returned by {@link #getModel()} works with all the {@link RdfUtils} accessors and
+ * <code>update*</code> methods, but must only be used inside a transaction, most simply through
+ * {@link #read(RdfSharedModel.ReadAction)} and {@link #write(RdfSharedModel.WriteAction)}.
+ * TDB2 stores numeric and date-time literals by value, so their lexical forms are read back
+ * in canonical form (e.g. <code>"2021-04-04T20:15:47.000Z"</code> as <code>"2021-04-04T20:15:47Z"</code>).
+ * <pre>{@code
+ * try (RdfDiskModel disk = RdfDiskModel.load(Path.of("/var/lib/agent/export"), baseUri, "export.ttl.gz", TEXT_TURTLE)) {
+ *     List<URI> tags = disk.read(model -> getUriObjects(getResourceFromModel(model, projectUri), HAS_TAG));
+ *     disk.write(model -> updateObject(getResourceFromModel(model, projectUri), NAME, "Renamed"));
+ * }
+ * }</pre>
+ */
+public class RdfDiskModel implements AutoCloseable {
+
+    private static final String SOURCE_FILE = "sai-source.properties";
+    private static final Map<Path, Integer> HANDLES = new HashMap<>();
+
+    private final Path location;
+    private final Dataset dataset;
+    private final boolean loaded;
+    private boolean closed;
+
+    private RdfDiskModel(Path location, Dataset dataset, boolean loaded) {
+        this.location = location;
+        this.dataset = dataset;
+        this.loaded = loaded;
+    }
+
+    /**
+     * Opens the TDB2 database at <code>location</code>, creating an empty one if none exists
+     * @param location Directory of the database
+     * @return Disk-backed model
+     */
+    public static RdfDiskModel open(Path location) {
+        Objects.requireNonNull(location, "Must provide a location for the database");
+        Path path = location.toAbsolutePath().normalize();
+        return new RdfDiskModel(path, connect(path), false);
+    }
+
+    /**
+     * Opens the TDB2 database at <code>location</code> with the contents of <code>filePath</code>.
+     * The file is bulk loaded unless the database already holds the data of the unchanged file,
+     * replacing any database previously loaded at <code>location</code>. Gzip compressed files are
+     * inflated as they're loaded.
+     * @param location Directory of the database
+     * @param baseUri Base URI to use for statements
+     * @param filePath Path to file containing input data
+     * @param contentType Content type of file data
+     * @return Disk-backed model
+     * @throws SaiRdfException when the input can't be read or is invalid
+     * @throws IOException when the database location can't be read or written, or must be reloaded while it is open
+     */
+    public static RdfDiskModel load(Path location, URI baseUri, String filePath, String contentType) throws SaiRdfException, IOException {
+        Objects.requireNonNull(location, "Must provide a location for the database");
+        Objects.requireNonNull(baseUri, "Must provide a base URI to generate a model");
+        Objects.requireNonNull(filePath, "Must provide an input file path to provide data for the generated model");
+        Objects.requireNonNull(contentType, "Must provide content type for model generation");
+        Path path = location.toAbsolutePath().normalize();
+        Files.createDirectories(path);
+        Properties source = describeSource(baseUri, filePath);
+        Path sourceFile = path.resolve(SOURCE_FILE);
+        if (source.equals(readProperties(sourceFile))) { return new RdfDiskModel(path, connect(path), false); }
+        Dataset dataset = recreate(path);
+        // The sequential loader runs on this thread, so nothing is still writing once it has finished
+        DataLoader loader = LoaderFactory.sequentialLoader(dataset.asDatasetGraph(), (format, args) -> { });
+        try {
+            loader.startBulk();
+            try (InputStream in = RdfCompression.decompress(RdfUtils.openFile(filePath))) {
+                loader.loadFromInputStream(baseUri.toString(), in, RdfUtils.getLangForContentType(contentType));
+                loader.finishBulk();
+            } catch (Throwable ex) {
+                // Always end the bulk load's write transaction, or the location stays locked for writers
+                try {
+                    loader.finishException((ex instanceof Exception) ? (Exception) ex : new RuntimeException(ex));
+                } catch (RuntimeException finishEx) {
+                    ex.addSuppressed(finishEx);
+                }
+                if (ex instanceof Error) { throw (Error) ex; }
+                throw new SaiRdfException("Error processing input from file " + filePath, ex);
+            }
+            try (OutputStream out = Files.newOutputStream(sourceFile)) {
+                source.store(out, null);
+            }
+        } catch (Throwable ex) {
+            release(path);
+            throw ex;
+        }
+        return new RdfDiskModel(path, dataset, true);
+    }
+
+    /**
+     * @return True when this open bulk loaded the source file rather than reusing existing data
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * @return Transactional TDB2 dataset holding the model
+     */
+    public Dataset getDataset() {
+        return dataset;
+    }
+
+    /**
+     * Gets the disk-backed model. It may only be used inside a transaction on {@link #getDataset()}.
+     * @return Disk-backed model
+     */
+    public Model getModel() {
+        return dataset.getDefaultModel();
+    }
+
+    /**
+     * Run <code>action</code> against the model in a read transaction
+     * @param action Read action
+     * @param <T> Type of result
+     * @return Result of the read
+     * @throws SaiRdfException
+     * @throws SaiRdfNotFoundException
+     */
+    public <T> T read(RdfSharedModel.ReadAction<T> action) throws SaiRdfException, SaiRdfNotFoundException {
+        Objects.requireNonNull(action, "Must provide an action to read with");
+        dataset.begin(ReadWrite.READ);
+        try {
+            return action.apply(dataset.getDefaultModel());
+        } finally {
+            dataset.end();
+        }
+    }
+
+    /**
+     * Run <code>action</code> against the model in a write transaction, committing it when the
+     * action completes and aborting it when the action throws
+     * @param action Write action
+     * @throws SaiRdfException
+     * @throws SaiRdfNotFoundException
+     */
+    public void write(RdfSharedModel.WriteAction action) throws SaiRdfException, SaiRdfNotFoundException {
+        Objects.requireNonNull(action, "Must provide an action to write with");
+        dataset.begin(ReadWrite.WRITE);
+        try {
+            action.apply(dataset.getDefaultModel());
+            dataset.commit();
+        } finally {
+            if (dataset.isInTransaction()) { dataset.abort(); }
+            dataset.end();
+        }
+    }
+
+    /**
+     * Closes this handle, releasing the database location once no other handle on it is open
+     * so it can be reloaded or deleted
+     */
+    @Override
+    public void close() {
+        synchronized (HANDLES) {
+            if (closed) { return; }
+            closed = true;
+        }
+        release(location);
+    }
+
+    /**
+     * Connects a handle to the database at <code>location</code>
+     */
+    private static Dataset connect(Path location) {
+        synchronized (HANDLES) {
+            Dataset dataset = TDB2Factory.connectDataset(location.toString());
+            HANDLES.merge(location, 1, Integer::sum);
+            return dataset;
+        }
+    }
+
+    /**
+     * Releases a handle on the database at <code>location</code>, closing the database with the last one
+     */
+    private static void release(Path location) {
+        synchronized (HANDLES) {
+            if (HANDLES.merge(location, -1, Integer::sum) > 0) { return; }
+            HANDLES.remove(location);
+            expel(location);
+        }
+    }
+
+    /**
+     * Closes the database at <code>location</code>. TDB2 (as of Jena 4.8) has no public API to close a database,
+     * so this must only be called once no handle or loader is using it.
+     */
+    private static void expel(Path location) {
+        TDBInternal.expel(TDB2Factory.connectDataset(location.toString()).asDatasetGraph());
+    }
+
+    /**
+     * Deletes the database at <code>location</code> and connects a handle to a new, empty one
+     */
+    private static Dataset recreate(Path location) throws IOException {
+        synchronized (HANDLES) {
+            if (HANDLES.containsKey(location)) { throw new IOException("Cannot reload the database at " + location + " while it is open"); }
+            expel(location);
+            List<Path> paths;
+            try (Stream<Path> walk = Files.walk(location)) {
+                paths = walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+            }
+            for (Path path : paths) { Files.delete(path); }
+            Files.createDirectories(location);
+            return connect(location);
+        }
+    }
+
+    /**
+     * Identifies the source data so an unchanged source can be recognized on later opens
+     */
+    private static Properties describeSource(URI baseUri, String filePath) throws IOException {
+        Properties source = new Properties();
+        source.setProperty("baseUri", baseUri.toString());
+        source.setProperty("path", filePath);
+        Path path = Path.of(filePath);
+        if (Files.exists(path)) {
+            source.setProperty("size", Long.toString(Files.size(path)));
+            source.setProperty("lastModified", Long.toString(Files.getLastModifiedTime(path).toMillis()));
+        }
+        return source;
+    }
+
+    private static Properties readProperties(Path file) throws IOException {
+        Properties properties = new Properties();
+        if (!Files.exists(file)) { return properties; }
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        return properties;
+    }
+
+}
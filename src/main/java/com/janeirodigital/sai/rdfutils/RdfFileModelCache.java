@@ -0,0 +1,232 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.sparql.graph.GraphReadOnly;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Keeps models parsed from files so code paths loading the same configuration graphs don't
+ * parse them again. Cached models are invalidated when their file changes: a
+ * {@link WatchService} on the file's directory evicts them as soon as a change is reported, and
+ * every lookup also compares the file's size and modification time with the ones it was loaded
+ * from, in case an event is delayed or the file system doesn't support watching.
+ * <p>
+ * Loading is single-flight: concurrent lookups of a file that isn't cached wait for one parse
+ * instead of each parsing it. Cached models are shared, so they are returned read-only; use
+ * {@link RdfUtils#forkModel(Model)} for private changes layered over a cached model.
+ */
+public class RdfFileModelCache implements AutoCloseable {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<Path> watched = ConcurrentHashMap.newKeySet();
+    private final WatchService watcher;
+
+    /**
+     * Construct a cache invalidating models through a {@link WatchService} and file size and modification time
+     * @throws IOException when the watch service can't be created
+     */
+    public RdfFileModelCache() throws IOException {
+        this(true);
+    }
+
+    /**
+     * Construct a cache
+     * @param watch When false models are invalidated by file size and modification time only
+     * @throws IOException when the watch service can't be created
+     */
+    public RdfFileModelCache(boolean watch) throws IOException {
+        this.watcher = watch ? FileSystems.getDefault().newWatchService() : null;
+        if (watcher != null) {
+            Thread thread = new Thread(this::processEvents, "sai-rdf-file-model-cache");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Gets the model for <code>filePath</code>, parsing it when it isn't cached or has changed
+     * @param baseUri Base URI to use for statements
+     * @param filePath Path to file containing input data
+     * @param contentType Content type of file data
+     * @return Read-only model of the file contents
+     * @throws SaiRdfException when the input is invalid
+     * @throws IOException when the file can't be read
+     */
+    public Model get(URI baseUri, String filePath, String contentType) throws SaiRdfException, IOException {
+        Objects.requireNonNull(baseUri, "Must provide a base URI to generate a model");
+        Objects.requireNonNull(filePath, "Must provide an input file path to provide data for the generated model");
+        Objects.requireNonNull(contentType, "Must provide content type for model generation");
+        Path path = Path.of(filePath).toAbsolutePath().normalize();
+        String key = path + " " + baseUri + " " + contentType;
+        while (true) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (!entry.isStale()) { return entry.await(); }
+                entries.remove(key, entry);
+                continue;
+            }
+            Entry created = new Entry(path, FileState.of(path));
+            if (entries.putIfAbsent(key, created) != null) { continue; }
+            watch(path);
+            try {
+                Model model = RdfUtils.getModelFromFile(baseUri, filePath, contentType, RdfParseOptions.UNBOUNDED);
+                Graph readOnly = new GraphReadOnly(model.getGraph());
+                // Keep the read-only view event-reliable so type indexes and path memos over it are kept
+                RdfGraphVersion.forward(model.getGraph(), readOnly);
+                created.model.complete(ModelFactory.createModelForGraph(readOnly));
+            } catch (Throwable ex) {
+                // Complete on every failure, errors included, so no later lookup waits on this entry
+                entries.remove(key, created);
+                created.model.completeExceptionally(ex);
+                throw ex;
+            }
+            return created.await();
+        }
+    }
+
+    /**
+     * Removes the cached models of <code>filePath</code>
+     * @param filePath Path to a file
+     */
+    public void invalidate(String filePath) {
+        Objects.requireNonNull(filePath, "Must provide a file path to invalidate");
+        invalidate(Path.of(filePath).toAbsolutePath().normalize());
+    }
+
+    /**
+     * Removes all cached models
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * @return Number of cached models
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Stops watching files and removes all cached models
+     * @throws IOException when the watch service can't be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (watcher != null) { watcher.close(); }
+        entries.clear();
+    }
+
+    private void invalidate(Path path) {
+        entries.values().removeIf(entry -> entry.path.equals(path));
+    }
+
+    private void watch(Path path) {
+        Path directory = path.getParent();
+        if (watcher == null || directory == null || !Files.isDirectory(directory) || !watched.add(directory)) { return; }
+        try {
+            directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException | ClosedWatchServiceException ex) {
+            // Size and modification time checks still apply
+            watched.remove(directory);
+        }
+    }
+
+    private void processEvents() {
+        try {
+            while (true) {
+                WatchKey key = watcher.take();
+                Path directory = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        entries.values().removeIf(entry -> directory.equals(entry.path.getParent()));
+                    } else {
+                        invalidate(directory.resolve((Path) event.context()));
+                    }
+                }
+                if (!key.reset()) { watched.remove(directory); }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException ex) {
+            // Cache closed
+        }
+    }
+
+    /**
+     * Size and modification time of a file, or null for a resource that isn't in the file system
+     */
+    private static final class FileState {
+        private final long size;
+        private final long lastModified;
+
+        private FileState(long size, long lastModified) {
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        private static FileState of(Path path) {
+            try {
+                return new FileState(Files.size(path), Files.getLastModifiedTime(path).toMillis());
+            } catch (IOException ex) {
+                return null;
+            }
+        }
+
+        private boolean matches(FileState other) {
+            return other != null && size == other.size && lastModified == other.lastModified;
+        }
+    }
+
+    /**
+     * Cached model of a file, completed once its single load finishes
+     */
+    private static final class Entry {
+        private final Path path;
+        private final FileState state;
+        private final CompletableFuture<Model> model = new CompletableFuture<>();
+
+        private Entry(Path path, FileState state) {
+            this.path = path;
+            this.state = state;
+        }
+
+        private boolean isStale() {
+            return model.isDone() && state != null && !state.matches(FileState.of(path));
+        }
+
+        private Model await() throws SaiRdfException, IOException {
+            try {
+                return model.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while loading " + path, ex);
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof SaiRdfException) { throw (SaiRdfException) cause; }
+                if (cause instanceof IOException) { throw (IOException) cause; }
+                if (cause instanceof Error) { throw (Error) cause; }
+                throw (RuntimeException) cause;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,193 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphEventManager;
+import org.apache.jena.graph.GraphListener;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.graph.compose.CompositionBase;
+import org.apache.jena.graph.impl.WrappedGraph;
+import org.apache.jena.sparql.graph.GraphWrapper;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Change counter for a graph, incremented by every change event the graph reports. Used
+ * to tell whether results memoized against a graph are still current.
+ * <p>
+ * Composed and wrapping graphs (e.g. a <code>MultiUnion</code>, <code>Delta</code> or
+ * <code>GraphReadOnly</code>) don't report changes made directly to the graphs they read
+ * from. They are only event-reliable (see {@link #isEventReliable(Graph)}) once those
+ * changes are forwarded to them with {@link #forward(Graph, Graph)}; results computed
+ * against any other composed graph must not be memoized.
+ */
+class RdfGraphVersion implements GraphListener {
+
+    private static final Map<Graph, RdfGraphVersion> VERSIONS = new WeakHashMap<>();
+    private static final Set<Graph> FORWARDED = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private final AtomicLong version = new AtomicLong();
+
+    private RdfGraphVersion() { }
+
+    /**
+     * Returns the version tracker for <code>graph</code>, registering it on first use
+     * @param graph Graph to track
+     * @return Version tracker for the graph
+     */
+    static RdfGraphVersion forGraph(Graph graph) {
+        synchronized (VERSIONS) {
+            return VERSIONS.computeIfAbsent(graph, g -> {
+                RdfGraphVersion tracker = new RdfGraphVersion();
+                g.getEventManager().register(tracker);
+                return tracker;
+            });
+        }
+    }
+
+    /**
+     * Forwards the change events of <code>source</code> to the listeners of <code>target</code>,
+     * a graph reading through to it. Only changes visible through <code>target</code> are
+     * forwarded, and forwarding stops once <code>target</code> is garbage collected or
+     * {@link #stopForwarding(Graph, Graph, GraphListener)} is called.
+     * @param source Graph read by <code>target</code>
+     * @param target Composed or wrapping graph to notify
+     * @return Listener registered on <code>source</code>
+     */
+    static GraphListener forward(Graph source, Graph target) {
+        Forwarder forwarder = new Forwarder(target);
+        source.getEventManager().register(forwarder);
+        synchronized (FORWARDED) { FORWARDED.add(target); }
+        return forwarder;
+    }
+
+    /**
+     * Stops forwarding the change events of <code>source</code> to <code>target</code>, which is
+     * no longer event-reliable afterwards
+     * @param source Graph read by <code>target</code>
+     * @param target Graph changes were forwarded to
+     * @param forwarder Listener returned by {@link #forward(Graph, Graph)}
+     */
+    static void stopForwarding(Graph source, Graph target, GraphListener forwarder) {
+        source.getEventManager().unregister(forwarder);
+        synchronized (FORWARDED) { FORWARDED.remove(target); }
+    }
+
+    /**
+     * A graph is event-reliable when every change to its contents is reported to its own
+     * listeners: plain graphs, wrappers sharing the event manager of an event-reliable graph,
+     * and graphs that changes are forwarded to.
+     * @param graph Graph to check
+     * @return True when listeners of the graph see all changes to its contents
+     */
+    static boolean isEventReliable(Graph graph) {
+        synchronized (FORWARDED) {
+            if (FORWARDED.contains(graph)) { return true; }
+        }
+        if (graph instanceof GraphWrapper) { return isEventReliable(((GraphWrapper) graph).get()); }
+        return !(graph instanceof WrappedGraph) && !(graph instanceof CompositionBase);
+    }
+
+    /**
+     * @return Current version of the graph
+     */
+    long get() {
+        return version.get();
+    }
+
+    private void changed() {
+        version.incrementAndGet();
+    }
+
+    @Override public void notifyAddTriple(Graph g, Triple t) { changed(); }
+    @Override public void notifyAddArray(Graph g, Triple[] triples) { changed(); }
+    @Override public void notifyAddList(Graph g, List<Triple> triples) { changed(); }
+    @Override public void notifyAddIterator(Graph g, Iterator<Triple> it) { changed(); }
+    @Override public void notifyAddGraph(Graph g, Graph added) { changed(); }
+    @Override public void notifyDeleteTriple(Graph g, Triple t) { changed(); }
+    @Override public void notifyDeleteList(Graph g, List<Triple> triples) { changed(); }
+    @Override public void notifyDeleteArray(Graph g, Triple[] triples) { changed(); }
+    @Override public void notifyDeleteIterator(Graph g, Iterator<Triple> it) { changed(); }
+    @Override public void notifyDeleteGraph(Graph g, Graph removed) { changed(); }
+    @Override public void notifyEvent(Graph source, Object value) { changed(); }
+
+    /**
+     * Relays the events of a source graph to a graph reading through to it, filtered to the
+     * triples the target now contains (for additions) or no longer contains (for deletions).
+     * Bulk events whose triples can't be replayed are relayed as an empty iterator event, so
+     * listeners treat them as an unspecified change.
+     */
+    private static final class Forwarder implements GraphListener {
+
+        private final WeakReference<Graph> target;
+
+        private Forwarder(Graph target) {
+            this.target = new WeakReference<>(target);
+        }
+
+        private Graph target(Graph source) {
+            Graph graph = target.get();
+            if (graph == null) { source.getEventManager().unregister(this); }
+            return graph;
+        }
+
+        private static List<Triple> visible(Graph graph, Iterator<Triple> triples, boolean added) {
+            List<Triple> visible = new ArrayList<>();
+            while (triples.hasNext()) {
+                Triple triple = triples.next();
+                if (graph.contains(triple) == added) { visible.add(triple); }
+            }
+            return visible;
+        }
+
+        private void added(Graph source, Iterator<Triple> triples) {
+            Graph graph = target(source);
+            if (graph == null) { return; }
+            List<Triple> visible = visible(graph, triples, true);
+            GraphEventManager gem = graph.getEventManager();
+            if (visible.size() == 1) { gem.notifyAddTriple(graph, visible.get(0)); }
+            else if (!visible.isEmpty()) { gem.notifyAddList(graph, visible); }
+        }
+
+        private void deleted(Graph source, Iterator<Triple> triples) {
+            Graph graph = target(source);
+            if (graph == null) { return; }
+            List<Triple> visible = visible(graph, triples, false);
+            GraphEventManager gem = graph.getEventManager();
+            if (visible.size() == 1) { gem.notifyDeleteTriple(graph, visible.get(0)); }
+            else if (!visible.isEmpty()) { gem.notifyDeleteList(graph, visible); }
+        }
+
+        private void changed(Graph source, boolean added) {
+            Graph graph = target(source);
+            if (graph == null) { return; }
+            if (added) { graph.getEventManager().notifyAddIterator(graph, Collections.emptyIterator()); }
+            else { graph.getEventManager().notifyDeleteIterator(graph, Collections.emptyIterator()); }
+        }
+
+        @Override public void notifyAddTriple(Graph g, Triple t) { added(g, List.of(t).iterator()); }
+        @Override public void notifyAddArray(Graph g, Triple[] triples) { added(g, List.of(triples).iterator()); }
+        @Override public void notifyAddList(Graph g, List<Triple> triples) { added(g, triples.iterator()); }
+        @Override public void notifyAddIterator(Graph g, Iterator<Triple> it) { changed(g, true); }
+        @Override public void notifyAddGraph(Graph g, Graph added) { changed(g, true); }
+        @Override public void notifyDeleteTriple(Graph g, Triple t) { deleted(g, List.of(t).iterator()); }
+        @Override public void notifyDeleteList(Graph g, List<Triple> triples) { deleted(g, triples.iterator()); }
+        @Override public void notifyDeleteArray(Graph g, Triple[] triples) { deleted(g, List.of(triples).iterator()); }
+        @Override public void notifyDeleteIterator(Graph g, Iterator<Triple> it) { changed(g, false); }
+        @Override public void notifyDeleteGraph(Graph g, Graph removed) { changed(g, false); }
+
+        @Override
+        public void notifyEvent(Graph source, Object value) {
+            Graph graph = target(source);
+            if (graph != null) { graph.getEventManager().notifyEvent(graph, value); }
+        }
+    }
+
+}
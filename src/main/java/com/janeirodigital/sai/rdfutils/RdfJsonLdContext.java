@@ -0,0 +1,217 @@
+package com.janeirodigital.sai.rdfutils;
+
+import com.apicatalog.jsonld.JsonLd;
+import com.apicatalog.jsonld.JsonLdError;
+import com.apicatalog.jsonld.JsonLdOptions;
+import com.apicatalog.jsonld.context.cache.Cache;
+import com.apicatalog.jsonld.document.Document;
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.jsonld.document.RdfDocument;
+import com.apicatalog.jsonld.loader.DocumentLoader;
+import com.apicatalog.jsonld.loader.DocumentLoaderOptions;
+import com.apicatalog.jsonld.loader.SchemeRouter;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonStructure;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.riot.system.JenaTitanium;
+import org.apache.jena.sparql.core.DatasetGraphFactory;
+
+import java.io.StringReader;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A JSON-LD context parsed once and shared across many serializations. Remote contexts it
+ * references are loaded once, when the context is created, and served from memory for every
+ * subsequent compaction, so repeated serializations with the same context (e.g. every item of
+ * a listing) don't pay per-item context loading. Instances are safe for concurrent use.
+ * <p>
+ * Use {@link #of(String)} to get the shared instance for a context string. At most
+ * {@link #MAX_SHARED_CONTEXTS} shared instances are kept, dropping the least recently used, so
+ * contexts generated per request don't accumulate.
+ */
+public final class RdfJsonLdContext {
+
+    public static final int MAX_SHARED_CONTEXTS = 64;
+
+    private static final Map<String, RdfJsonLdContext> CONTEXTS = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, RdfJsonLdContext> eldest) {
+            return size() > MAX_SHARED_CONTEXTS;
+        }
+    };
+
+    private final String context;
+    private final JsonDocument document;
+    private final JsonLdOptions options;
+    private final Map<URI, Document> loaded = new ConcurrentHashMap<>();
+
+    /**
+     * Construct a shared context from <code>context</code>, loading remote contexts with the default loader
+     * @param context JSON-LD context document
+     * @throws SaiRdfException when the context is invalid or a remote context can't be loaded
+     */
+    public RdfJsonLdContext(String context) throws SaiRdfException {
+        this(context, SchemeRouter.defaultInstance());
+    }
+
+    /**
+     * Construct a shared context from <code>context</code>, loading remote contexts with <code>loader</code>
+     * @param context JSON-LD context document
+     * @param loader Loader for remote contexts
+     * @throws SaiRdfException when the context is invalid or a remote context can't be loaded
+     */
+    public RdfJsonLdContext(String context, DocumentLoader loader) throws SaiRdfException {
+        Objects.requireNonNull(context, "Must provide a JSON-LD context");
+        Objects.requireNonNull(loader, "Must provide a loader for remote JSON-LD contexts");
+        this.context = context;
+        this.options = new JsonLdOptions((uri, loaderOptions) -> {
+            Document document = loaded.get(uri);
+            if (document == null) {
+                document = loader.loadDocument(uri, loaderOptions);
+                Document existing = loaded.putIfAbsent(uri, document);
+                if (existing != null) { document = existing; }
+            }
+            return document;
+        });
+        this.options.setContextCache(new SharedCache<>());
+        this.options.setDocumentCache(new SharedCache<>());
+        try {
+            this.document = JsonDocument.of(new StringReader(context));
+            for (URI remote : getRemoteContexts()) { this.options.getDocumentLoader().loadDocument(remote, new DocumentLoaderOptions()); }
+        } catch (JsonLdError ex) {
+            throw new SaiRdfException("Failed to load JSON-LD context", ex);
+        }
+    }
+
+    /**
+     * Gets the shared context for <code>context</code>, creating it the first time it's requested
+     * @param context JSON-LD context document
+     * @return Shared context
+     * @throws SaiRdfException when the context is invalid or a remote context can't be loaded
+     */
+    public static RdfJsonLdContext of(String context) throws SaiRdfException {
+        Objects.requireNonNull(context, "Must provide a JSON-LD context");
+        synchronized (CONTEXTS) {
+            RdfJsonLdContext shared = CONTEXTS.get(context);
+            if (shared != null) { return shared; }
+        }
+        // Create outside the lock, since loading remote contexts may be slow
+        RdfJsonLdContext created = new RdfJsonLdContext(context);
+        synchronized (CONTEXTS) {
+            RdfJsonLdContext shared = CONTEXTS.putIfAbsent(context, created);
+            return (shared == null) ? created : shared;
+        }
+    }
+
+    /**
+     * @return Shared contexts created through {@link #of(String)}
+     */
+    public static List<RdfJsonLdContext> getSharedContexts() {
+        synchronized (CONTEXTS) { return List.copyOf(CONTEXTS.values()); }
+    }
+
+    /**
+     * Drops all shared contexts, so later calls to {@link #of(String)} create them again
+     */
+    public static void clearSharedContexts() {
+        synchronized (CONTEXTS) { CONTEXTS.clear(); }
+    }
+
+    /**
+     * @return JSON-LD context document
+     */
+    public String getContext() {
+        return context;
+    }
+
+    /**
+     * @return Remote contexts referenced from the <code>@context</code> of this document
+     */
+    public List<URI> getRemoteContexts() {
+        JsonValue value = getContextValue();
+        if (value == null) { return Collections.emptyList(); }
+        List<URI> remotes = new ArrayList<>();
+        List<JsonValue> entries = (value.getValueType() == JsonValue.ValueType.ARRAY) ? value.asJsonArray() : List.of(value);
+        for (JsonValue entry : entries) {
+            if (entry.getValueType() == JsonValue.ValueType.STRING) {
+                URI uri = URI.create(((JsonString) entry).getString());
+                if (uri.isAbsolute()) { remotes.add(uri); }
+            }
+        }
+        return remotes;
+    }
+
+    /**
+     * Serializes <code>model</code> to JSON-LD compacted with this context
+     * @param model Jena Model to serialize
+     * @return Compacted JSON-LD object
+     * @throws SaiRdfException when the model can't be serialized
+     */
+    public JsonObject compact(Model model) throws SaiRdfException {
+        Objects.requireNonNull(model, "Cannot serialize a null model");
+        try {
+            JsonArray expanded = expand(model, options);
+            return JsonLd.compact(JsonDocument.of(expanded), document).options(new JsonLdOptions(options)).compactToRelative(false).get();
+        } catch (JsonLdError ex) {
+            throw new SaiRdfException("Failed to serialize resource to JSON-LD", ex);
+        }
+    }
+
+    /**
+     * Serializes <code>model</code> to expanded JSON-LD
+     * @param model Jena Model to serialize
+     * @return Expanded JSON-LD array
+     * @throws SaiRdfException when the model can't be serialized
+     */
+    public static JsonArray expand(Model model) throws SaiRdfException {
+        Objects.requireNonNull(model, "Cannot serialize a null model");
+        try {
+            return expand(model, new JsonLdOptions());
+        } catch (JsonLdError ex) {
+            throw new SaiRdfException("Failed to serialize resource to JSON-LD", ex);
+        }
+    }
+
+    /**
+     * Serializes <code>model</code> to JSON-LD, compacted with <code>context</code> when one is provided
+     */
+    static JsonStructure toJson(Model model, RdfJsonLdContext context) throws SaiRdfException {
+        return (context == null) ? expand(model) : context.compact(model);
+    }
+
+    /**
+     * @return Value of the <code>@context</code> member of the context document
+     */
+    JsonValue getContextValue() {
+        JsonStructure structure = document.getJsonContent().orElse(null);
+        if (!(structure instanceof JsonObject)) { return null; }
+        return ((JsonObject) structure).get("@context");
+    }
+
+    private static JsonArray expand(Model model, JsonLdOptions options) throws JsonLdError {
+        // Convert directly rather than round-tripping the model through an N-Quads string
+        Document quads = RdfDocument.of(JenaTitanium.convert(DatasetGraphFactory.wrap(model.getGraph())));
+        return JsonLd.fromRdf(quads).options(new JsonLdOptions(options)).get();
+    }
+
+    /**
+     * Thread-safe cache shared by every compaction with this context
+     */
+    private static final class SharedCache<K, V> implements Cache<K, V> {
+        private final Map<K, V> entries = new ConcurrentHashMap<>();
+        @Override public boolean containsKey(K key) { return entries.containsKey(key); }
+        @Override public V get(K key) { return entries.get(key); }
+        @Override public void put(K key, V value) { entries.put(key, value); }
+    }
+
+}
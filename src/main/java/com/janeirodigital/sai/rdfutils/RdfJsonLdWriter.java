@@ -0,0 +1,262 @@
+package com.janeirodigital.sai.rdfutils;
+
+import jakarta.json.Json;
+import jakarta.json.stream.JsonGenerator;
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphUtil;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.shared.PrefixMapping;
+import org.apache.jena.shared.impl.PrefixMappingImpl;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.vocabulary.RDF;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Writes JSON-LD incrementally through a streaming JSON generator, one node object per
+ * subject, so memory use is proportional to the triples of a single subject rather than
+ * the whole document. Output is either expanded JSON-LD, or compacted with a simple
+ * context made only of prefix definitions.
+ * <p>
+ * As a {@link StreamRDF} the writer groups consecutive triples with the same subject, so it
+ * can be used directly as a parser sink. A subject that recurs non-consecutively is written
+ * as another node object with the same <code>@id</code>, which JSON-LD processors merge.
+ * Use {@link #write(Model)} to write a whole model with all triples of each subject grouped.
+ */
+public class RdfJsonLdWriter implements StreamRDF {
+
+    private final OutputStream out;
+    private final PrefixMapping prefixes;
+    private final boolean compact;
+    private JsonGenerator generator;
+    private Node subject;
+    private final Map<Node, List<Node>> properties = new LinkedHashMap<>();
+    private long nodes;
+
+    /**
+     * Construct a writer of expanded JSON-LD to <code>out</code>
+     * @param out Output stream to write to
+     */
+    public RdfJsonLdWriter(OutputStream out) {
+        this(out, null);
+    }
+
+    /**
+     * Construct a writer of JSON-LD compacted with a context of <code>prefixes</code> to <code>out</code>.
+     * Prefixes declared through {@link #prefix(String, String)} before the first triple are added
+     * to the context.
+     * @param out Output stream to write to
+     * @param prefixes Prefixes for the context, or null for expanded JSON-LD
+     */
+    public RdfJsonLdWriter(OutputStream out, PrefixMapping prefixes) {
+        this.out = Objects.requireNonNull(out, "Must provide an output stream to write JSON-LD to");
+        this.compact = prefixes != null;
+        this.prefixes = compact ? new PrefixMappingImpl().setNsPrefixes(prefixes) : null;
+    }
+
+    /**
+     * Writes every triple of <code>model</code> as a complete JSON-LD document, with all the
+     * triples of each subject in a single node object
+     * @param model Jena Model to write
+     */
+    public void write(Model model) {
+        Objects.requireNonNull(model, "Cannot serialize a null model");
+        write(model.getGraph());
+    }
+
+    /**
+     * Writes every triple of <code>graph</code> as a complete JSON-LD document, with all the
+     * triples of each subject in a single node object
+     * @param graph Jena Graph to write
+     */
+    public void write(Graph graph) {
+        Objects.requireNonNull(graph, "Cannot serialize a null graph");
+        start();
+        ExtendedIterator<Node> subjects = GraphUtil.listSubjects(graph, Node.ANY, Node.ANY);
+        try {
+            while (subjects.hasNext()) {
+                Node next = subjects.next();
+                ExtendedIterator<Triple> triples = graph.find(next, Node.ANY, Node.ANY);
+                try {
+                    while (triples.hasNext()) { triple(triples.next()); }
+                } finally {
+                    triples.close();
+                }
+                flushSubject();
+            }
+        } finally {
+            subjects.close();
+        }
+        finish();
+    }
+
+    /**
+     * @return Number of node objects written
+     */
+    public long getNodeCount() {
+        return nodes;
+    }
+
+    @Override
+    public void start() {
+        subject = null;
+        properties.clear();
+        nodes = 0;
+        generator = null;
+    }
+
+    @Override
+    public void triple(Triple triple) {
+        Objects.requireNonNull(triple, "Cannot write a null triple");
+        if (subject != null && !subject.equals(triple.getSubject())) { flushSubject(); }
+        subject = triple.getSubject();
+        properties.computeIfAbsent(triple.getPredicate(), p -> new ArrayList<>()).add(triple.getObject());
+    }
+
+    @Override
+    public void quad(Quad quad) {
+        triple(quad.asTriple());
+    }
+
+    @Override
+    public void base(String base) { }
+
+    @Override
+    public void prefix(String prefix, String iri) {
+        if (compact && generator == null) { prefixes.setNsPrefix(prefix, iri); }
+    }
+
+    @Override
+    public void finish() {
+        flushSubject();
+        JsonGenerator json = begin();
+        json.writeEnd();
+        if (compact) { json.writeEnd(); }
+        json.flush();
+        generator = null;
+    }
+
+    /**
+     * Starts the document on the first node object, once the context's prefixes are known
+     */
+    private JsonGenerator begin() {
+        if (generator != null) { return generator; }
+        generator = Json.createGenerator(out);
+        if (compact) {
+            generator.writeStartObject().writeStartObject("@context");
+            prefixes.getNsPrefixMap().forEach((prefix, namespace) -> {
+                if (prefix.isEmpty()) { return; }
+                if (isPrefixNamespace(namespace)) {
+                    generator.write(prefix, namespace);
+                } else {
+                    // JSON-LD 1.1 only uses terms ending in a gen-delim as prefixes unless told otherwise
+                    generator.writeStartObject(prefix).write("@id", namespace).write("@prefix", true).writeEnd();
+                }
+            });
+            generator.writeEnd().writeStartArray("@graph");
+        } else {
+            generator.writeStartArray();
+        }
+        return generator;
+    }
+
+    /**
+     * Writes the node object for the buffered subject
+     */
+    private void flushSubject() {
+        if (subject == null) { return; }
+        JsonGenerator json = begin();
+        json.writeStartObject().write("@id", id(subject));
+        List<Node> types = properties.remove(RDF.type.asNode());
+        if (types != null) {
+            List<Node> iris = new ArrayList<>();
+            for (Node type : types) {
+                if (type.isLiteral()) { properties.computeIfAbsent(RDF.type.asNode(), p -> new ArrayList<>()).add(type); } else { iris.add(type); }
+            }
+            if (iris.size() == 1 && compact) {
+                json.write("@type", id(iris.get(0)));
+            } else if (!iris.isEmpty()) {
+                json.writeStartArray("@type");
+                for (Node type : iris) { json.write(id(type)); }
+                json.writeEnd();
+            }
+        }
+        for (Map.Entry<Node, List<Node>> entry : properties.entrySet()) {
+            String key = compact ? compactIri(entry.getKey()) : entry.getKey().getURI();
+            List<Node> values = entry.getValue();
+            if (compact && values.size() == 1) {
+                json.writeKey(key);
+                writeValue(json, values.get(0));
+            } else {
+                json.writeStartArray(key);
+                for (Node value : values) { writeValue(json, value); }
+                json.writeEnd();
+            }
+        }
+        json.writeEnd();
+        nodes++;
+        subject = null;
+        properties.clear();
+    }
+
+    /**
+     * @return True when <code>namespace</code> ends in a gen-delim, so JSON-LD processors use a simple
+     * term definition of it as a prefix
+     */
+    static boolean isPrefixNamespace(String namespace) {
+        return !namespace.isEmpty() && ":/?#[]@".indexOf(namespace.charAt(namespace.length() - 1)) >= 0;
+    }
+
+    private void writeValue(JsonGenerator json, Node value) {
+        if (!value.isLiteral()) {
+            json.writeStartObject().write("@id", id(value)).writeEnd();
+            return;
+        }
+        String language = value.getLiteralLanguage();
+        String datatype = value.getLiteralDatatypeURI();
+        boolean plain = (language == null || language.isEmpty()) && (datatype == null || XSDDatatype.XSDstring.getURI().equals(datatype));
+        if (plain && compact) {
+            json.write(value.getLiteralLexicalForm());
+            return;
+        }
+        json.writeStartObject().write("@value", value.getLiteralLexicalForm());
+        if (language != null && !language.isEmpty()) {
+            json.write("@language", language);
+        } else if (!plain) {
+            json.write("@type", compact ? compactIri(datatype) : datatype);
+        }
+        json.writeEnd();
+    }
+
+    private String id(Node node) {
+        if (node.isBlank()) { return "_:" + node.getBlankNodeLabel(); }
+        return compact ? compactIri(node) : node.getURI();
+    }
+
+    private String compactIri(Node node) {
+        return compactIri(node.getURI());
+    }
+
+    /**
+     * Shortens <code>iri</code> to a compact IRI with one of the context's prefixes when that
+     * can't be mistaken for an absolute IRI
+     */
+    private String compactIri(String iri) {
+        String shortened = prefixes.shortForm(iri);
+        if (shortened.equals(iri)) { return iri; }
+        String local = shortened.substring(shortened.indexOf(':') + 1);
+        if (local.isEmpty() || local.startsWith("//") || shortened.startsWith(":")) { return iri; }
+        return shortened;
+    }
+
+}
@@ -0,0 +1,278 @@
+package com.janeirodigital.sai.rdfutils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A parsed media type or media range, as found in <code>Content-Type</code> and <code>Accept</code>
+ * headers, e.g. <code>application/ld+json; profile="http://www.w3.org/ns/json-ld#compacted"; q=0.8</code>.
+ * Types and parameter names are case-insensitive and normalized to lower case; the quality
+ * (<code>q</code>) parameter is held separately from the other parameters.
+ */
+public final class RdfMediaType {
+
+    /**
+     * Wildcard type or subtype
+     */
+    public static final String WILDCARD = "*";
+
+    private final String type;
+    private final String subtype;
+    private final Map<String, String> parameters;
+    private final double quality;
+
+    private RdfMediaType(String type, String subtype, Map<String, String> parameters, double quality) {
+        this.type = type;
+        this.subtype = subtype;
+        this.parameters = parameters;
+        this.quality = quality;
+    }
+
+    /**
+     * Construct a media type without parameters
+     * @param essence Type and subtype, e.g. <code>text/turtle</code>
+     * @return Media type
+     * @throws SaiRdfException when <code>essence</code> isn't a valid media type
+     */
+    public static RdfMediaType of(String essence) throws SaiRdfException {
+        return parse(essence);
+    }
+
+    /**
+     * Construct a media type with a single parameter
+     * @param essence Type and subtype, e.g. <code>application/ld+json</code>
+     * @param name Parameter name
+     * @param value Parameter value
+     * @return Media type
+     * @throws SaiRdfException when <code>essence</code> isn't a valid media type
+     */
+    public static RdfMediaType of(String essence, String name, String value) throws SaiRdfException {
+        Objects.requireNonNull(name, "Must provide a parameter name");
+        Objects.requireNonNull(value, "Must provide a parameter value");
+        RdfMediaType base = parse(essence);
+        Map<String, String> parameters = new LinkedHashMap<>(base.parameters);
+        parameters.put(name.toLowerCase(Locale.ROOT), value);
+        return new RdfMediaType(base.type, base.subtype, Collections.unmodifiableMap(parameters), base.quality);
+    }
+
+    /**
+     * Parses a single media type or media range
+     * @param value Media type, optionally with parameters
+     * @return Parsed media type
+     * @throws SaiRdfException when <code>value</code> isn't a valid media type
+     */
+    public static RdfMediaType parse(String value) throws SaiRdfException {
+        Objects.requireNonNull(value, "Must provide a media type to parse");
+        List<String> parts = split(value, ';');
+        String essence = parts.get(0).trim().toLowerCase(Locale.ROOT);
+        if (essence.equals(WILDCARD)) { essence = "*/*"; }
+        int slash = essence.indexOf('/');
+        if (slash <= 0 || slash == essence.length() - 1 || essence.indexOf('/', slash + 1) >= 0) {
+            throw new SaiRdfException("Invalid media type: " + value);
+        }
+        String type = essence.substring(0, slash).trim();
+        String subtype = essence.substring(slash + 1).trim();
+        if (type.equals(WILDCARD) && !subtype.equals(WILDCARD)) { throw new SaiRdfException("Invalid media range: " + value); }
+        Map<String, String> parameters = new LinkedHashMap<>();
+        double quality = 1.0;
+        for (String part : parts.subList(1, parts.size())) {
+            if (part.isBlank()) { continue; }
+            int equals = part.indexOf('=');
+            if (equals <= 0) { throw new SaiRdfException("Invalid media type parameter in " + value); }
+            String name = part.substring(0, equals).trim().toLowerCase(Locale.ROOT);
+            String parameter = unquote(part.substring(equals + 1).trim());
+            if (name.equals("q")) {
+                quality = parseQuality(parameter, value);
+            } else {
+                parameters.put(name, parameter);
+            }
+        }
+        return new RdfMediaType(type, subtype, Collections.unmodifiableMap(parameters), quality);
+    }
+
+    /**
+     * Parses the media ranges of an <code>Accept</code> header, skipping invalid ones
+     * @param accept Value of an <code>Accept</code> header
+     * @return Media ranges in header order
+     */
+    public static List<RdfMediaType> parseAccept(String accept) {
+        List<RdfMediaType> ranges = new ArrayList<>();
+        if (accept == null || accept.isBlank()) { return ranges; }
+        for (String range : split(accept, ',')) {
+            if (range.isBlank()) { continue; }
+            try {
+                ranges.add(parse(range));
+            } catch (SaiRdfException ex) {
+                // Ignore ranges clients get wrong rather than rejecting the whole header
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * @return Type, e.g. <code>application</code>
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * @return Subtype, e.g. <code>ld+json</code>
+     */
+    public String getSubtype() {
+        return subtype;
+    }
+
+    /**
+     * @return Type and subtype without parameters, e.g. <code>application/ld+json</code>
+     */
+    public String getEssence() {
+        return type + "/" + subtype;
+    }
+
+    /**
+     * @param name Parameter name
+     * @return Value of the parameter, or null when it isn't present
+     */
+    public String getParameter(String name) {
+        Objects.requireNonNull(name, "Must provide a parameter name");
+        return parameters.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * @return Parameters other than the quality
+     */
+    public Map<String, String> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * @return Quality (<code>q</code>) between 0 and 1, 1 when not specified
+     */
+    public double getQuality() {
+        return quality;
+    }
+
+    /**
+     * @return True when the type or subtype is a wildcard
+     */
+    public boolean isWildcard() {
+        return type.equals(WILDCARD) || subtype.equals(WILDCARD);
+    }
+
+    /**
+     * Checks whether this media range includes <code>mediaType</code>. Wildcards match any type or
+     * subtype. A <code>profile</code> parameter of the range must be present in <code>mediaType</code>,
+     * and matches when any of its space separated profiles is; other parameters only have to match
+     * when <code>mediaType</code> declares them, so e.g. <code>text/turtle; charset=utf-8</code>
+     * includes <code>text/turtle</code>.
+     * @param mediaType Media type to check
+     * @return True when <code>mediaType</code> is included in this range
+     */
+    public boolean includes(RdfMediaType mediaType) {
+        Objects.requireNonNull(mediaType, "Must provide a media type to check");
+        if (!type.equals(WILDCARD) && !type.equals(mediaType.type)) { return false; }
+        if (!subtype.equals(WILDCARD) && !subtype.equals(mediaType.subtype)) { return false; }
+        for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+            String value = mediaType.parameters.get(parameter.getKey());
+            if (value == null) {
+                if (parameter.getKey().equals("profile")) { return false; }
+                continue;
+            }
+            if (parameter.getKey().equals("profile")) {
+                if (!List.of(parameter.getValue().split("\\s+")).contains(value)) { return false; }
+            } else if (!parameter.getValue().equalsIgnoreCase(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Precedence of this range when several include the same media type: more specific ranges take precedence
+     */
+    int getSpecificity() {
+        if (type.equals(WILDCARD)) { return 0; }
+        if (subtype.equals(WILDCARD)) { return 1; }
+        return 2 + parameters.size();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) { return true; }
+        if (!(other instanceof RdfMediaType)) { return false; }
+        RdfMediaType that = (RdfMediaType) other;
+        return type.equals(that.type) && subtype.equals(that.subtype) && parameters.equals(that.parameters) && quality == that.quality;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, subtype, parameters, quality);
+    }
+
+    /**
+     * @return Media type formatted for a <code>Content-Type</code> header
+     */
+    @Override
+    public String toString() {
+        StringBuilder formatted = new StringBuilder(getEssence());
+        parameters.forEach((name, value) -> {
+            formatted.append("; ").append(name).append('=');
+            if (value.matches("[A-Za-z0-9!#$&^_.+-]+")) { formatted.append(value); } else { formatted.append('"').append(value.replace("\\", "\\\\").replace("\"", "\\\"")).append('"'); }
+        });
+        if (quality != 1.0) { formatted.append("; q=").append(quality); }
+        return formatted.toString();
+    }
+
+    private static double parseQuality(String value, String mediaType) throws SaiRdfException {
+        try {
+            double quality = Double.parseDouble(value);
+            if (quality < 0 || quality > 1) { throw new SaiRdfException("Quality out of range in " + mediaType); }
+            return quality;
+        } catch (NumberFormatException ex) {
+            throw new SaiRdfException("Invalid quality in " + mediaType, ex);
+        }
+    }
+
+    private static String unquote(String value) {
+        if (value.length() < 2 || value.charAt(0) != '"' || value.charAt(value.length() - 1) != '"') { return value; }
+        StringBuilder unquoted = new StringBuilder(value.length());
+        for (int i = 1; i < value.length() - 1; i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length() - 1) { c = value.charAt(++i); }
+            unquoted.append(c);
+        }
+        return unquoted.toString();
+    }
+
+    /**
+     * Splits <code>value</code> on <code>separator</code>, ignoring separators inside quoted strings
+     */
+    private static List<String> split(String value, char separator) {
+        List<String> parts = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == '\\' && quoted && i + 1 < value.length()) {
+                current.append(c);
+                c = value.charAt(++i);
+            } else if (c == separator && !quoted) {
+                parts.add(current.toString());
+                current.setLength(0);
+                continue;
+            }
+            current.append(c);
+        }
+        parts.add(current.toString());
+        return parts;
+    }
+
+}
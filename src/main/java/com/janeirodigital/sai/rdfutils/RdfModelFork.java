@@ -0,0 +1,113 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphEvents;
+import org.apache.jena.graph.GraphListener;
+import org.apache.jena.graph.GraphUtil;
+import org.apache.jena.graph.compose.Delta;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+
+import java.util.Objects;
+
+/**
+ * Copy-on-write fork of a Jena Model for speculative edits. The forked model reads
+ * through to the shared base and records additions and deletions in a small overlay,
+ * so forking is O(1) and both {@link #commit()} and {@link #discard()} are O(changes)
+ * rather than O(model size). The base must not be modified directly while a fork is
+ * open, since the fork reads through to it.
+ * <p>
+ * An open fork listens to changes of its base, so lookups over it can be cached. Committing,
+ * discarding or closing the fork stops listening; it can still be used afterwards, but lookups
+ * over it are no longer cached.
+ * <pre>{@code
+ * try (RdfModelFork fork = RdfUtils.forkModel(grantModel)) {
+ *     updateUriObjects(getResourceFromModel(fork.getModel(), grantUri), HAS_DATA_GRANT, dataGrants);
+ *     if (isValid(fork.getModel())) { fork.commit(); }
+ * }
+ * }</pre>
+ */
+public class RdfModelFork implements AutoCloseable {
+
+    private final Model base;
+    private final Delta delta;
+    private final Model model;
+    private GraphListener forwarder;
+
+    /**
+     * Construct a fork over <code>base</code>
+     * @param base Model to fork
+     */
+    public RdfModelFork(Model base) {
+        Objects.requireNonNull(base, "Must provide a model to fork");
+        this.base = base;
+        this.delta = new Delta(base.getGraph());
+        this.forwarder = RdfGraphVersion.forward(base.getGraph(), delta);
+        this.model = ModelFactory.createModelForGraph(delta);
+        this.model.setNsPrefixes(base.getNsPrefixMap());
+    }
+
+    /**
+     * @return Forked model to read and edit
+     */
+    public Model getModel() {
+        return model;
+    }
+
+    /**
+     * @return Model of the statements added in the fork
+     */
+    public Model getAdditions() {
+        return ModelFactory.createModelForGraph(delta.getAdditions());
+    }
+
+    /**
+     * @return Model of the base statements removed in the fork
+     */
+    public Model getDeletions() {
+        return ModelFactory.createModelForGraph(delta.getDeletions());
+    }
+
+    /**
+     * @return True when the fork differs from its base
+     */
+    public boolean hasChanges() {
+        return !delta.getAdditions().isEmpty() || !delta.getDeletions().isEmpty();
+    }
+
+    /**
+     * Applies the changes recorded in the fork to the base model and stops listening to it.
+     * The fork remains usable afterwards, with no outstanding changes.
+     */
+    public void commit() {
+        Graph target = base.getGraph();
+        GraphUtil.deleteFrom(target, delta.getDeletions());
+        GraphUtil.addInto(target, delta.getAdditions());
+        discard();
+    }
+
+    /**
+     * Drops the changes recorded in the fork, leaving the base model untouched, and stops
+     * listening to it. The fork remains usable afterwards and reads the base model again.
+     */
+    public void discard() {
+        delta.getAdditions().clear();
+        delta.getDeletions().clear();
+        // Clearing the overlay bypasses the fork's own listeners, so report it as a bulk change
+        delta.getEventManager().notifyEvent(delta, GraphEvents.removeAll);
+        synchronized (this) {
+            if (forwarder == null) { return; }
+            RdfGraphVersion.stopForwarding(base.getGraph(), delta, forwarder);
+            forwarder = null;
+        }
+    }
+
+    /**
+     * Discards any changes that weren't committed and stops listening to the base model
+     */
+    @Override
+    public void close() {
+        discard();
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.graph.Node;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Canonicalizes equal IRI and literal {@link Node}s to a single shared instance, so that
+ * many models holding the same vocabulary terms, types and agent identifiers don't each
+ * keep their own copies. Entries are weakly referenced, so a node is collected once no
+ * model uses it. The interner is striped by hash to keep lock contention low when used
+ * from many threads.
+ * <p>
+ * Interning is opt-in: install an interner with {@link RdfUtils#setNodeInterner(RdfNodeInterner)}
+ * to have the parse helpers and every {@link RdfUtils} method creating resources or statements
+ * use it.
+ */
+public class RdfNodeInterner {
+
+    private static final int DEFAULT_STRIPES = 16;
+
+    private final List<Map<Node, WeakReference<Node>>> stripes;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    /**
+     * Construct an interner with the default number of stripes
+     */
+    public RdfNodeInterner() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * Construct an interner with the provided number of <code>stripes</code>
+     * @param stripes Number of independently locked segments
+     */
+    public RdfNodeInterner(int stripes) {
+        if (stripes < 1) { throw new IllegalArgumentException("Number of stripes must be positive"); }
+        this.stripes = new ArrayList<>(stripes);
+        for (int i = 0; i < stripes; i++) { this.stripes.add(new WeakHashMap<>()); }
+    }
+
+    /**
+     * Returns the canonical instance equal to <code>node</code>, registering <code>node</code>
+     * as canonical when none exists. Blank nodes and variables are returned unchanged.
+     * @param node Node to intern
+     * @return Canonical node
+     */
+    public Node intern(Node node) {
+        Objects.requireNonNull(node, "Cannot intern a null node");
+        if (!node.isURI() && !node.isLiteral()) { return node; }
+        requests.increment();
+        Map<Node, WeakReference<Node>> stripe = stripes.get(Math.floorMod(node.hashCode(), stripes.size()));
+        synchronized (stripe) {
+            WeakReference<Node> reference = stripe.get(node);
+            Node canonical = (reference == null) ? null : reference.get();
+            if (canonical != null) {
+                hits.increment();
+                if (canonical != node) { bytesSaved.add(estimateSize(node)); }
+                return canonical;
+            }
+            stripe.put(node, new WeakReference<>(node));
+            return node;
+        }
+    }
+
+    /**
+     * @return Number of canonical nodes currently held
+     */
+    public int getSize() {
+        int size = 0;
+        for (Map<Node, WeakReference<Node>> stripe : stripes) {
+            synchronized (stripe) { size += stripe.size(); }
+        }
+        return size;
+    }
+
+    /**
+     * @return Number of nodes that have been interned
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * @return Number of nodes that were resolved to an existing canonical instance
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Estimate of heap bytes saved by replacing duplicate nodes with canonical ones. The
+     * estimate assumes compressed object pointers and compact (Latin-1) strings.
+     * @return Estimated bytes saved
+     */
+    public long getEstimatedBytesSaved() {
+        return bytesSaved.sum();
+    }
+
+    /**
+     * Removes all canonical nodes and resets counters
+     */
+    public void clear() {
+        for (Map<Node, WeakReference<Node>> stripe : stripes) {
+            synchronized (stripe) { stripe.clear(); }
+        }
+        requests.reset();
+        hits.reset();
+        bytesSaved.reset();
+    }
+
+    /**
+     * @return Summary of interning activity and memory saved
+     */
+    @Override
+    public String toString() {
+        return "RdfNodeInterner[size=" + getSize() + ", requests=" + getRequests() + ", hits=" + getHits() +
+               ", estimatedBytesSaved=" + getEstimatedBytesSaved() + "]";
+    }
+
+    private static long estimateSize(Node node) {
+        if (node.isURI()) { return 16 + estimateSize(node.getURI()); }
+        return 16 + 32 + estimateSize(node.getLiteralLexicalForm()) + estimateSize(node.getLiteralLanguage());
+    }
+
+    private static long estimateSize(String string) {
+        return (string == null || string.isEmpty()) ? 0 : 40 + string.length();
+    }
+
+}
@@ -0,0 +1,272 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.shared.PrefixMapping;
+import org.apache.jena.shared.impl.PrefixMappingImpl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of serialized models, so repeated reads of an unchanged model return the output
+ * rendered the first time instead of serializing again. Output is cached per model and per
+ * format, write options or JSON-LD context, and is discarded as soon as the model changes,
+ * whether through the <code>update*</code> methods of {@link RdfUtils} or directly through
+ * its graph, or its prefixes change.
+ * <p>
+ * Union views and forks read through to other models and see their changes, so output for
+ * them is only cached when those changes are relayed to the view, as they are for
+ * {@link RdfUnionView} and {@link RdfModelFork}. Output for other composed or wrapping graphs
+ * is serialized on every read.
+ * <p>
+ * Models are weakly referenced, so caching output doesn't keep a model alive. Only output of
+ * the current version of a model is kept, for at most {@link #MAX_OUTPUTS_PER_MODEL} formats,
+ * dropping the least recently used. Write options are matched by value.
+ */
+public class RdfOutputCache {
+
+    static final int MAX_OUTPUTS_PER_MODEL = 16;
+
+    private final Map<Graph, Outputs> outputs = new WeakHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Get a String of the provided <code>model</code> serialized in <code>lang</code>
+     * @param model Jena Model to serialize
+     * @param lang Format to serialize into
+     * @return Serialized string of the provided model
+     */
+    public String getString(Model model, Lang lang) {
+        Objects.requireNonNull(lang, "Must provide a serialization format");
+        return get(model, new Key(lang, null), () -> RdfUtils.getStringFromRdfModel(model, lang)).string;
+    }
+
+    /**
+     * Get a String of the provided <code>model</code> serialized in <code>lang</code> subject to <code>options</code>
+     * @param model Jena Model to serialize
+     * @param lang Format to serialize into
+     * @param options Write options to apply
+     * @return Serialized string of the provided model
+     */
+    public String getString(Model model, Lang lang, RdfWriteOptions options) {
+        Objects.requireNonNull(lang, "Must provide a serialization format");
+        Objects.requireNonNull(options, "Must provide write options");
+        return get(model, new Key(lang, options), () -> RdfUtils.getStringFromRdfModel(model, lang, options)).string;
+    }
+
+    /**
+     * Get a String of the provided <code>model</code> serialized in JSON-LD
+     * @param model Jena Model to serialize
+     * @param jsonLdContext JSON-LD context to compact with, or null for expanded JSON-LD
+     * @return Serialized JSON-LD string of the provided model
+     * @throws SaiRdfException when the model can't be serialized to JSON-LD
+     */
+    public String getJsonLdString(Model model, String jsonLdContext) throws SaiRdfException {
+        String context = (jsonLdContext == null) ? "" : jsonLdContext;
+        return get(model, new Key(Lang.JSONLD, context), () -> RdfUtils.getJsonLdStringFromModel(model, jsonLdContext)).string;
+    }
+
+    /**
+     * Writes the provided <code>model</code> serialized in <code>lang</code> subject to <code>options</code>
+     * to <code>out</code>, from the cached UTF-8 bytes when the model is unchanged
+     * @param model Jena Model to serialize
+     * @param out Output stream to write to
+     * @param lang Format to serialize into
+     * @param options Write options to apply
+     * @throws IOException when the output can't be written
+     */
+    public void write(Model model, OutputStream out, Lang lang, RdfWriteOptions options) throws IOException {
+        Objects.requireNonNull(out, "Must provide an output stream to write to");
+        Objects.requireNonNull(lang, "Must provide a serialization format");
+        Objects.requireNonNull(options, "Must provide write options");
+        out.write(get(model, new Key(lang, options), () -> RdfUtils.getStringFromRdfModel(model, lang, options)).getBytes());
+    }
+
+    /**
+     * Writes the provided <code>model</code> serialized in JSON-LD to <code>out</code>, from the
+     * cached UTF-8 bytes when the model is unchanged
+     * @param model Jena Model to serialize
+     * @param out Output stream to write to
+     * @param jsonLdContext JSON-LD context to compact with, or null for expanded JSON-LD
+     * @throws SaiRdfException when the model can't be serialized to JSON-LD
+     * @throws IOException when the output can't be written
+     */
+    public void writeJsonLd(Model model, OutputStream out, String jsonLdContext) throws SaiRdfException, IOException {
+        Objects.requireNonNull(out, "Must provide an output stream to write to");
+        String context = (jsonLdContext == null) ? "" : jsonLdContext;
+        out.write(get(model, new Key(Lang.JSONLD, context), () -> RdfUtils.getJsonLdStringFromModel(model, jsonLdContext)).getBytes());
+    }
+
+    /**
+     * Discards all output cached for <code>model</code>
+     * @param model Jena Model to discard output for
+     */
+    public void invalidate(Model model) {
+        Objects.requireNonNull(model, "Cannot invalidate a null model");
+        synchronized (outputs) { outputs.remove(model.getGraph()); }
+    }
+
+    /**
+     * Discards all cached output and resets counters
+     */
+    public void clear() {
+        synchronized (outputs) { outputs.clear(); }
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * @return Number of models with cached output
+     */
+    public int size() {
+        synchronized (outputs) { return outputs.size(); }
+    }
+
+    /**
+     * @return Number of outputs cached for <code>model</code>
+     */
+    int getOutputCount(Model model) {
+        synchronized (outputs) {
+            Outputs cached = outputs.get(model.getGraph());
+            return (cached == null) ? 0 : cached.rendered.size();
+        }
+    }
+
+    /**
+     * @return Number of reads served from cached output
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return Number of reads that serialized the model
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the output cached for <code>model</code> under <code>key</code> when the model and its
+     * prefixes are unchanged, otherwise renders and caches it
+     */
+    private <E extends Exception> Rendered get(Model model, Key key, Renderer<E> renderer) throws E {
+        Objects.requireNonNull(model, "Cannot serialize a null model");
+        Graph graph = model.getGraph();
+        if (!RdfGraphVersion.isEventReliable(graph)) {
+            misses.increment();
+            return new Rendered(renderer.render());
+        }
+        // Read the version before rendering, so changes made while rendering leave the entry stale
+        long version = RdfGraphVersion.forGraph(graph).get();
+        PrefixMapping prefixes = graph.getPrefixMapping();
+        synchronized (outputs) {
+            Outputs cached = outputs.get(graph);
+            if (cached != null && !cached.matches(version, prefixes)) {
+                // Output of earlier versions is never served again
+                outputs.remove(graph);
+            } else if (cached != null) {
+                Rendered output = cached.rendered.get(key);
+                if (output != null) {
+                    hits.increment();
+                    return output;
+                }
+            }
+        }
+        misses.increment();
+        PrefixMapping rendering = new PrefixMappingImpl().setNsPrefixes(prefixes).lock();
+        Rendered output = new Rendered(renderer.render());
+        synchronized (outputs) {
+            if (RdfGraphVersion.forGraph(graph).get() == version) {
+                Outputs cached = outputs.get(graph);
+                if (cached == null || !cached.matches(version, rendering)) {
+                    cached = new Outputs(version, rendering);
+                    outputs.put(graph, cached);
+                }
+                cached.rendered.put(key, output);
+            }
+        }
+        return output;
+    }
+
+    private interface Renderer<E extends Exception> {
+        String render() throws E;
+    }
+
+    /**
+     * Format of cached output: the serialization format, and the write options or JSON-LD context
+     */
+    private static final class Key {
+        private final Lang lang;
+        private final Object variant;
+
+        private Key(Lang lang, Object variant) {
+            this.lang = lang;
+            this.variant = variant;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) { return true; }
+            if (!(o instanceof Key)) { return false; }
+            Key other = (Key) o;
+            return lang.equals(other.lang) && Objects.equals(variant, other.variant);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(lang, variant);
+        }
+    }
+
+    /**
+     * Output cached for one version and prefix mapping of a model
+     */
+    private static final class Outputs {
+        private final long version;
+        private final PrefixMapping prefixes;
+        private final Map<Key, Rendered> rendered = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Rendered> eldest) {
+                return size() > MAX_OUTPUTS_PER_MODEL;
+            }
+        };
+
+        private Outputs(long version, PrefixMapping prefixes) {
+            this.version = version;
+            this.prefixes = prefixes;
+        }
+
+        private boolean matches(long version, PrefixMapping prefixes) {
+            return this.version == version && this.prefixes.samePrefixMappingAs(prefixes);
+        }
+    }
+
+    private static final class Rendered {
+        private final String string;
+        private volatile byte[] bytes;
+
+        private Rendered(String string) {
+            this.string = string;
+        }
+
+        private byte[] getBytes() {
+            byte[] encoded = bytes;
+            if (encoded == null) {
+                encoded = string.getBytes(StandardCharsets.UTF_8);
+                bytes = encoded;
+            }
+            return encoded;
+        }
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.janeirodigital.sai.rdfutils;
+
+/**
+ * Unchecked carrier used to unwind a Jena parser from inside a stream sink or input
+ * stream, where checked exceptions cannot be thrown. The parse entry points unwrap it
+ * and rethrow the {@link SaiRdfException} it carries.
+ */
+class RdfParseAbort extends RuntimeException {
+
+    RdfParseAbort(SaiRdfException cause) {
+        super(cause.getMessage(), cause, false, false);
+    }
+
+    SaiRdfException getSaiRdfException() {
+        return (SaiRdfException) getCause();
+    }
+}
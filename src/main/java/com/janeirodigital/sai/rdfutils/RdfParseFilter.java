@@ -0,0 +1,89 @@
+package com.janeirodigital.sai.rdfutils;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.RDFNode;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Selects which parsed triples are kept when used with {@link RdfParseOptions}.
+ * Non-matching triples are discarded as they come out of the parser, so they never
+ * reach the resulting Model. A triple is kept when it satisfies every criterion that
+ * has been set:
+ * <ul>
+ *     <li><code>subjects</code> - the subject matches</li>
+ *     <li><code>predicates</code> - the predicate matches</li>
+ *     <li><code>types</code> - the subject has an <code>rdf:type</code> in the set</li>
+ * </ul>
+ * Type selection cannot know a subject's type until its <code>rdf:type</code> statement is
+ * parsed, so triples of a subject whose type hasn't been seen yet are buffered in memory until
+ * it arrives, and dropped if it never does. Once a subject is seen with a type that isn't
+ * selected its buffered triples are dropped, and so are its later ones unless a selected type
+ * follows, so subjects with several types should state them together, as is usual. At most
+ * <code>maxPendingTriples</code> triples are buffered; a parse needing more fails with a
+ * {@link SaiRdfLimitExceededException}.
+ */
+@Getter
+@Builder
+public class RdfParseFilter {
+
+    /**
+     * Predicate over subject nodes, or null to accept any subject
+     */
+    private final Predicate<Node> subjects;
+
+    /**
+     * Predicate over predicate nodes, or null to accept any predicate
+     */
+    private final Predicate<Node> predicates;
+
+    /**
+     * RDF types the subject must have one of, or null to accept any subject
+     */
+    private final Set<Node> types;
+
+    /**
+     * Maximum number of triples buffered for subjects whose type hasn't been seen yet
+     */
+    @Builder.Default
+    private final int maxPendingTriples = 100000;
+
+    /**
+     * Filter keeping only triples about the provided <code>subjects</code>
+     * @param subjects URIs of subjects to keep
+     * @return Parse filter
+     */
+    public static RdfParseFilter forSubjects(URI... subjects) {
+        Set<Node> nodes = Arrays.stream(subjects).map(uri -> NodeFactory.createURI(uri.toString())).collect(Collectors.toSet());
+        return RdfParseFilter.builder().subjects(nodes::contains).build();
+    }
+
+    /**
+     * Filter keeping only triples with one of the provided <code>properties</code>
+     * @param properties Properties to keep
+     * @return Parse filter
+     */
+    public static RdfParseFilter forPredicates(Property... properties) {
+        Set<Node> nodes = Arrays.stream(properties).map(Property::asNode).collect(Collectors.toSet());
+        return RdfParseFilter.builder().predicates(nodes::contains).build();
+    }
+
+    /**
+     * Filter keeping only triples about subjects of one of the provided RDF <code>types</code>
+     * @param types RDF types to keep
+     * @return Parse filter
+     */
+    public static RdfParseFilter forTypes(RDFNode... types) {
+        Set<Node> nodes = Arrays.stream(types).map(RDFNode::asNode).collect(Collectors.toSet());
+        return RdfParseFilter.builder().types(nodes).build();
+    }
+
+}
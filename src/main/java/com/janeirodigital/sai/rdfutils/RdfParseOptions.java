@@ -0,0 +1,54 @@
+package com.janeirodigital.sai.rdfutils;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Options applied while parsing RDF into a Jena Model. Limits are enforced as the
+ * input is streamed through the parser, so an oversized or pathological document is
+ * rejected with a {@link SaiRdfLimitExceededException} as soon as a limit is crossed,
+ * rather than after the whole graph has been materialized. Limits default to unbounded.
+ * An optional {@link RdfParseFilter} discards unwanted triples during the parse.
+ */
+@Getter
+@Builder
+public class RdfParseOptions {
+
+    /**
+     * Options with no limits applied
+     */
+    public static final RdfParseOptions UNBOUNDED = RdfParseOptions.builder().build();
+
+    /**
+     * Maximum number of bytes read from the input
+     */
+    @Builder.Default
+    private final long maxInputBytes = Long.MAX_VALUE;
+
+    /**
+     * Maximum number of triples parsed from the input
+     */
+    @Builder.Default
+    private final long maxTriples = Long.MAX_VALUE;
+
+    /**
+     * Maximum length (in characters) of any literal lexical form
+     */
+    @Builder.Default
+    private final int maxLiteralLength = Integer.MAX_VALUE;
+
+    /**
+     * Maximum wall-clock time the parse may take, or null for no deadline. The deadline is
+     * checked as input is read and as triples are parsed; a read blocked on a stalled input
+     * stream isn't interrupted, so bound the source itself (e.g. with a socket timeout) too.
+     */
+    private final Duration timeout;
+
+    /**
+     * Filter selecting which parsed triples are kept, or null to keep all of them
+     */
+    private final RdfParseFilter filter;
+
+}
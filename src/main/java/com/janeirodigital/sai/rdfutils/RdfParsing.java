@@ -0,0 +1,312 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.RDFParserBuilder;
+import org.apache.jena.riot.RiotException;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFLib;
+import org.apache.jena.riot.system.StreamRDFWrapper;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.vocabulary.RDF;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Streaming parse pipeline behind the {@link RdfParseOptions} variants of the
+ * <code>getModelFrom*</code> helpers in {@link RdfUtils}. Input bytes are counted as they
+ * are read and parsed triples pass through a checking sink before reaching the graph,
+ * so limits abort the parse as soon as they are crossed. Limits are checked against
+ * everything parsed, before any {@link RdfParseFilter} discards triples.
+ */
+final class RdfParsing {
+
+    private RdfParsing() { }
+
+    /**
+     * Parse the String <code>rawContent</code> into <code>graph</code> subject to <code>options</code>
+     */
+    static void parse(URI baseUri, String rawContent, Lang lang, RdfParseOptions options, Graph graph) throws SaiRdfException {
+        Limits limits = new Limits(options);
+        if (options.getMaxInputBytes() != Long.MAX_VALUE && utf8Length(rawContent, options.getMaxInputBytes()) > options.getMaxInputBytes()) {
+            throw new SaiRdfLimitExceededException(SaiRdfLimitExceededException.Limit.INPUT_BYTES, "Input exceeds limit of " + options.getMaxInputBytes() + " bytes");
+        }
+        if (limits.deadline == Long.MAX_VALUE) {
+            parse(RDFParser.fromString(rawContent), baseUri, lang, limits, graph);
+            return;
+        }
+        // Read through a stream checking the deadline, so it also bounds input that doesn't
+        // produce triples, such as a single huge literal
+        InputStream in = new LimitedInputStream(new ByteArrayInputStream(rawContent.getBytes(StandardCharsets.UTF_8)), limits);
+        parse(RDFParser.source(in), baseUri, lang, limits, graph);
+    }
+
+    /**
+     * Parse the contents of <code>in</code> into <code>graph</code> subject to <code>options</code>
+     */
+    static void parse(URI baseUri, InputStream in, Lang lang, RdfParseOptions options, Graph graph) throws SaiRdfException {
+        Limits limits = new Limits(options);
+        InputStream limited = new LimitedInputStream(in, limits);
+        parse(RDFParser.source(limited), baseUri, lang, limits, graph);
+    }
+
+    private static void parse(RDFParserBuilder builder, URI baseUri, Lang lang, Limits limits, Graph graph) throws SaiRdfException {
+        RdfParseOptions options = limits.options;
+        StreamRDF sink = StreamRDFLib.graph(graph);
+        RdfNodeInterner interner = RdfUtils.getNodeInterner();
+        if (interner != null) { sink = new InterningStreamRDF(sink, interner); }
+        if (options.getFilter() != null) { sink = new FilteringStreamRDF(sink, options.getFilter(), limits); }
+        sink = new LimitedStreamRDF(sink, limits);
+        try {
+            builder.base(baseUri.toString()).lang(lang).parse(sink);
+        } catch (RuntimeException ex) {
+            // Some parsers wrap exceptions raised by the sink or the input stream, possibly more than
+            // once, and some only keep their message, so prefer the abort recorded when it was raised
+            RdfParseAbort abort = (limits.aborted != null) ? limits.aborted : findAbort(ex);
+            if (abort != null) { throw abort.getSaiRdfException(); }
+            if (ex instanceof RiotException) { throw new SaiRdfException("Error processing input for " + baseUri, ex); }
+            throw ex;
+        }
+    }
+
+    /**
+     * Finds the {@link RdfParseAbort} anywhere in the cause chain of <code>ex</code>
+     */
+    private static RdfParseAbort findAbort(Throwable ex) {
+        Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Throwable cause = ex; cause != null && seen.add(cause); cause = cause.getCause()) {
+            if (cause instanceof RdfParseAbort) { return (RdfParseAbort) cause; }
+        }
+        return null;
+    }
+
+    /**
+     * Limits of a single parse, recording the abort raised when one is crossed
+     */
+    private static final class Limits {
+
+        private final RdfParseOptions options;
+        private final long deadline;
+        private RdfParseAbort aborted;
+
+        private Limits(RdfParseOptions options) {
+            this.options = options;
+            this.deadline = (options.getTimeout() == null) ? Long.MAX_VALUE : System.nanoTime() + options.getTimeout().toNanos();
+        }
+
+        private RdfParseAbort abort(SaiRdfLimitExceededException.Limit limit, String message) {
+            aborted = new RdfParseAbort(new SaiRdfLimitExceededException(limit, message));
+            return aborted;
+        }
+
+        private void checkDeadline() {
+            if (deadline != Long.MAX_VALUE && System.nanoTime() - deadline > 0) {
+                throw abort(SaiRdfLimitExceededException.Limit.DEADLINE, "Parsing exceeded its deadline");
+            }
+        }
+    }
+
+    /**
+     * Count the UTF-8 encoded length of <code>string</code>, stopping once <code>limit</code> is passed
+     */
+    private static long utf8Length(String string, long limit) {
+        long length = 0;
+        for (int i = 0; i < string.length() && length <= limit; i++) {
+            char c = string.charAt(i);
+            if (c < 0x80) { length += 1; }
+            else if (c < 0x800) { length += 2; }
+            else if (Character.isHighSurrogate(c)) { length += 4; i++; }
+            else { length += 3; }
+        }
+        return length;
+    }
+
+    /**
+     * Sink enforcing triple count, literal length and deadline limits
+     */
+    private static class LimitedStreamRDF extends StreamRDFWrapper {
+
+        private final Limits limits;
+        private final RdfParseOptions options;
+        private long triples;
+
+        LimitedStreamRDF(StreamRDF other, Limits limits) {
+            super(other);
+            this.limits = limits;
+            this.options = limits.options;
+        }
+
+        @Override
+        public void triple(Triple triple) {
+            check(triple.getObject());
+            super.triple(triple);
+        }
+
+        @Override
+        public void quad(Quad quad) {
+            check(quad.getObject());
+            super.quad(quad);
+        }
+
+        private void check(Node object) {
+            if (++triples > options.getMaxTriples()) {
+                throw limits.abort(SaiRdfLimitExceededException.Limit.TRIPLES, "Input exceeds limit of " + options.getMaxTriples() + " triples");
+            }
+            if (object.isLiteral() && object.getLiteralLexicalForm().length() > options.getMaxLiteralLength()) {
+                throw limits.abort(SaiRdfLimitExceededException.Limit.LITERAL_LENGTH, "Input contains a literal longer than " + options.getMaxLiteralLength() + " characters");
+            }
+            limits.checkDeadline();
+        }
+    }
+
+    /**
+     * Sink replacing the nodes of each triple with their canonical instances
+     */
+    private static class InterningStreamRDF extends StreamRDFWrapper {
+
+        private final RdfNodeInterner interner;
+
+        InterningStreamRDF(StreamRDF other, RdfNodeInterner interner) {
+            super(other);
+            this.interner = interner;
+        }
+
+        @Override
+        public void triple(Triple triple) {
+            super.triple(Triple.create(interner.intern(triple.getSubject()), interner.intern(triple.getPredicate()), interner.intern(triple.getObject())));
+        }
+    }
+
+    /**
+     * Sink discarding triples that don't satisfy a {@link RdfParseFilter}. Triples of subjects
+     * whose type hasn't been seen yet are buffered, up to the filter's limit.
+     */
+    private static class FilteringStreamRDF extends StreamRDFWrapper {
+
+        private final RdfParseFilter filter;
+        private final Limits limits;
+        private final Set<Node> typed = new HashSet<>();
+        private final Set<Node> rejected = new HashSet<>();
+        private final Map<Node, List<Triple>> pending = new HashMap<>();
+        private long pendingCount;
+
+        FilteringStreamRDF(StreamRDF other, RdfParseFilter filter, Limits limits) {
+            super(other);
+            this.filter = filter;
+            this.limits = limits;
+        }
+
+        @Override
+        public void triple(Triple triple) {
+            Node subject = triple.getSubject();
+            if (filter.getSubjects() != null && !filter.getSubjects().test(subject)) { return; }
+            if (filter.getTypes() == null) {
+                if (acceptsPredicate(triple)) { super.triple(triple); }
+                return;
+            }
+            if (typed.contains(subject)) {
+                if (acceptsPredicate(triple)) { super.triple(triple); }
+                return;
+            }
+            if (triple.getPredicate().equals(RDF.Nodes.type)) {
+                List<Triple> held = release(subject);
+                if (!filter.getTypes().contains(triple.getObject())) {
+                    rejected.add(subject);
+                    return;
+                }
+                rejected.remove(subject);
+                typed.add(subject);
+                if (held != null) { held.forEach(super::triple); }
+                if (acceptsPredicate(triple)) { super.triple(triple); }
+                return;
+            }
+            if (rejected.contains(subject) || !acceptsPredicate(triple)) { return; }
+            if (++pendingCount > filter.getMaxPendingTriples()) {
+                throw limits.abort(SaiRdfLimitExceededException.Limit.PENDING_TRIPLES, "Input holds more than " + filter.getMaxPendingTriples() + " triples of subjects with no type yet");
+            }
+            pending.computeIfAbsent(subject, s -> new ArrayList<>()).add(triple);
+        }
+
+        @Override
+        public void finish() {
+            pending.clear();
+            pendingCount = 0;
+            super.finish();
+        }
+
+        /**
+         * Removes the triples buffered for <code>subject</code>
+         */
+        private List<Triple> release(Node subject) {
+            List<Triple> held = pending.remove(subject);
+            if (held != null) { pendingCount -= held.size(); }
+            return held;
+        }
+
+        private boolean acceptsPredicate(Triple triple) {
+            return filter.getPredicates() == null || filter.getPredicates().test(triple.getPredicate());
+        }
+    }
+
+    /**
+     * Input stream enforcing byte count and deadline limits. The deadline is checked before and
+     * after each read, so a read blocked on a stalled source is not interrupted, but the parse is
+     * aborted as soon as that read returns.
+     */
+    private static class LimitedInputStream extends FilterInputStream {
+
+        private final Limits limits;
+        private long count;
+
+        LimitedInputStream(InputStream in, Limits limits) {
+            super(in);
+            this.limits = limits;
+        }
+
+        @Override
+        public int read() throws IOException {
+            limits.checkDeadline();
+            int b = super.read();
+            if (b != -1) { consumed(1); }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            limits.checkDeadline();
+            int n = super.read(b, off, len);
+            if (n > 0) { consumed(n); }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            consumed(skipped);
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void consumed(long n) {
+            count += n;
+            if (count > limits.options.getMaxInputBytes()) {
+                throw limits.abort(SaiRdfLimitExceededException.Limit.INPUT_BYTES, "Input exceeds limit of " + limits.options.getMaxInputBytes() + " bytes");
+            }
+            limits.checkDeadline();
+        }
+    }
+
+}
@@ -0,0 +1,248 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.util.iterator.ExtendedIterator;
+
+import java.net.URI;
+import java.util.*;
+
+/**
+ * Compiled property path evaluated directly against the graph of a resource, for following
+ * fixed chains of links such as agent registry, registration, access grant and data grants.
+ * Paths are immutable sequences of steps, each following a property forwards, in inverse,
+ * or one or more times. Results are distinct nodes in the order first reached, and are
+ * memoized per start node until the graph changes, so repeated traversals of an unchanged
+ * graph are served without touching it. Only the results for the {@value #MAX_MEMOIZED_STARTS}
+ * most recently used start nodes of each graph are kept.
+ * <pre>{@code
+ * RdfPath DATA_GRANTS = RdfPath.of(HAS_ACCESS_GRANT).then(HAS_DATA_GRANT);
+ * List<URI> grants = DATA_GRANTS.getUriObjects(agentRegistration);
+ * }</pre>
+ */
+public final class RdfPath {
+
+    private enum Direction { FORWARD, INVERSE, ONE_OR_MORE }
+
+    private static final class Step {
+        private final Node predicate;
+        private final Direction direction;
+        private Step(Node predicate, Direction direction) {
+            this.predicate = predicate;
+            this.direction = direction;
+        }
+    }
+
+    /**
+     * Maximum number of start nodes with memoized results per graph
+     */
+    static final int MAX_MEMOIZED_STARTS = 1024;
+
+    private static final class Memo {
+        private final long version;
+        private final Map<Node, List<Node>> results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Node, List<Node>> eldest) {
+                return size() > MAX_MEMOIZED_STARTS;
+            }
+        };
+        private Memo(long version) { this.version = version; }
+    }
+
+    private final List<Step> steps;
+    private final Map<Graph, Memo> memos = new WeakHashMap<>();
+
+    private RdfPath(List<Step> steps) {
+        this.steps = steps;
+    }
+
+    /**
+     * @param property Property to follow
+     * @return Path following <code>property</code> from subject to object
+     */
+    public static RdfPath of(Property property) {
+        return new RdfPath(List.of(step(property, Direction.FORWARD)));
+    }
+
+    /**
+     * @param property Property to follow
+     * @return Path following <code>property</code> from object to subject
+     */
+    public static RdfPath inverse(Property property) {
+        return new RdfPath(List.of(step(property, Direction.INVERSE)));
+    }
+
+    /**
+     * @param property Property to follow
+     * @return Path following <code>property</code> from subject to object one or more times
+     */
+    public static RdfPath oneOrMore(Property property) {
+        return new RdfPath(List.of(step(property, Direction.ONE_OR_MORE)));
+    }
+
+    /**
+     * @param property Property to follow next
+     * @return Path continuing this one by following <code>property</code> forwards
+     */
+    public RdfPath then(Property property) {
+        return then(of(property));
+    }
+
+    /**
+     * @param property Property to follow next
+     * @return Path continuing this one by following <code>property</code> in inverse
+     */
+    public RdfPath thenInverse(Property property) {
+        return then(inverse(property));
+    }
+
+    /**
+     * @param property Property to follow next
+     * @return Path continuing this one by following <code>property</code> one or more times
+     */
+    public RdfPath thenOneOrMore(Property property) {
+        return then(oneOrMore(property));
+    }
+
+    /**
+     * @param next Path to follow next
+     * @return Path continuing this one with the steps of <code>next</code>
+     */
+    public RdfPath then(RdfPath next) {
+        Objects.requireNonNull(next, "Must provide a path to follow");
+        List<Step> combined = new ArrayList<>(steps);
+        combined.addAll(next.steps);
+        return new RdfPath(Collections.unmodifiableList(combined));
+    }
+
+    /**
+     * Returns the Jena RDFNodes reached by following this path from <code>resource</code>
+     * @param resource Jena Resource to start from
+     * @return List of Jena RDFNodes reached (possibly empty)
+     */
+    public List<RDFNode> getObjects(Resource resource) {
+        Objects.requireNonNull(resource, "Cannot follow a path from a null resource");
+        List<Node> nodes = evaluate(resource);
+        List<RDFNode> objects = new ArrayList<>(nodes.size());
+        for (Node node : nodes) { objects.add(resource.getModel().asRDFNode(node)); }
+        return objects;
+    }
+
+    /**
+     * Returns the URIs reached by following this path from <code>resource</code>
+     * @param resource Jena Resource to start from
+     * @return List of URIs reached (possibly empty)
+     * @throws SaiRdfException when a node reached isn't a URI
+     */
+    public List<URI> getUriObjects(Resource resource) throws SaiRdfException {
+        Objects.requireNonNull(resource, "Cannot follow a path from a null resource");
+        List<Node> nodes = evaluate(resource);
+        List<URI> uris = new ArrayList<>(nodes.size());
+        for (Node node : nodes) { uris.add(RdfUtils.nodeToUri(resource.getModel().asRDFNode(node))); }
+        return uris;
+    }
+
+    /**
+     * Returns the first URI reached by following this path from <code>resource</code>
+     * @param resource Jena Resource to start from
+     * @return First URI reached or null
+     * @throws SaiRdfException when the node reached isn't a URI
+     */
+    public URI getUriObject(Resource resource) throws SaiRdfException {
+        Objects.requireNonNull(resource, "Cannot follow a path from a null resource");
+        List<Node> nodes = evaluate(resource);
+        if (nodes.isEmpty()) { return null; }
+        return RdfUtils.nodeToUri(resource.getModel().asRDFNode(nodes.get(0)));
+    }
+
+    /**
+     * Evaluates the path from <code>resource</code>, using the memoized result when the graph is unchanged.
+     * Results over graphs that aren't event-reliable are never memoized.
+     */
+    private List<Node> evaluate(Resource resource) {
+        Graph graph = resource.getModel().getGraph();
+        Node start = resource.asNode();
+        if (!RdfGraphVersion.isEventReliable(graph)) { return Collections.unmodifiableList(new ArrayList<>(traverse(graph, start))); }
+        long version = RdfGraphVersion.forGraph(graph).get();
+        synchronized (memos) {
+            Memo memo = memos.get(graph);
+            if (memo != null && memo.version == version) {
+                List<Node> result = memo.results.get(start);
+                if (result != null) { return result; }
+            }
+        }
+        List<Node> result = Collections.unmodifiableList(new ArrayList<>(traverse(graph, start)));
+        synchronized (memos) {
+            Memo memo = memos.get(graph);
+            if (memo == null || memo.version != version) {
+                memo = new Memo(version);
+                memos.put(graph, memo);
+            }
+            memo.results.put(start, result);
+        }
+        return result;
+    }
+
+    /**
+     * @return Number of start nodes with memoized results for <code>graph</code>
+     */
+    int getMemoizedCount(Graph graph) {
+        synchronized (memos) {
+            Memo memo = memos.get(graph);
+            return (memo == null) ? 0 : memo.results.size();
+        }
+    }
+
+    private Set<Node> traverse(Graph graph, Node start) {
+        Set<Node> frontier = new LinkedHashSet<>();
+        frontier.add(start);
+        for (Step step : steps) {
+            Set<Node> next = new LinkedHashSet<>();
+            for (Node node : frontier) {
+                if (step.direction == Direction.ONE_OR_MORE) { closure(graph, node, step.predicate, next); }
+                else { follow(graph, node, step, next); }
+            }
+            if (next.isEmpty()) { return next; }
+            frontier = next;
+        }
+        return frontier;
+    }
+
+    private static void follow(Graph graph, Node node, Step step, Set<Node> into) {
+        boolean forward = step.direction != Direction.INVERSE;
+        ExtendedIterator<Triple> it = forward ? graph.find(node, step.predicate, Node.ANY) : graph.find(Node.ANY, step.predicate, node);
+        try {
+            while (it.hasNext()) {
+                Triple triple = it.next();
+                into.add(forward ? triple.getObject() : triple.getSubject());
+            }
+        } finally {
+            it.close();
+        }
+    }
+
+    private static void closure(Graph graph, Node node, Node predicate, Set<Node> into) {
+        Step forward = new Step(predicate, Direction.FORWARD);
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.add(node);
+        Set<Node> reached = new LinkedHashSet<>();
+        while (!pending.isEmpty()) {
+            Set<Node> objects = new LinkedHashSet<>();
+            follow(graph, pending.poll(), forward, objects);
+            for (Node object : objects) {
+                if (reached.add(object)) { pending.add(object); }
+            }
+        }
+        into.addAll(reached);
+    }
+
+    private static Step step(Property property, Direction direction) {
+        Objects.requireNonNull(property, "Must provide a property to follow");
+        return new Step(property.asNode(), direction);
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.janeirodigital.sai.rdfutils;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObjectBuilder;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.shared.PrefixMapping;
+import org.apache.jena.shared.impl.PrefixMappingImpl;
+import org.apache.jena.sparql.graph.GraphWrapper;
+import org.apache.jena.util.iterator.ExtendedIterator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Infers namespace prefixes for a model from the IRIs it uses, so Turtle and JSON-LD output
+ * can abbreviate them. Namespaces are counted in a single pass over the triples, the ones
+ * saving the most bytes are kept, and each is named from a registry of well-known prefixes
+ * or, failing that, from the last segment of its namespace. Inferred prefixes are applied
+ * through a view of the model, so the model itself is never modified.
+ */
+public final class RdfPrefixes {
+
+    /**
+     * Well-known prefixes used to name inferred namespaces
+     */
+    public static final PrefixMapping KNOWN = new PrefixMappingImpl()
+            .setNsPrefixes(PrefixMapping.Standard)
+            .setNsPrefix("ldp", "http://www.w3.org/ns/ldp#")
+            .setNsPrefix("acl", "http://www.w3.org/ns/auth/acl#")
+            .setNsPrefix("acp", "http://www.w3.org/ns/solid/acp#")
+            .setNsPrefix("interop", "http://www.w3.org/ns/solid/interop#")
+            .setNsPrefix("solid", "http://www.w3.org/ns/solid/terms#")
+            .setNsPrefix("pim", "http://www.w3.org/ns/pim/space#")
+            .setNsPrefix("foaf", "http://xmlns.com/foaf/0.1/")
+            .setNsPrefix("vcard", "http://www.w3.org/2006/vcard/ns#")
+            .setNsPrefix("dcterms", "http://purl.org/dc/terms/")
+            .setNsPrefix("skos", "http://www.w3.org/2004/02/skos/core#")
+            .setNsPrefix("schema", "http://schema.org/")
+            .setNsPrefix("shex", "http://www.w3.org/ns/shex#")
+            .setNsPrefix("oidc", "http://www.w3.org/ns/solid/oidc#")
+            .lock();
+
+    private RdfPrefixes() { }
+
+    /**
+     * Infers prefixes for <code>model</code>, keeping the prefixes it already declares
+     * @param model Jena Model to infer prefixes for
+     * @param options Write options with the registry and limits to apply
+     * @return Prefixes declared by the model plus inferred prefixes
+     */
+    public static PrefixMapping infer(Model model, RdfWriteOptions options) {
+        Objects.requireNonNull(model, "Must provide a model to infer prefixes for");
+        return infer(model.getGraph(), options);
+    }
+
+    /**
+     * Infers prefixes for <code>graph</code>, keeping the prefixes it already declares
+     * @param graph Jena Graph to infer prefixes for
+     * @param options Write options with the registry and limits to apply
+     * @return Prefixes declared by the graph plus inferred prefixes
+     */
+    public static PrefixMapping infer(Graph graph, RdfWriteOptions options) {
+        Objects.requireNonNull(graph, "Must provide a graph to infer prefixes for");
+        Objects.requireNonNull(options, "Must provide write options");
+        Map<String, long[]> counts = new HashMap<>();
+        ExtendedIterator<Triple> it = graph.find();
+        try {
+            while (it.hasNext()) {
+                Triple triple = it.next();
+                count(counts, triple.getSubject());
+                count(counts, triple.getPredicate());
+                count(counts, triple.getObject());
+            }
+        } finally {
+            it.close();
+        }
+        PrefixMapping prefixes = new PrefixMappingImpl().setNsPrefixes(graph.getPrefixMapping());
+        List<Map.Entry<String, long[]>> candidates = new ArrayList<>();
+        for (Map.Entry<String, long[]> entry : counts.entrySet()) {
+            if (entry.getValue()[0] >= options.getMinPrefixUses() && prefixes.getNsURIPrefix(entry.getKey()) == null) { candidates.add(entry); }
+        }
+        // Each use of a prefix saves roughly the length of its namespace
+        candidates.sort((a, b) -> Long.compare(b.getValue()[0] * b.getKey().length(), a.getValue()[0] * a.getKey().length()));
+        int added = 0;
+        for (Map.Entry<String, long[]> candidate : candidates) {
+            if (added == options.getMaxInferredPrefixes()) { break; }
+            prefixes.setNsPrefix(getPrefixName(candidate.getKey(), prefixes, options.getKnownPrefixes()), candidate.getKey());
+            added++;
+        }
+        return prefixes;
+    }
+
+    /**
+     * Gets a view of <code>model</code> that shares its statements but declares <code>prefixes</code>
+     * @param model Jena Model to view
+     * @param prefixes Prefixes for the view
+     * @return Model view with the provided prefixes
+     */
+    public static Model withPrefixes(Model model, PrefixMapping prefixes) {
+        Objects.requireNonNull(model, "Must provide a model to view");
+        Objects.requireNonNull(prefixes, "Must provide prefixes for the view");
+        PrefixMapping locked = new PrefixMappingImpl().setNsPrefixes(prefixes).lock();
+        return ModelFactory.createModelForGraph(new GraphWrapper(model.getGraph()) {
+            @Override
+            public PrefixMapping getPrefixMapping() { return locked; }
+        });
+    }
+
+    /**
+     * Builds a JSON-LD context document defining <code>prefixes</code>. Prefixes whose namespace
+     * doesn't end in a gen-delim are marked with <code>@prefix</code> so they're used for compact IRIs.
+     * @param prefixes Prefixes to define
+     * @return JSON-LD context document
+     */
+    public static String toJsonLdContext(PrefixMapping prefixes) {
+        Objects.requireNonNull(prefixes, "Must provide prefixes for the context");
+        JsonObjectBuilder context = Json.createObjectBuilder();
+        prefixes.getNsPrefixMap().forEach((prefix, namespace) -> {
+            if (prefix.isEmpty()) { return; }
+            if (RdfJsonLdWriter.isPrefixNamespace(namespace)) {
+                context.add(prefix, namespace);
+            } else {
+                context.add(prefix, Json.createObjectBuilder().add("@id", namespace).add("@prefix", true));
+            }
+        });
+        return Json.createObjectBuilder().add("@context", context).build().toString();
+    }
+
+    private static void count(Map<String, long[]> counts, Node node) {
+        String namespace = null;
+        if (node.isURI()) {
+            namespace = getNamespace(node.getURI());
+        } else if (node.isLiteral() && node.getLiteralDatatypeURI() != null && node.getLiteralLanguage().isEmpty()) {
+            namespace = getNamespace(node.getLiteralDatatypeURI());
+        }
+        if (namespace != null) { counts.computeIfAbsent(namespace, n -> new long[1])[0]++; }
+    }
+
+    /**
+     * Namespace of <code>iri</code>: everything up to its last <code>#</code> or <code>/</code>,
+     * or null when that leaves no local name or only the scheme and authority
+     */
+    static String getNamespace(String iri) {
+        int split = Math.max(iri.lastIndexOf('#'), iri.lastIndexOf('/'));
+        if (split < 0 || split == iri.length() - 1) { return null; }
+        int authority = iri.indexOf("://");
+        if (authority >= 0 && iri.indexOf('/', authority + 3) < 0) { return null; }
+        return iri.substring(0, split + 1);
+    }
+
+    private static String getPrefixName(String namespace, PrefixMapping taken, PrefixMapping known) {
+        String name = known.getNsURIPrefix(namespace);
+        if (name != null && taken.getNsPrefixURI(name) == null) { return name; }
+        String trimmed = namespace.substring(0, namespace.length() - 1);
+        String segment = trimmed.substring(Math.max(trimmed.lastIndexOf('/'), trimmed.lastIndexOf('#')) + 1).toLowerCase(Locale.ROOT);
+        if (segment.matches("[a-z][a-z0-9]{0,15}") && taken.getNsPrefixURI(segment) == null && known.getNsPrefixURI(segment) == null) { return segment; }
+        for (int i = 1; ; i++) {
+            if (taken.getNsPrefixURI("ns" + i) == null) { return "ns" + i; }
+        }
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.janeirodigital.sai.rdfutils;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Outcome of a non-throwing accessor such as {@link RdfUtils#findUriObject}. A result is
+ * either {@link Status#FOUND} with a value, {@link Status#NOT_FOUND} when nothing matched,
+ * or {@link Status#INVALID} when the matching value was of the wrong type. Failures carry
+ * the same message the equivalent <code>getRequired*</code> accessor would have thrown, but
+ * no exception is created unless {@link #orElseThrow()} is called.
+ * @param <T> Type of value
+ */
+public final class RdfResult<T> {
+
+    /**
+     * Status of an accessor result
+     */
+    public enum Status { FOUND, NOT_FOUND, INVALID }
+
+    private final Status status;
+    private final T value;
+    private final String message;
+
+    private RdfResult(Status status, T value, String message) {
+        this.status = status;
+        this.value = value;
+        this.message = message;
+    }
+
+    static <T> RdfResult<T> found(T value) {
+        Objects.requireNonNull(value, "A found result must have a value");
+        return new RdfResult<>(Status.FOUND, value, null);
+    }
+
+    static <T> RdfResult<T> notFound(String message) {
+        return new RdfResult<>(Status.NOT_FOUND, null, message);
+    }
+
+    static <T> RdfResult<T> invalid(String message) {
+        return new RdfResult<>(Status.INVALID, null, message);
+    }
+
+    /**
+     * @return Status of the result
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return True when a value was found
+     */
+    public boolean isFound() {
+        return status == Status.FOUND;
+    }
+
+    /**
+     * @return True when nothing matched
+     */
+    public boolean isNotFound() {
+        return status == Status.NOT_FOUND;
+    }
+
+    /**
+     * @return True when the matching value was of the wrong type
+     */
+    public boolean isInvalid() {
+        return status == Status.INVALID;
+    }
+
+    /**
+     * @return Value when found, otherwise null
+     */
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * @return Failure message, or null when found
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @param other Value to return when nothing was found or the value was invalid
+     * @return Value when found, otherwise <code>other</code>
+     */
+    public T orElse(T other) {
+        return isFound() ? value : other;
+    }
+
+    /**
+     * @return Value when found, otherwise empty
+     */
+    public Optional<T> toOptional() {
+        return Optional.ofNullable(value);
+    }
+
+    /**
+     * Returns the value, or throws the exception the equivalent <code>getRequired*</code> accessor would have
+     * @return Value when found
+     * @throws SaiRdfException when the value was invalid
+     * @throws SaiRdfNotFoundException when nothing was found
+     */
+    public T orElseThrow() throws SaiRdfException, SaiRdfNotFoundException {
+        if (status == Status.NOT_FOUND) { throw new SaiRdfNotFoundException(message); }
+        if (status == Status.INVALID) { throw new SaiRdfException(message); }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return isFound() ? "RdfResult[" + status + ": " + value + "]" : "RdfResult[" + status + ": " + message + "]";
+    }
+
+}
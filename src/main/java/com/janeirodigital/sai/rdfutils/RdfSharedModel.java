@@ -0,0 +1,126 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.rdf.model.Model;
+
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Guards a Jena Model shared between threads, allowing many concurrent readers and one
+ * exclusive writer. By default every read takes a shared read lock.
+ * <p>
+ * Reads may instead run optimistically, without taking a lock, and be validated afterwards;
+ * if a write intervened the read is repeated under the shared read lock. An optimistic read
+ * runs against a model that may be changing underneath it, so it must only be used for actions
+ * that are free of side effects, including hidden ones: the type index behind
+ * {@link RdfUtils#getResourcesOfType(Model, java.net.URI)} and {@link RdfPath} results are
+ * cached per graph on first use, and a cache built during a concurrent write can be wrong.
+ * <pre>{@code
+ * RdfSharedModel shared = new RdfSharedModel(registryModel);
+ * URI grant = shared.read(model -> getRequiredUriObject(getResourceFromModel(model, registryUri), HAS_ACCESS_GRANT));
+ * shared.write(model -> updateObject(getResourceFromModel(model, registryUri), UPDATED_AT, OffsetDateTime.now()));
+ * }</pre>
+ */
+public class RdfSharedModel {
+
+    private final Model model;
+    private final StampedLock lock = new StampedLock();
+    private final boolean optimistic;
+
+    /**
+     * Construct a shared wrapper around <code>model</code> where every read takes the shared read lock
+     * @param model Model to share
+     */
+    public RdfSharedModel(Model model) {
+        this(model, false);
+    }
+
+    /**
+     * Construct a shared wrapper around <code>model</code>
+     * @param model Model to share
+     * @param optimistic When true reads run optimistically without a lock, which is only safe for
+     *                   side effect free actions that don't use cached lookups (see {@link RdfSharedModel})
+     */
+    public RdfSharedModel(Model model, boolean optimistic) {
+        Objects.requireNonNull(model, "Must provide a model to share");
+        this.model = model;
+        this.optimistic = optimistic;
+    }
+
+    /**
+     * @return True when reads run optimistically without a lock
+     */
+    public boolean isOptimistic() {
+        return optimistic;
+    }
+
+    /**
+     * Action reading from a shared model
+     * @param <T> Type of result
+     */
+    @FunctionalInterface
+    public interface ReadAction<T> {
+        T apply(Model model) throws SaiRdfException, SaiRdfNotFoundException;
+    }
+
+    /**
+     * Action modifying a shared model
+     */
+    @FunctionalInterface
+    public interface WriteAction {
+        void apply(Model model) throws SaiRdfException, SaiRdfNotFoundException;
+    }
+
+    /**
+     * Run <code>action</code> against the model concurrently with other readers
+     * @param action Read action, which must be side effect free when reads are optimistic
+     * @param <T> Type of result
+     * @return Result of the read
+     * @throws SaiRdfException
+     * @throws SaiRdfNotFoundException
+     */
+    public <T> T read(ReadAction<T> action) throws SaiRdfException, SaiRdfNotFoundException {
+        Objects.requireNonNull(action, "Must provide an action to read with");
+        long stamp = optimistic ? lock.tryOptimisticRead() : 0L;
+        if (stamp != 0L) {
+            T result = null;
+            Throwable failure = null;
+            try {
+                result = action.apply(model);
+            } catch (SaiRdfException | SaiRdfNotFoundException | RuntimeException | Error ex) {
+                // Errors such as a StackOverflowError may also come from reading an inconsistent model
+                failure = ex;
+            }
+            if (lock.validate(stamp)) {
+                if (failure instanceof SaiRdfException) { throw (SaiRdfException) failure; }
+                if (failure instanceof SaiRdfNotFoundException) { throw (SaiRdfNotFoundException) failure; }
+                if (failure instanceof Error) { throw (Error) failure; }
+                if (failure != null) { throw (RuntimeException) failure; }
+                return result;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return action.apply(model);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Run <code>action</code> against the model exclusively
+     * @param action Write action
+     * @throws SaiRdfException
+     * @throws SaiRdfNotFoundException
+     */
+    public void write(WriteAction action) throws SaiRdfException, SaiRdfNotFoundException {
+        Objects.requireNonNull(action, "Must provide an action to write with");
+        long stamp = lock.writeLock();
+        try {
+            action.apply(model);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+}
@@ -0,0 +1,208 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.RDFWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Binary snapshots of parsed RDF files for fast warm restarts. The first load of a source file
+ * parses it and writes the model next to it in RDF Thrift (<code>&lt;file&gt;.rt</code>), along with a
+ * key file (<code>&lt;file&gt;.rt.key</code>) recording the base URI, size, modification time and SHA-256
+ * of the source. Later loads memory-map and decode the snapshot instead of parsing the text.
+ * <p>
+ * A snapshot is used while the source's size and modification time match the key. When only the
+ * modification time differs the source is hashed, and the snapshot is still used if the content is
+ * unchanged. Otherwise, or when the snapshot can't be read or is incomplete, the source is parsed
+ * again and the snapshot rewritten. Failing to write a snapshot (e.g. in a read-only directory)
+ * doesn't fail the load.
+ */
+public final class RdfSnapshot {
+
+    /**
+     * File name extension of snapshot files
+     */
+    public static final String SNAPSHOT_EXTENSION = ".rt";
+
+    /**
+     * File name extension of snapshot key files
+     */
+    public static final String KEY_EXTENSION = ".rt.key";
+
+    private RdfSnapshot() { }
+
+    /**
+     * Loads the contents of <code>filePath</code> from its snapshot when the snapshot is current,
+     * and otherwise parses the file and writes a new snapshot
+     * @param baseUri Base URI to use for statements
+     * @param filePath Path to file containing input data
+     * @param contentType Content type of file data
+     * @return Deserialized Jena Model
+     * @throws SaiRdfException when the input is invalid
+     * @throws IOException when the source file can't be read
+     */
+    public static Model load(URI baseUri, String filePath, String contentType) throws SaiRdfException, IOException {
+        Objects.requireNonNull(baseUri, "Must provide a base URI to generate a model");
+        Objects.requireNonNull(filePath, "Must provide an input file path to provide data for the generated model");
+        Objects.requireNonNull(contentType, "Must provide content type for model generation");
+        Path source = Path.of(filePath);
+        if (isCurrent(baseUri, source)) {
+            Model snapshot = read(getSnapshotPath(source), readKey(getKeyPath(source)).getProperty("triples"));
+            if (snapshot != null) { return snapshot; }
+        }
+        Model model = RdfUtils.getModelFromFile(baseUri, filePath, contentType, RdfParseOptions.UNBOUNDED);
+        try {
+            write(model, baseUri, source);
+        } catch (IOException | RuntimeException ex) {
+            // A snapshot is only an optimization
+        }
+        return model;
+    }
+
+    /**
+     * Checks whether the snapshot of <code>source</code> exists and reflects its current contents
+     * @param baseUri Base URI the snapshot must have been parsed with
+     * @param source Path to the source file
+     * @return True when the snapshot can be used in place of the source
+     * @throws IOException when the source file can't be read
+     */
+    public static boolean isCurrent(URI baseUri, Path source) throws IOException {
+        Objects.requireNonNull(baseUri, "Must provide a base URI");
+        Objects.requireNonNull(source, "Must provide a source file");
+        Path keyFile = getKeyPath(source);
+        if (!Files.exists(keyFile) || !Files.exists(getSnapshotPath(source))) { return false; }
+        Properties key = readKey(keyFile);
+        if (!baseUri.toString().equals(key.getProperty("baseUri"))) { return false; }
+        if (!Long.toString(Files.size(source)).equals(key.getProperty("size"))) { return false; }
+        if (Long.toString(Files.getLastModifiedTime(source).toMillis()).equals(key.getProperty("lastModified"))) { return true; }
+        // Touched but possibly unchanged, so compare content
+        if (!hash(source).equals(key.getProperty("sha256"))) { return false; }
+        key.setProperty("lastModified", Long.toString(Files.getLastModifiedTime(source).toMillis()));
+        writeKey(keyFile, key);
+        return true;
+    }
+
+    /**
+     * Writes <code>model</code> as the snapshot of <code>source</code>
+     * @param model Jena Model parsed from <code>source</code>
+     * @param baseUri Base URI the model was parsed with
+     * @param source Path to the source file
+     * @throws IOException when the snapshot can't be written
+     */
+    public static void write(Model model, URI baseUri, Path source) throws IOException {
+        Objects.requireNonNull(model, "Cannot snapshot a null model");
+        Objects.requireNonNull(baseUri, "Must provide a base URI");
+        Objects.requireNonNull(source, "Must provide a source file");
+        Properties key = new Properties();
+        key.setProperty("baseUri", baseUri.toString());
+        key.setProperty("size", Long.toString(Files.size(source)));
+        key.setProperty("lastModified", Long.toString(Files.getLastModifiedTime(source).toMillis()));
+        key.setProperty("sha256", hash(source));
+        key.setProperty("triples", Long.toString(model.size()));
+        Path snapshot = getSnapshotPath(source);
+        Path temporary = Files.createTempFile(snapshot.toAbsolutePath().getParent(), snapshot.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temporary), RdfCompression.BUFFER_SIZE)) {
+                RDFWriter.source(model).format(RDFFormat.RDF_THRIFT).output(out);
+            }
+            Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        writeKey(getKeyPath(source), key);
+    }
+
+    /**
+     * @param source Path to a source file
+     * @return Path of the snapshot of <code>source</code>
+     */
+    public static Path getSnapshotPath(Path source) {
+        return source.resolveSibling(source.getFileName() + SNAPSHOT_EXTENSION);
+    }
+
+    /**
+     * @param source Path to a source file
+     * @return Path of the key file of the snapshot of <code>source</code>
+     */
+    public static Path getKeyPath(Path source) {
+        return source.resolveSibling(source.getFileName() + KEY_EXTENSION);
+    }
+
+    /**
+     * Decodes the memory-mapped <code>snapshot</code>, or returns null when it can't be read or
+     * doesn't hold the number of <code>triples</code> recorded in its key
+     */
+    private static Model read(Path snapshot, String triples) {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            Model model = ModelFactory.createDefaultModel();
+            RDFParser.source(new ByteBufferInputStream(buffer)).lang(Lang.RDFTHRIFT).parse(model.getGraph());
+            return Long.toString(model.size()).equals(triples) ? model : null;
+        } catch (IOException | RuntimeException ex) {
+            return null;
+        }
+    }
+
+    private static Properties readKey(Path keyFile) throws IOException {
+        Properties key = new Properties();
+        try (InputStream in = Files.newInputStream(keyFile)) {
+            key.load(in);
+        }
+        return key;
+    }
+
+    private static void writeKey(Path keyFile, Properties key) throws IOException {
+        try (OutputStream out = Files.newOutputStream(keyFile)) {
+            key.store(out, null);
+        }
+    }
+
+    private static String hash(Path source) throws IOException {
+        try (InputStream in = Files.newInputStream(source)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[RdfCompression.BUFFER_SIZE];
+            for (int read = in.read(buffer); read != -1; read = in.read(buffer)) { digest.update(buffer, 0, read); }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * Input stream reading the remaining bytes of a buffer
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+        private ByteBufferInputStream(ByteBuffer buffer) { this.buffer = buffer; }
+        @Override public int read() { return buffer.hasRemaining() ? (buffer.get() & 0xff) : -1; }
+        @Override public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) { return 0; }
+            if (!buffer.hasRemaining()) { return -1; }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+        @Override public int available() { return buffer.remaining(); }
+    }
+
+}
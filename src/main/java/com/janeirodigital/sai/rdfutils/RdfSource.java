@@ -0,0 +1,24 @@
+package com.janeirodigital.sai.rdfutils;
+
+import lombok.Getter;
+
+import java.net.URI;
+import java.util.Objects;
+
+/**
+ * A document of RDF to parse: its raw content, content type and the base URI for its statements
+ */
+@Getter
+public class RdfSource {
+
+    private final URI baseUri;
+    private final String content;
+    private final String contentType;
+
+    public RdfSource(URI baseUri, String content, String contentType) {
+        this.baseUri = Objects.requireNonNull(baseUri, "Must provide a base URI for the source");
+        this.content = Objects.requireNonNull(content, "Must provide content for the source");
+        this.contentType = Objects.requireNonNull(contentType, "Must provide content type for the source");
+    }
+
+}
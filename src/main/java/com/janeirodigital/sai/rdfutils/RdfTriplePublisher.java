@@ -0,0 +1,218 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.RiotException;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFBase;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publishes the triples parsed from an RDF input stream to a single
+ * {@link Flow.Subscriber}, without ever materializing a Jena Model. Parsing runs
+ * on the provided <code>executor</code> and is paced by subscriber demand: triples are
+ * collected into batches of <code>batchSize</code>, and the parser blocks whenever the
+ * subscriber has not requested more, so memory use stays constant regardless of input size.
+ * All signals to the subscriber are sent from the parsing thread, and the input stream is
+ * closed once publishing ends.
+ */
+public class RdfTriplePublisher implements Flow.Publisher<Triple> {
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    public static final int DEFAULT_MAX_THREADS = 16;
+
+    private static final ThreadPoolExecutor DEFAULT_EXECUTOR = new ThreadPoolExecutor(DEFAULT_MAX_THREADS, DEFAULT_MAX_THREADS,
+            60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+        Thread thread = new Thread(runnable, "sai-rdf-triple-publisher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static { DEFAULT_EXECUTOR.allowCoreThreadTimeOut(true); }
+
+    private final URI baseUri;
+    private final InputStream in;
+    private final Lang lang;
+    private final int batchSize;
+    private final Executor executor;
+    private final AtomicBoolean subscribed = new AtomicBoolean(false);
+
+    /**
+     * Construct a publisher for the RDF in <code>in</code>, parsed on a shared pool of at most
+     * {@link #DEFAULT_MAX_THREADS} daemon threads. Each subscription holds a thread until it ends,
+     * and further subscriptions wait for one, so provide an executor when consuming more
+     * publishers than that at once.
+     * @param baseUri Base URI to use for statements
+     * @param in Input stream of RDF
+     * @param contentType Content type of the input
+     */
+    public RdfTriplePublisher(URI baseUri, InputStream in, String contentType) {
+        this(baseUri, in, contentType, DEFAULT_BATCH_SIZE, DEFAULT_EXECUTOR);
+    }
+
+    /**
+     * Construct a publisher for the RDF in <code>in</code>
+     * @param baseUri Base URI to use for statements
+     * @param in Input stream of RDF
+     * @param contentType Content type of the input
+     * @param batchSize Number of triples parsed ahead of delivery
+     * @param executor Executor to run the parser on
+     */
+    public RdfTriplePublisher(URI baseUri, InputStream in, String contentType, int batchSize, Executor executor) {
+        Objects.requireNonNull(baseUri, "Must provide a base URI to publish triples");
+        Objects.requireNonNull(in, "Must provide an input stream to publish triples from");
+        Objects.requireNonNull(executor, "Must provide an executor to publish triples with");
+        if (batchSize < 1) { throw new IllegalArgumentException("Batch size must be positive"); }
+        this.baseUri = baseUri;
+        this.in = in;
+        this.lang = RdfUtils.getLangForContentType(contentType);
+        this.batchSize = batchSize;
+        this.executor = executor;
+    }
+
+    /**
+     * Subscribe to the triples of the input. The input stream can only be consumed once,
+     * so any subsequent subscriber is signalled with an error.
+     * @param subscriber Subscriber to deliver triples to
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super Triple> subscriber) {
+        Objects.requireNonNull(subscriber, "Must provide a subscriber");
+        TripleSubscription subscription = new TripleSubscription(subscriber);
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(subscription);
+            subscriber.onError(new IllegalStateException("Triples for " + baseUri + " have already been published"));
+            return;
+        }
+        subscriber.onSubscribe(subscription);
+        try {
+            executor.execute(subscription::run);
+        } catch (RejectedExecutionException ex) {
+            closeInput();
+            subscriber.onError(ex);
+        }
+    }
+
+    private void closeInput() {
+        try {
+            in.close();
+        } catch (IOException ex) {
+            // Nothing more will be read from it
+        }
+    }
+
+    /**
+     * Signals that the subscriber cancelled or misbehaved, used to unwind the parser
+     */
+    private static class CancelledException extends RuntimeException {
+        CancelledException() { super(null, null, false, false); }
+    }
+
+    private class TripleSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super Triple> subscriber;
+        private final List<Triple> batch = new ArrayList<>();
+        private long demand = 0;
+        private boolean cancelled = false;
+        private Throwable failure;
+
+        TripleSubscription(Flow.Subscriber<? super Triple> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public synchronized void request(long n) {
+            if (cancelled) { return; }
+            if (n <= 0) {
+                // Signals must be serialized, so the parsing thread delivers the error
+                cancelled = true;
+                failure = new IllegalArgumentException("Subscriber requested a non-positive number of triples: " + n);
+            } else {
+                demand = (demand + n < 0) ? Long.MAX_VALUE : demand + n;
+            }
+            notifyAll();
+        }
+
+        @Override
+        public synchronized void cancel() {
+            cancelled = true;
+            notifyAll();
+        }
+
+        void run() {
+            StreamRDF sink = new StreamRDFBase() {
+                @Override
+                public void triple(Triple triple) {
+                    batch.add(triple);
+                    if (batch.size() >= batchSize) { deliver(); }
+                }
+            };
+            Throwable error = null;
+            try {
+                RDFParser.source(in).base(baseUri.toString()).lang(lang).parse(sink);
+                deliver();
+            } catch (CancelledException ex) {
+                // Subscriber is no longer interested, or its invalid request is signalled below
+            } catch (RiotException ex) {
+                error = new SaiRdfException("Error processing input stream for " + baseUri, ex);
+            } catch (RuntimeException ex) {
+                error = ex;
+            } finally {
+                closeInput();
+            }
+            Throwable signal;
+            synchronized (this) {
+                if (failure != null) {
+                    signal = failure;
+                } else if (cancelled) {
+                    return;
+                } else {
+                    signal = error;
+                }
+                // Ignore requests once terminated
+                cancelled = true;
+            }
+            if (signal != null) { subscriber.onError(signal); } else { subscriber.onComplete(); }
+        }
+
+        /**
+         * Deliver the current batch, blocking the parser until the subscriber has demand
+         */
+        private void deliver() {
+            for (Triple triple : batch) {
+                awaitDemand();
+                subscriber.onNext(triple);
+            }
+            batch.clear();
+        }
+
+        private synchronized void awaitDemand() {
+            while (demand == 0 && !cancelled) {
+                try {
+                    wait();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    cancelled = true;
+                }
+            }
+            if (cancelled) { throw new CancelledException(); }
+            if (demand != Long.MAX_VALUE) { demand--; }
+        }
+
+    }
+
+}
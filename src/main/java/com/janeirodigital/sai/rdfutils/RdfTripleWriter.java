@@ -0,0 +1,100 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFWriter;
+
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * {@link Flow.Subscriber} that serializes received triples to an output stream as they
+ * arrive, using Jena's streaming writers. Triples are requested from the publisher in
+ * batches of <code>batchSize</code>, so only a bounded number are ever in flight.
+ * The number of triples written is available through {@link #getCompletion()} once the
+ * publisher completes.
+ */
+public class RdfTripleWriter implements Flow.Subscriber<Triple> {
+
+    private final StreamRDF stream;
+    private final int batchSize;
+    private final CompletableFuture<Long> completion = new CompletableFuture<>();
+    private Flow.Subscription subscription;
+    private long outstanding;
+    private long written;
+
+    /**
+     * Construct a writer for <code>out</code> in the streaming serialization for <code>contentType</code>
+     * @param out Output stream to write to
+     * @param contentType Content type to serialize as
+     * @throws SaiRdfException when the content type has no streaming serialization (e.g. JSON-LD)
+     */
+    public RdfTripleWriter(OutputStream out, String contentType) throws SaiRdfException {
+        this(out, contentType, RdfTriplePublisher.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Construct a writer for <code>out</code> in the streaming serialization for <code>contentType</code>
+     * @param out Output stream to write to
+     * @param contentType Content type to serialize as
+     * @param batchSize Number of triples to request from the publisher at a time
+     * @throws SaiRdfException when the content type has no streaming serialization (e.g. JSON-LD)
+     */
+    public RdfTripleWriter(OutputStream out, String contentType, int batchSize) throws SaiRdfException {
+        Objects.requireNonNull(out, "Must provide an output stream to write triples to");
+        if (batchSize < 1) { throw new IllegalArgumentException("Batch size must be positive"); }
+        Lang lang = RdfUtils.getLangForContentType(contentType);
+        if (!StreamRDFWriter.registered(lang)) { throw new SaiRdfException("No streaming serialization available for " + contentType); }
+        this.stream = StreamRDFWriter.getWriterStream(out, lang);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription, "Must provide a subscription");
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        this.stream.start();
+        this.outstanding = batchSize;
+        subscription.request(batchSize);
+    }
+
+    @Override
+    public void onNext(Triple triple) {
+        Objects.requireNonNull(triple, "Cannot write a null triple");
+        stream.triple(triple);
+        written++;
+        if (--outstanding == 0) {
+            outstanding = batchSize;
+            subscription.request(batchSize);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        stream.finish();
+        completion.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        stream.finish();
+        completion.complete(written);
+    }
+
+    /**
+     * Future completed with the number of triples written when the publisher completes,
+     * or exceptionally when it signals an error.
+     * @return Completion of the write
+     */
+    public CompletableFuture<Long> getCompletion() {
+        return completion;
+    }
+
+}
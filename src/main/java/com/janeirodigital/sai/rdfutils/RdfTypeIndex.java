@@ -0,0 +1,170 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphEvents;
+import org.apache.jena.graph.GraphListener;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.vocabulary.RDF;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+/**
+ * Secondary index from RDF type to the subjects having that type, maintained per graph.
+ * The index is built on first use by {@link #forGraph(Graph)} and then kept consistent by
+ * listening to the graph's change events, covering the <code>update*</code> methods in
+ * {@link RdfUtils} as well as bulk additions and removals. Lookups return in time
+ * proportional to the number of matches.
+ */
+class RdfTypeIndex implements GraphListener {
+
+    private static final Map<Graph, RdfTypeIndex> INDEXES = new WeakHashMap<>();
+
+    private final WeakReference<Graph> graph;
+    private final Map<Node, Set<Node>> subjectsByType = new HashMap<>();
+    private boolean stale = true;
+
+    private RdfTypeIndex(Graph graph) {
+        this.graph = new WeakReference<>(graph);
+    }
+
+    /**
+     * Returns the type index for <code>graph</code>, creating and registering it on first use.
+     * A graph that isn't event-reliable gets a fresh index built for a single use, since a
+     * registered one couldn't be kept consistent.
+     * @param graph Graph to index
+     * @return Type index for the graph
+     */
+    static RdfTypeIndex forGraph(Graph graph) {
+        if (!RdfGraphVersion.isEventReliable(graph)) { return new RdfTypeIndex(graph); }
+        synchronized (INDEXES) {
+            RdfTypeIndex index = INDEXES.get(graph);
+            if (index == null) {
+                index = new RdfTypeIndex(graph);
+                graph.getEventManager().register(index);
+                INDEXES.put(graph, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * @param type RDF type to look up
+     * @return Subjects having <code>type</code>, in the order they were typed
+     */
+    synchronized List<Node> getSubjects(Node type) {
+        if (stale) { rebuild(); }
+        Set<Node> subjects = subjectsByType.get(type);
+        return (subjects == null) ? Collections.emptyList() : new ArrayList<>(subjects);
+    }
+
+    private void rebuild() {
+        subjectsByType.clear();
+        Graph indexed = graph.get();
+        if (indexed != null) {
+            ExtendedIterator<Triple> it = indexed.find(Node.ANY, RDF.Nodes.type, Node.ANY);
+            try {
+                while (it.hasNext()) { added(it.next()); }
+            } finally {
+                it.close();
+            }
+        }
+        stale = false;
+    }
+
+    private void added(Triple triple) {
+        if (!triple.getPredicate().equals(RDF.Nodes.type)) { return; }
+        subjectsByType.computeIfAbsent(triple.getObject(), type -> new LinkedHashSet<>()).add(triple.getSubject());
+    }
+
+    private void deleted(Triple triple) {
+        if (!triple.getPredicate().equals(RDF.Nodes.type)) { return; }
+        Set<Node> subjects = subjectsByType.get(triple.getObject());
+        if (subjects == null) { return; }
+        subjects.remove(triple.getSubject());
+        if (subjects.isEmpty()) { subjectsByType.remove(triple.getObject()); }
+    }
+
+    /**
+     * Re-checks the entries for <code>subject</code> against the graph after a pattern removal
+     */
+    private void verify(Node subject) {
+        Graph indexed = graph.get();
+        Iterator<Map.Entry<Node, Set<Node>>> entries = subjectsByType.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<Node, Set<Node>> entry = entries.next();
+            if (entry.getValue().contains(subject) && (indexed == null || !indexed.contains(subject, RDF.Nodes.type, entry.getKey()))) {
+                entry.getValue().remove(subject);
+                if (entry.getValue().isEmpty()) { entries.remove(); }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void notifyAddTriple(Graph g, Triple t) {
+        if (!stale) { added(t); }
+    }
+
+    @Override
+    public synchronized void notifyAddArray(Graph g, Triple[] triples) {
+        if (!stale) { for (Triple t : triples) { added(t); } }
+    }
+
+    @Override
+    public synchronized void notifyAddList(Graph g, List<Triple> triples) {
+        if (!stale) { triples.forEach(this::added); }
+    }
+
+    @Override
+    public synchronized void notifyAddIterator(Graph g, Iterator<Triple> it) {
+        // The iterator has already been consumed by the graph, so the index can't follow it
+        stale = true;
+    }
+
+    @Override
+    public synchronized void notifyAddGraph(Graph g, Graph added) {
+        if (!stale) { added.find(Node.ANY, RDF.Nodes.type, Node.ANY).forEachRemaining(this::added); }
+    }
+
+    @Override
+    public synchronized void notifyDeleteTriple(Graph g, Triple t) {
+        if (!stale) { deleted(t); }
+    }
+
+    @Override
+    public synchronized void notifyDeleteList(Graph g, List<Triple> triples) {
+        if (!stale) { triples.forEach(this::deleted); }
+    }
+
+    @Override
+    public synchronized void notifyDeleteArray(Graph g, Triple[] triples) {
+        if (!stale) { for (Triple t : triples) { deleted(t); } }
+    }
+
+    @Override
+    public synchronized void notifyDeleteIterator(Graph g, Iterator<Triple> it) {
+        stale = true;
+    }
+
+    @Override
+    public synchronized void notifyDeleteGraph(Graph g, Graph removed) {
+        if (!stale) { removed.find(Node.ANY, RDF.Nodes.type, Node.ANY).forEachRemaining(this::deleted); }
+    }
+
+    @Override
+    public synchronized void notifyEvent(Graph source, Object value) {
+        if (stale) { return; }
+        if (GraphEvents.removeAll.equals(value)) {
+            stale = true;
+        } else if (value instanceof GraphEvents && "remove".equals(((GraphEvents) value).getTitle())) {
+            // Pattern removals may not report each deleted triple, so re-check what they could have matched
+            Triple pattern = ((GraphEvents) value).getTriple();
+            Node predicate = pattern.getPredicate();
+            if (predicate.isConcrete() && !predicate.equals(RDF.Nodes.type)) { return; }
+            if (pattern.getSubject().isConcrete()) { verify(pattern.getSubject()); } else { stale = true; }
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.compose.MultiUnion;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.Statement;
+import org.apache.jena.sparql.graph.GraphReadOnly;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Read-only union of many resource models, for answering questions across resources
+ * without merging them into a new model. A dynamic view reads through to its sources on
+ * every lookup, so it copies nothing and always reflects their current contents. Changes to
+ * the sources are reported to the listeners of the view's graph, so type lookups and memoized
+ * paths over the view stay current. An indexed
+ * view takes a compact frozen snapshot of the union (see {@link RdfCompactGraph}), trading a
+ * one-off build for faster lookups when the sources are no longer changing. Either way,
+ * {@link #getSources(Statement)} reports which source models a statement came from.
+ */
+public class RdfUnionView {
+
+    private final List<Model> sources;
+    private final Model model;
+
+    private RdfUnionView(List<Model> sources, boolean indexed) {
+        this.sources = sources;
+        MultiUnion union = new MultiUnion();
+        for (Model source : sources) { union.addGraph(source.getGraph()); }
+        Graph graph = indexed ? RdfCompactGraph.of(union) : new GraphReadOnly(union);
+        if (!indexed) {
+            for (Model source : sources) { RdfGraphVersion.forward(source.getGraph(), graph); }
+        }
+        this.model = ModelFactory.createModelForGraph(graph);
+    }
+
+    /**
+     * Builds a dynamic union view over <code>sources</code>
+     * @param sources Models to combine
+     * @return Union view
+     */
+    public static RdfUnionView of(List<Model> sources) {
+        return of(sources, false);
+    }
+
+    /**
+     * Builds a union view over <code>sources</code>
+     * @param sources Models to combine
+     * @param indexed When true a compact snapshot of the union is indexed up front
+     * @return Union view
+     */
+    public static RdfUnionView of(List<Model> sources, boolean indexed) {
+        Objects.requireNonNull(sources, "Must provide models to build a union view from");
+        for (Model source : sources) { Objects.requireNonNull(source, "Cannot build a union view including a null model"); }
+        return new RdfUnionView(Collections.unmodifiableList(new ArrayList<>(sources)), indexed);
+    }
+
+    /**
+     * @return Read-only model of the union, usable with the {@link RdfUtils} accessors
+     */
+    public Model getModel() {
+        return model;
+    }
+
+    /**
+     * @return Source models of the union
+     */
+    public List<Model> getSources() {
+        return sources;
+    }
+
+    /**
+     * Returns the source models containing <code>statement</code>
+     * @param statement Statement to look up
+     * @return Source models containing the statement (possibly empty)
+     */
+    public List<Model> getSources(Statement statement) {
+        Objects.requireNonNull(statement, "Cannot get the sources of a null statement");
+        List<Model> containing = new ArrayList<>();
+        for (Model source : sources) {
+            if (source.getGraph().contains(statement.asTriple())) { containing.add(source); }
+        }
+        return containing;
+    }
+
+    /**
+     * Returns the source models with statements about <code>resource</code>
+     * @param resource Resource to look up
+     * @return Source models describing the resource (possibly empty)
+     */
+    public List<Model> getSources(Resource resource) {
+        Objects.requireNonNull(resource, "Cannot get the sources of a null resource");
+        List<Model> containing = new ArrayList<>();
+        for (Model source : sources) {
+            if (source.getGraph().contains(resource.asNode(), Node.ANY, Node.ANY)) { containing.add(source); }
+        }
+        return containing;
+    }
+
+}
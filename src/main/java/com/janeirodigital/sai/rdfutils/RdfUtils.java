@@ -10,20 +10,35 @@ import jakarta.json.JsonObject;
 import org.apache.jena.datatypes.RDFDatatype;
 import org.apache.jena.graph.Node;
 import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.*;
 import org.apache.jena.riot.Lang;
 import org.apache.jena.riot.RDFDataMgr;
 import org.apache.jena.riot.RiotException;
+import org.apache.jena.shared.PrefixMapping;
 import org.apache.jena.vocabulary.RDF;
 
 import java.io.*;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static org.apache.jena.datatypes.xsd.XSDDatatype.*;
 
@@ -34,8 +49,71 @@ public class RdfUtils {
     public static final String RDF_XML = "application/rdf+xml";
     public static final String N_TRIPLES = "application/n-triples";
 
+    private static volatile RdfNodeInterner nodeInterner;
+    private static volatile boolean stacklessExceptions;
+    private static volatile RdfFileModelCache fileModelCache;
+    private static volatile RdfOutputCache outputCache;
+
     private RdfUtils() { }
 
+    /**
+     * Installs a node interner shared by the parse helpers and every method here that creates
+     * resources or statements (<code>getNewResource*</code>, <code>update*</code>), so that equal
+     * IRIs and literals share one instance across models. Interning is disabled by default.
+     * @param interner Node interner to use, or null to disable interning
+     */
+    public static void setNodeInterner(RdfNodeInterner interner) {
+        nodeInterner = interner;
+    }
+
+    /**
+     * @return The installed node interner, or null when interning is disabled
+     */
+    public static RdfNodeInterner getNodeInterner() {
+        return nodeInterner;
+    }
+
+    /**
+     * Controls whether {@link SaiRdfException} and {@link SaiRdfNotFoundException} capture
+     * stack traces. Disabling them makes exceptions used for control flow much cheaper, at
+     * the cost of less useful diagnostics. Stack traces are captured by default.
+     * @param stackless True to skip capturing stack traces
+     */
+    public static void setStacklessExceptions(boolean stackless) {
+        stacklessExceptions = stackless;
+    }
+
+    /**
+     * @return True when exceptions skip capturing stack traces
+     */
+    public static boolean isStacklessExceptions() {
+        return stacklessExceptions;
+    }
+
+    /**
+     * Initializes Jena, the parser and writer registries and JSON-LD processing, and exercises
+     * parsing and serialization of each supported content type on a built-in sample, so the first
+     * request after startup doesn't pay for them. {@link #getJsonLdStringFromModel(Model, String)} is
+     * exercised expanded and with each JSON-LD context already shared through {@link RdfJsonLdContext#of(String)}.
+     * @return Timing of each warm-up phase
+     */
+    public static RdfWarmUpReport warmUp() {
+        return warmUp(Collections.emptyList(), 1);
+    }
+
+    /**
+     * Warms up as {@link #warmUp()}, also preloading <code>jsonLdContexts</code> as shared contexts
+     * and repeating the exercises <code>iterations</code> times to give the JIT compiler more to work with
+     * @param jsonLdContexts JSON-LD context documents to preload
+     * @param iterations Number of times to exercise each content type and context
+     * @return Timing of each warm-up phase
+     */
+    public static RdfWarmUpReport warmUp(Collection<String> jsonLdContexts, int iterations) {
+        Objects.requireNonNull(jsonLdContexts, "Must provide JSON-LD contexts to preload");
+        if (iterations < 1) { throw new IllegalArgumentException("Iterations must be positive"); }
+        return RdfWarmUp.run(jsonLdContexts, iterations);
+    }
+
     /**
      * Deserializes the provided String <code>rawContent</code> into a Jena Model
      * @param baseUri Base URI to use for statements
@@ -48,6 +126,7 @@ public class RdfUtils {
         Objects.requireNonNull(baseUri, "Must provide a base URI to generate a model");
         Objects.requireNonNull(rawContent, "Must provide content to generate a model from");
         Objects.requireNonNull(contentType, "Must provide content type for model generation");
+        if (nodeInterner != null) { return getModelFromString(baseUri, rawContent, contentType, RdfParseOptions.UNBOUNDED); }
         try {
             Model model = ModelFactory.createDefaultModel();
             StringReader reader = new StringReader(rawContent);
@@ -71,6 +150,7 @@ public class RdfUtils {
         Objects.requireNonNull(baseUri, "Must provide a baseUri to generate a model");
         Objects.requireNonNull(filePath, "Must provide an input file path to provide data for the generated model");
         Objects.requireNonNull(contentType, "Must provide content type for model generation");
+        if (nodeInterner != null) { return getModelFromFile(baseUri, filePath, contentType, RdfParseOptions.UNBOUNDED); }
         InputStream in = null;
         try {
             Model model = ModelFactory.createDefaultModel();
@@ -84,6 +164,208 @@ public class RdfUtils {
         }
     }
 
+    /**
+     * Deserializes the provided String <code>rawContent</code> into a Jena Model, enforcing
+     * the limits in <code>options</code> while parsing.
+     * @param baseUri Base URI to use for statements
+     * @param rawContent String of RDF
+     * @param contentType Content type of content
+     * @param options Parse options with limits to enforce
+     * @return Deserialized Jena Model
+     * @throws SaiRdfException
+     * @throws SaiRdfLimitExceededException when a limit in <code>options</code> is exceeded
+     */
+    public static Model getModelFromString(URI baseUri, String rawContent, String contentType, RdfParseOptions options) throws SaiRdfException {
+        Objects.requireNonNull(baseUri, "Must provide a base URI to generate a model");
+        Objects.requireNonNull(rawContent, "Must provide content to generate a model from");
+        Objects.requireNonNull(contentType, "Must provide content type for model generation");
+        Objects.requireNonNull(options, "Must provide parse options for model generation");
+        Model model = ModelFactory.createDefaultModel();
+        RdfParsing.parse(baseUri, rawContent, getLangForContentType(contentType), options, model.getGraph());
+        return model;
+    }
+
+    /**
+     * Deserializes the contents of the provided <code>filePath</code> into a Jena Model,
+     * enforcing the limits in <code>options</code> while parsing. Gzip compressed files are
+     * inflated as they're parsed, and limits apply to the inflated input.
+     * @param baseUri Base URI to use for statements
+     * @param filePath Path to file containing input data
+     * @param contentType Content type of file data
+     * @param options Parse options with limits to enforce
+     * @return Deserialized Jena Model
+     * @throws SaiRdfException
+     * @throws SaiRdfLimitExceededException when a limit in <code>options</code> is exceeded
+     * @throws IOException
+     */
+    public static Model getModelFromFile(URI baseUri, String filePath, String contentType, RdfParseOptions options) throws SaiRdfException, IOException {
+        Objects.requireNonNull(baseUri, "Must provide a baseUri to generate a model");
+        Objects.requireNonNull(filePath, "Must provide an input file path to provide data for the generated model");
+        Objects.requireNonNull(contentType, "Must provide content type for model generation");
+        Objects.requireNonNull(options, "Must provide parse options for model generation");
+        try (InputStream in = RdfCompression.decompress(openFile(filePath))) {
+            Model model = ModelFactory.createDefaultModel();
+            RdfParsing.parse(baseUri, in, getLangForContentType(contentType), options, model.getGraph());
+            return model;
+        } catch (RiotException ex) {
+            throw new SaiRdfException("Error processing input from file " + filePath, ex);
+        }
+    }
+
+    /**
+     * Deserializes the contents of the provided <code>filePath</code> into a Jena Model, with the
+     * content type inferred from its file name (e.g. <code>data.ttl.gz</code>). Gzip compressed files
+     * are recognized by their content and inflated as they're parsed.
+     * @param baseUri Base URI to use for statements
+     * @param filePath Path to file containing input data
+     * @return Deserialized Jena Model
+     * @throws SaiRdfException when the content type can't be inferred or the input is invalid
+     * @throws IOException
+     */
+    public static Model getModelFromFile(URI baseUri, String filePath) throws SaiRdfException, IOException {
+        Objects.requireNonNull(filePath, "Must provide an input file path to provide data for the generated model");
+        String contentType = getContentTypeForFileName(filePath);
+        if (contentType == null) { throw new SaiRdfException("Unable to determine content type of " + filePath); }
+        return getModelFromFile(baseUri, filePath, contentType, RdfParseOptions.UNBOUNDED);
+    }
+
+    /**
+     * Deserializes the provided <code>in</code> stream into a Jena Model. Gzip compressed input
+     * is recognized by its content and inflated as it's parsed. The stream is not closed.
+     * @param baseUri Base URI to use for statements
+     * @param in Input stream of RDF, optionally gzip compressed
+     * @param contentType Content type of the uncompressed content
+     * @param options Parse options with limits to enforce
+     * @return Deserialized Jena Model
+     * @throws SaiRdfException
+     * @throws IOException
+     */
+    public static Model getModelFromStream(URI baseUri, InputStream in, String contentType, RdfParseOptions options) throws SaiRdfException, IOException {
+        Objects.requireNonNull(baseUri, "Must provide a base URI to generate a model");
+        Objects.requireNonNull(in, "Must provide an input stream to generate a model from");
+        Objects.requireNonNull(contentType, "Must provide content type for model generation");
+        Objects.requireNonNull(options, "Must provide parse options for model generation");
+        Model model = ModelFactory.createDefaultModel();
+        RdfParsing.parse(baseUri, RdfCompression.decompress(in), getLangForContentType(contentType), options, model.getGraph());
+        return model;
+    }
+
+    /**
+     * Writes the provided <code>model</code> to <code>filePath</code>, serialized in the format inferred
+     * from its file name. Files named with a <code>.gz</code> extension are gzip compressed as they're written.
+     * @param model Jena Model to serialize
+     * @param filePath Path to file to write
+     * @param options Write options to apply
+     * @throws SaiRdfException when the content type can't be inferred from the file name
+     * @throws IOException when the file can't be written
+     */
+    public static void writeRdfModelToFile(Model model, String filePath, RdfWriteOptions options) throws SaiRdfException, IOException {
+        Objects.requireNonNull(model, "Cannot serialize a null model");
+        Objects.requireNonNull(filePath, "Must provide a file path to write to");
+        Objects.requireNonNull(options, "Must provide write options");
+        String contentType = getContentTypeForFileName(filePath);
+        if (contentType == null) { throw new SaiRdfException("Unable to determine content type of " + filePath); }
+        try (OutputStream file = Files.newOutputStream(Path.of(filePath));
+             OutputStream out = RdfCompression.isGzipPath(filePath) ? RdfCompression.compress(file) : new BufferedOutputStream(file, RdfCompression.BUFFER_SIZE)) {
+            RdfWriting.write(model, out, getLangForContentType(contentType), options);
+        }
+    }
+
+    /**
+     * Deserializes the contents of the provided <code>filePath</code> into a Jena Model, using a binary
+     * snapshot written next to the file on an earlier load instead of parsing it when the file is unchanged.
+     * @param baseUri Base URI to use for statements
+     * @param filePath Path to file containing input data
+     * @param contentType Content type of file data
+     * @return Deserialized Jena Model
+     * @throws SaiRdfException
+     * @throws IOException
+     */
+    public static Model getModelFromFileWithSnapshot(URI baseUri, String filePath, String contentType) throws SaiRdfException, IOException {
+        return RdfSnapshot.load(baseUri, filePath, contentType);
+    }
+
+    /**
+     * Gets the model for <code>filePath</code> from a shared {@link RdfFileModelCache}, parsing it
+     * only when it isn't cached or the file has changed.
+     * @param baseUri Base URI to use for statements
+     * @param filePath Path to file containing input data
+     * @param contentType Content type of file data
+     * @return Read-only model of the file contents
+     * @throws SaiRdfException
+     * @throws IOException
+     */
+    public static Model getCachedModelFromFile(URI baseUri, String filePath, String contentType) throws SaiRdfException, IOException {
+        RdfFileModelCache cache = fileModelCache;
+        if (cache == null) {
+            synchronized (RdfUtils.class) {
+                if (fileModelCache == null) { fileModelCache = new RdfFileModelCache(); }
+                cache = fileModelCache;
+            }
+        }
+        return cache.get(baseUri, filePath, contentType);
+    }
+
+    /**
+     * Loads the contents of the provided <code>filePath</code> into a TDB2 database at <code>location</code>
+     * for datasets larger than the heap, reusing the database on later calls while the file is unchanged.
+     * @param location Directory of the database
+     * @param baseUri Base URI to use for statements
+     * @param filePath Path to file containing input data
+     * @param contentType Content type of file data
+     * @return Transactional disk-backed model
+     * @throws SaiRdfException
+     * @throws IOException
+     */
+    public static RdfDiskModel getDiskModelFromFile(Path location, URI baseUri, String filePath, String contentType) throws SaiRdfException, IOException {
+        return RdfDiskModel.load(location, baseUri, filePath, contentType);
+    }
+
+    /**
+     * Deserializes each of the provided <code>sources</code> into a Jena Model, parsing them in
+     * parallel on a shared pool.
+     * @param sources Documents to parse
+     * @return Parsed models or per-item failures, in input order
+     */
+    public static List<RdfBatchResult<Model>> getModelsFromStrings(List<RdfSource> sources) {
+        return RdfBatch.parse(sources);
+    }
+
+    /**
+     * Gets a publisher of the triples parsed from <code>in</code>, delivered with backpressure
+     * and without materializing a Jena Model.
+     * @param baseUri Base URI to use for statements
+     * @param in Input stream of RDF
+     * @param contentType Content type of the input
+     * @return Publisher of parsed triples
+     */
+    public static Flow.Publisher<Triple> getTriplePublisher(URI baseUri, InputStream in, String contentType) {
+        return new RdfTriplePublisher(baseUri, in, contentType);
+    }
+
+    /**
+     * Gets a subscriber that serializes the triples it receives to <code>out</code> as they arrive
+     * @param out Output stream to write to
+     * @param contentType Content type to serialize as
+     * @return Subscriber writing triples to the output stream
+     * @throws SaiRdfException when the content type has no streaming serialization
+     */
+    public static RdfTripleWriter getTripleWriter(OutputStream out, String contentType) throws SaiRdfException {
+        return new RdfTripleWriter(out, contentType);
+    }
+
+    /**
+     * Writes the provided <code>model</code> to <code>out</code> as JSON-LD, one subject at a time,
+     * without building the whole JSON-LD document in memory.
+     * @param model Jena Model to serialize
+     * @param out Output stream to write to
+     * @param compact When true compacts with a context of the model's prefixes, otherwise writes expanded JSON-LD
+     */
+    public static void writeJsonLdToStream(Model model, OutputStream out, boolean compact) {
+        Objects.requireNonNull(model, "Cannot serialize a null model");
+        new RdfJsonLdWriter(out, compact ? model : null).write(model);
+    }
+
     /**
      * Get a String of the provided <code>model</code> serialized in <code>lang</code>.
      * @param model Jena Model to serialize
@@ -98,6 +380,96 @@ public class RdfUtils {
         return sw.toString();
     }
 
+    /**
+     * Get a String of the provided <code>model</code> serialized in <code>lang</code> subject to <code>options</code>,
+     * which choose between pretty and streaming Turtle output.
+     * @param model Jena Model to serialize
+     * @param lang Format to serialize into
+     * @param options Write options to apply
+     * @return Serialized string of the provided model
+     */
+    public static String getStringFromRdfModel(Model model, Lang lang, RdfWriteOptions options) {
+        Objects.requireNonNull(model, "Cannot serialize a null model");
+        Objects.requireNonNull(lang, "Must provide a serialization format");
+        Objects.requireNonNull(options, "Must provide write options");
+        return RdfWriting.write(model, lang, options);
+    }
+
+    /**
+     * Writes the provided <code>model</code> serialized in <code>lang</code> to <code>out</code> subject to
+     * <code>options</code>, which choose between pretty and streaming Turtle output.
+     * @param model Jena Model to serialize
+     * @param out Output stream to write to
+     * @param lang Format to serialize into
+     * @param options Write options to apply
+     */
+    public static void writeRdfModelToStream(Model model, OutputStream out, Lang lang, RdfWriteOptions options) {
+        Objects.requireNonNull(model, "Cannot serialize a null model");
+        Objects.requireNonNull(out, "Must provide an output stream to write to");
+        Objects.requireNonNull(lang, "Must provide a serialization format");
+        Objects.requireNonNull(options, "Must provide write options");
+        RdfWriting.write(model, out, lang, options);
+    }
+
+    /**
+     * Get a String of the provided <code>model</code> serialized in <code>lang</code> from a shared
+     * {@link RdfOutputCache}, serializing only when the model has changed since it was last cached.
+     * @param model Jena Model to serialize
+     * @param lang Format to serialize into
+     * @return Serialized string of the provided model
+     */
+    public static String getCachedStringFromRdfModel(Model model, Lang lang) {
+        return getOutputCache().getString(model, lang);
+    }
+
+    /**
+     * Get a String of the provided <code>model</code> serialized in <code>lang</code> subject to <code>options</code>
+     * from a shared {@link RdfOutputCache}, serializing only when the model has changed since it was last cached.
+     * @param model Jena Model to serialize
+     * @param lang Format to serialize into
+     * @param options Write options to apply
+     * @return Serialized string of the provided model
+     */
+    public static String getCachedStringFromRdfModel(Model model, Lang lang, RdfWriteOptions options) {
+        return getOutputCache().getString(model, lang, options);
+    }
+
+    /**
+     * Get a String of the provided <code>model</code> serialized in JSON-LD from a shared
+     * {@link RdfOutputCache}, serializing only when the model has changed since it was last cached.
+     * @param model Jena Model to serialize
+     * @param jsonLdContext JSON-LD context to compact with, or null for expanded JSON-LD
+     * @return Serialized JSON-LD string of the provided model
+     * @throws SaiRdfException
+     */
+    public static String getCachedJsonLdStringFromModel(Model model, String jsonLdContext) throws SaiRdfException {
+        return getOutputCache().getJsonLdString(model, jsonLdContext);
+    }
+
+    /**
+     * @return Shared cache of serialized models used by the <code>getCached*</code> serialization methods
+     */
+    public static RdfOutputCache getOutputCache() {
+        RdfOutputCache cache = outputCache;
+        if (cache == null) {
+            synchronized (RdfUtils.class) {
+                if (outputCache == null) { outputCache = new RdfOutputCache(); }
+                cache = outputCache;
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Infers namespace prefixes for the provided <code>model</code> from the IRIs it uses, in
+     * addition to the ones it already declares. The model is not modified.
+     * @param model Jena Model to infer prefixes for
+     * @return Declared and inferred prefixes
+     */
+    public static PrefixMapping getInferredPrefixes(Model model) {
+        return RdfPrefixes.infer(model, RdfWriteOptions.DEFAULT);
+    }
+
     /**
      * Get a String of the provided <code>model</code> serialized in JSON-LD
      * @param model Jena Model to serialize
@@ -125,6 +497,61 @@ public class RdfUtils {
         return jsonLdString;
     }
 
+    /**
+     * Serializes each of the provided <code>models</code> to JSON-LD in parallel, loading
+     * <code>jsonLdContext</code> once for the whole batch.
+     * @param models Jena Models to serialize
+     * @param jsonLdContext JSON-LD context to compact with, or null for expanded JSON-LD
+     * @return Serialized JSON-LD strings or per-item failures, in input order
+     * @throws SaiRdfException when the context is invalid or can't be loaded
+     */
+    public static List<RdfBatchResult<String>> getJsonLdStringsFromModels(List<Model> models, String jsonLdContext) throws SaiRdfException {
+        RdfJsonLdContext context = (jsonLdContext == null || jsonLdContext.isEmpty()) ? null : RdfJsonLdContext.of(jsonLdContext);
+        return RdfBatch.toJsonLd(models, context);
+    }
+
+    /**
+     * Gets a frozen, read-only copy of <code>model</code> backed by a {@link RdfCompactGraph},
+     * which dictionary-encodes nodes and stores triples in sorted primitive arrays to reduce
+     * heap use for large read-mostly working sets.
+     * @param model Jena Model to copy
+     * @return Read-only compact Jena Model
+     */
+    public static Model getCompactModel(Model model) {
+        return getCompactModel(model, false);
+    }
+
+    /**
+     * Gets a frozen, read-only copy of <code>model</code> backed by a {@link RdfCompactGraph}
+     * @param model Jena Model to copy
+     * @param offHeap When true the triple indexes are stored off-heap
+     * @return Read-only compact Jena Model
+     */
+    public static Model getCompactModel(Model model, boolean offHeap) {
+        Objects.requireNonNull(model, "Cannot build a compact model from a null model");
+        return ModelFactory.createModelForGraph(RdfCompactGraph.of(model.getGraph(), offHeap));
+    }
+
+    /**
+     * Gets a read-only union view over <code>models</code> that the accessors can query
+     * without copying the statements of each model into a new one.
+     * @param models Models to combine
+     * @return Union view with per-source provenance lookup
+     */
+    public static RdfUnionView getUnionView(List<Model> models) {
+        return RdfUnionView.of(models);
+    }
+
+    /**
+     * Forks <code>model</code> for speculative edits that can be committed back to it or
+     * discarded, at a cost proportional to the number of changes.
+     * @param model Jena Model to fork
+     * @return Copy-on-write fork of the model
+     */
+    public static RdfModelFork forkModel(Model model) {
+        return new RdfModelFork(model);
+    }
+
     /**
      * Returns a jena Resource at the specified <code>resourceUri</code> from the provided jena Model
      * @param model Model to search
@@ -137,6 +564,36 @@ public class RdfUtils {
         return model.getResource(resourceUri.toString());
     }
 
+    /**
+     * Returns the Jena Resources in <code>model</code> that have the provided RDF <code>type</code>.
+     * Lookups are served from a type index maintained for the model, which is built on first use
+     * and kept consistent with later changes.
+     * @param model Model to search
+     * @param type URI of the RDF type
+     * @return Resources of the provided type (possibly empty)
+     */
+    public static List<Resource> getResourcesOfType(Model model, URI type) {
+        Objects.requireNonNull(type, "Must provide a type to get resources of");
+        return getResourcesOfType(model, model.wrapAsResource(NodeFactory.createURI(type.toString())));
+    }
+
+    /**
+     * Returns the Jena Resources in <code>model</code> that have the provided RDF <code>type</code>.
+     * Lookups are served from a type index maintained for the model, which is built on first use
+     * and kept consistent with later changes.
+     * @param model Model to search
+     * @param type RDF type
+     * @return Resources of the provided type (possibly empty)
+     */
+    public static List<Resource> getResourcesOfType(Model model, RDFNode type) {
+        Objects.requireNonNull(model, "Must provide a model to get resources from");
+        Objects.requireNonNull(type, "Must provide a type to get resources of");
+        List<Node> subjects = RdfTypeIndex.forGraph(model.getGraph()).getSubjects(type.asNode());
+        List<Resource> resources = new ArrayList<>(subjects.size());
+        for (Node subject : subjects) { resources.add(model.wrapAsResource(subject)); }
+        return resources;
+    }
+
     /**
      * Gets a new Jena Resource (and associated Model) for the provided <code>resourceUri</code>
      * and adds a statement identifying the resource as the provided RDF <code>type</code>.
@@ -145,7 +602,7 @@ public class RdfUtils {
      */
     public static Resource getNewResourceForType(URI resourceUri, String type) {
         Resource resource = getNewResource(resourceUri);
-        resource.addProperty(RDF.type, type);
+        addObject(resource, RDF.type, resource.getModel().createLiteral(type));
         return resource;
     }
 
@@ -158,7 +615,7 @@ public class RdfUtils {
      */
     public static Resource getNewResourceForType(Model dataset, URI resourceUri, String type) {
         Resource resource = getNewResource(dataset, resourceUri);
-        resource.addProperty(RDF.type, type);
+        addObject(resource, RDF.type, resource.getModel().createLiteral(type));
         return resource;
     }
 
@@ -171,7 +628,7 @@ public class RdfUtils {
      */
     public static Resource getNewResourceForType(URI resourceUri, RDFNode type) {
         Resource resource = getNewResource(resourceUri);
-        resource.addProperty(RDF.type, type);
+        addObject(resource, RDF.type, type);
         return resource;
     }
 
@@ -185,7 +642,7 @@ public class RdfUtils {
      */
     public static Resource getNewResourceForType(Model dataset, URI resourceUri, RDFNode type) {
         Resource resource = getNewResource(dataset, resourceUri);
-        resource.addProperty(RDF.type, type);
+        addObject(resource, RDF.type, type);
         return resource;
     }
 
@@ -196,7 +653,7 @@ public class RdfUtils {
      */
     public static Resource getNewResource(URI resourceUri) {
         Model model = ModelFactory.createDefaultModel();
-        return model.createResource(resourceUri.toString());
+        return getNewResource(model, resourceUri);
     }
 
     /**
@@ -206,6 +663,7 @@ public class RdfUtils {
      * @return Resource
      */
     public static Resource getNewResource(Model dataset, URI resourceUri) {
+        if (nodeInterner != null) { return dataset.wrapAsResource(nodeInterner.intern(NodeFactory.createURI(resourceUri.toString()))); }
         return dataset.createResource(resourceUri.toString());
     }
 
@@ -362,6 +820,113 @@ public class RdfUtils {
         return strings;
     }
 
+    /**
+     * Returns a lazy stream of Jena RDFNodes matching the provided <code>property</code> in the
+     * provided <code>resource</code>. Objects are read from the underlying iterator only as the
+     * stream is consumed, and the iterator is closed when the stream is exhausted or closed.
+     * @param resource Jena Resource to navigate
+     * @param property Jena Property to search for
+     * @return Stream of Jena RDFNodes matching the provided property (possibly empty)
+     */
+    public static Stream<RDFNode> streamObjects(Resource resource, Property property) {
+        Objects.requireNonNull(resource, "Cannot stream objects from a null resource");
+        Objects.requireNonNull(property, "Cannot stream objects from a resource with a null property");
+        return streamStatements(resource, property).map(Statement::getObject);
+    }
+
+    /**
+     * Returns a lazy stream of URIs matching the provided <code>property</code> in the
+     * provided <code>resource</code>. An object that isn't a URI fails the stream with an
+     * {@link UncheckedSaiRdfException} when it is reached.
+     * @param resource Jena Resource to navigate
+     * @param property Jena Property to search for
+     * @return Stream of URI object values matching the provided property (possibly empty)
+     */
+    public static Stream<URI> streamUriObjects(Resource resource, Property property) {
+        Objects.requireNonNull(resource, "Cannot stream URIs from a null resource");
+        Objects.requireNonNull(property, "Cannot stream URIs from a resource with a null property");
+        return streamStatements(resource, property).map(statement -> {
+            RDFNode object = statement.getObject();
+            try {
+                if (!object.isResource()) { throw new SaiRdfException(msgNotUriResource(resource, property, object)); }
+                return nodeToUri(object);
+            } catch (SaiRdfException ex) {
+                throw new UncheckedSaiRdfException(ex);
+            }
+        });
+    }
+
+    /**
+     * Returns a lazy stream of Strings matching the provided <code>property</code> in the
+     * provided <code>resource</code>. An object that isn't an xsd:string literal fails the stream
+     * with an {@link UncheckedSaiRdfException} when it is reached.
+     * @param resource Jena Resource to navigate
+     * @param property Jena Property to search for
+     * @return Stream of String object values matching the provided property (possibly empty)
+     */
+    public static Stream<String> streamStringObjects(Resource resource, Property property) {
+        Objects.requireNonNull(resource, "Cannot stream strings from a null resource");
+        Objects.requireNonNull(property, "Cannot stream strings from a resource with a null property");
+        return streamStatements(resource, property).map(statement -> {
+            RDFNode object = statement.getObject();
+            if (!object.isLiteral() || !object.asLiteral().getDatatype().equals(XSDstring)) {
+                throw new UncheckedSaiRdfException(new SaiRdfException(msgInvalidDataType(resource, property, XSDstring)));
+            }
+            return object.asLiteral().getString();
+        });
+    }
+
+    /**
+     * Determines whether the provided <code>resource</code> has a statement of <code>property</code>
+     * with the URI <code>uri</code> as its object. This is a direct lookup that doesn't iterate
+     * over the other values of <code>property</code>.
+     * @param resource Jena Resource to navigate
+     * @param property Jena Property to search for
+     * @param uri URI object value to search for
+     * @return True when the statement exists
+     */
+    public static boolean containsUriObject(Resource resource, Property property, URI uri) {
+        Objects.requireNonNull(resource, "Cannot search a null resource");
+        Objects.requireNonNull(property, "Cannot search a resource with a null property");
+        Objects.requireNonNull(uri, "Cannot search a resource for a null uri");
+        return resource.hasProperty(property, resource.getModel().wrapAsResource(NodeFactory.createURI(uri.toString())));
+    }
+
+    /**
+     * Determines whether any object of <code>property</code> in the provided <code>resource</code>
+     * satisfies <code>predicate</code>, stopping at the first match.
+     * @param resource Jena Resource to navigate
+     * @param property Jena Property to search for
+     * @param predicate Predicate to test objects with
+     * @return True when an object satisfies the predicate
+     */
+    public static boolean anyObjectMatches(Resource resource, Property property, Predicate<RDFNode> predicate) {
+        Objects.requireNonNull(predicate, "Cannot match objects with a null predicate");
+        try (Stream<RDFNode> objects = streamObjects(resource, property)) {
+            return objects.anyMatch(predicate);
+        }
+    }
+
+    /**
+     * Lazily streams the statements of <code>property</code> in <code>resource</code>, closing
+     * the underlying iterator once it is exhausted or the stream is closed
+     */
+    private static Stream<Statement> streamStatements(Resource resource, Property property) {
+        StmtIterator it = resource.listProperties(property);
+        Spliterator<Statement> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Statement> action) {
+                if (!it.hasNext()) {
+                    it.close();
+                    return false;
+                }
+                action.accept(it.next());
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(it::close);
+    }
+
     /**
      * Returns a single URI value from the object of the statement matching the provided
      * <code>property</code> in the provided <code>resource</code>. Returns null when
@@ -527,6 +1092,97 @@ public class RdfUtils {
         return booleanValue;
     }
 
+    /**
+     * Returns the result of looking up a single Jena RDFNode matching the provided
+     * <code>property</code> in the provided <code>resource</code>, without throwing when
+     * nothing is found.
+     * @param resource Jena Resource to navigate
+     * @param property Jena Property to search for
+     * @return Found RDFNode or not found result
+     */
+    public static RdfResult<RDFNode> findObject(Resource resource, Property property) {
+        RDFNode object = getObject(resource, property);
+        if (object == null) { return RdfResult.notFound(msgNothingFound(resource, property)); }
+        return RdfResult.found(object);
+    }
+
+    /**
+     * Returns the result of looking up a single URI value from the object of the statement
+     * matching the provided <code>property</code> in the provided <code>resource</code>, without
+     * throwing when nothing is found or the object isn't a URI.
+     * @param resource Jena resource to navigate
+     * @param property Jena property to search for
+     * @return Found URI, not found, or invalid result
+     */
+    public static RdfResult<URI> findUriObject(Resource resource, Property property) {
+        RDFNode object = getObject(resource, property);
+        if (object == null) { return RdfResult.notFound(msgNothingFound(resource, property)); }
+        if (!object.isURIResource()) { return RdfResult.invalid(msgNotUriResource(resource, property, object)); }
+        try {
+            return RdfResult.found(new URI(object.asResource().getURI()).parseServerAuthority());
+        } catch (URISyntaxException ex) {
+            return RdfResult.invalid("Failed to convert node to URI - " + object.asResource().getURI());
+        }
+    }
+
+    /**
+     * Returns the result of looking up a single literal value as String from the object of the
+     * statement matching the provided <code>property</code> in the provided <code>resource</code>,
+     * without throwing when nothing is found or the literal is of the wrong type.
+     * @param resource Jena resource to navigate
+     * @param property Jena property to search for
+     * @return Found String, not found, or invalid result
+     */
+    public static RdfResult<String> findStringObject(Resource resource, Property property) {
+        return findLiteralObject(resource, property, XSDstring, Literal::getString);
+    }
+
+    /**
+     * Returns the result of looking up a single literal value as Integer from the object of the
+     * statement matching the provided <code>property</code> in the provided <code>resource</code>,
+     * without throwing when nothing is found or the literal is of the wrong type.
+     * @param resource Jena resource to navigate
+     * @param property Jena property to search for
+     * @return Found Integer, not found, or invalid result
+     */
+    public static RdfResult<Integer> findIntegerObject(Resource resource, Property property) {
+        return findLiteralObject(resource, property, XSDinteger, Literal::getInt);
+    }
+
+    /**
+     * Returns the result of looking up a single literal value as OffsetDateTime from the object of
+     * the statement matching the provided <code>property</code> in the provided <code>resource</code>,
+     * without throwing when nothing is found or the literal is of the wrong type.
+     * @param resource Jena resource to navigate
+     * @param property Jena property to search for
+     * @return Found OffsetDateTime, not found, or invalid result
+     */
+    public static RdfResult<OffsetDateTime> findDateTimeObject(Resource resource, Property property) {
+        return findLiteralObject(resource, property, XSDdateTime, literal -> OffsetDateTime.parse(literal.getString(), DateTimeFormatter.ISO_DATE_TIME));
+    }
+
+    /**
+     * Returns the result of looking up a single literal value as Boolean from the object of the
+     * statement matching the provided <code>property</code> in the provided <code>resource</code>,
+     * without throwing when nothing is found or the literal is of the wrong type.
+     * @param resource Jena resource to navigate
+     * @param property Jena property to search for
+     * @return Found Boolean, not found, or invalid result
+     */
+    public static RdfResult<Boolean> findBooleanObject(Resource resource, Property property) {
+        return findLiteralObject(resource, property, XSDboolean, Literal::getBoolean);
+    }
+
+    /**
+     * Common lookup for the typed literal <code>find*Object</code> accessors
+     */
+    private static <T> RdfResult<T> findLiteralObject(Resource resource, Property property, RDFDatatype type, Function<Literal, T> converter) {
+        RDFNode object = getObject(resource, property);
+        if (object == null) { return RdfResult.notFound(msgNothingFound(resource, property, type)); }
+        if (!object.isLiteral() || !object.asLiteral().getDatatype().equals(type)) { return RdfResult.invalid(msgInvalidDataType(resource, property, type)); }
+        return RdfResult.found(converter.apply(object.asLiteral()));
+    }
+
     /**
      * Updates the provided Jena Resource <code>resource</code> for the specified
      * <code>property</code> with the RDFNode <code>object</code>. This will remove
@@ -542,7 +1198,7 @@ public class RdfUtils {
         Objects.requireNonNull(property, "Cannot update a resource by passing a null object");
 
         resource.removeAll(property);
-        resource.addProperty(property, object);
+        addObject(resource, property, object);
         return resource;
     }
 
@@ -638,7 +1294,7 @@ public class RdfUtils {
         Objects.requireNonNull(property, "Cannot update a resource by passing a null property");
         Objects.requireNonNull(objects, "Cannot update a resource by passing a null list");
         resource.removeAll(property);
-        for (RDFNode object : objects) { resource.addProperty(property, object); }
+        for (RDFNode object : objects) { addObject(resource, property, object); }
         return resource;
     }
 
@@ -658,7 +1314,7 @@ public class RdfUtils {
         resource.removeAll(property);
         for (URI uri : uris) {
             Node node = NodeFactory.createURI(uri.toString());
-            resource.addProperty(property, resource.getModel().asRDFNode(node));
+            addObject(resource, property, resource.getModel().asRDFNode(node));
         }
         return resource;
     }
@@ -679,11 +1335,25 @@ public class RdfUtils {
         resource.removeAll(property);
         for (String string : strings) {
             Node node = NodeFactory.createLiteral(string);
-            resource.addProperty(property, resource.getModel().asRDFNode(node));
+            addObject(resource, property, resource.getModel().asRDFNode(node));
         }
         return resource;
     }
 
+    /**
+     * Adds a statement of <code>property</code> with <code>object</code> to <code>resource</code>,
+     * using canonical nodes when a node interner is installed
+     */
+    private static void addObject(Resource resource, Property property, RDFNode object) {
+        RdfNodeInterner interner = nodeInterner;
+        if (interner == null) {
+            resource.addProperty(property, object);
+            return;
+        }
+        Triple triple = Triple.create(interner.intern(resource.asNode()), interner.intern(property.asNode()), interner.intern(object.asNode()));
+        resource.getModel().getGraph().add(triple);
+    }
+
     /**
      * Convert an RDFNode value to URI
      * @param node RDFNode to convert
@@ -701,7 +1371,32 @@ public class RdfUtils {
     }
 
     /**
-     * Determine the Jena language (graph serialization type) based on a content type string
+     * Determine the content type of a file from its name, ignoring a trailing <code>.gz</code> extension
+     * @param filePath Path to a file
+     * @return Content type string, or null when it can't be determined
+     */
+    public static String getContentTypeForFileName(String filePath) {
+        Objects.requireNonNull(filePath, "Must provide a file path");
+        String name = RdfCompression.stripGzipExtension(filePath).toLowerCase(Locale.ROOT);
+        if (name.endsWith(".ttl")) { return TEXT_TURTLE; }
+        if (name.endsWith(".jsonld") || name.endsWith(".json")) { return LD_JSON; }
+        if (name.endsWith(".rdf") || name.endsWith(".owl") || name.endsWith(".xml")) { return RDF_XML; }
+        if (name.endsWith(".nt")) { return N_TRIPLES; }
+        return null;
+    }
+
+    /**
+     * Opens <code>filePath</code> from the file system or the classpath
+     */
+    static InputStream openFile(String filePath) throws SaiRdfException {
+        InputStream in = RDFDataMgr.open(filePath);
+        if (in == null) { throw new SaiRdfException("Unable to open " + filePath); }
+        return in;
+    }
+
+    /**
+     * Determine the Jena language (graph serialization type) based on a content type string.
+     * Parameters such as <code>charset</code> are ignored, and unsupported types default to Turtle.
      * @param contentType Content type string
      * @return Serialization language
      */
@@ -709,16 +1404,18 @@ public class RdfUtils {
         if (contentType == null) {
             return Lang.TURTLE;
         }
-        switch (contentType) {
-            case LD_JSON:
-                return Lang.JSONLD11;
-            case RDF_XML:
-                return Lang.RDFXML;
-            case N_TRIPLES:
-                return Lang.NTRIPLES;
-            default:
-                return Lang.TURTLE;
-        }
+        Lang lang = RdfContentNegotiation.getLang(contentType);
+        return (lang == null) ? Lang.TURTLE : lang;
+    }
+
+    /**
+     * Select the content type of a response from the client's <code>Accept</code> header. When several
+     * supported types are equally acceptable the cheapest to produce is chosen.
+     * @param accept Value of an <code>Accept</code> header, or null when the client sent none
+     * @return Selected media type, or null when no supported content type is acceptable
+     */
+    public static RdfMediaType getContentTypeForAccept(String accept) {
+        return RdfContentNegotiation.negotiate(accept);
     }
 
     public static String buildRemoteJsonLdContext(String remote) {
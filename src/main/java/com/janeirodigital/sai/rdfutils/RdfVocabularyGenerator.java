@@ -0,0 +1,253 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.Statement;
+import org.apache.jena.rdf.model.StmtIterator;
+import org.apache.jena.vocabulary.OWL;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Generates a Java vocabulary class from a Turtle, RDF/XML, JSON-LD or N-Triples vocabulary, in
+ * place of hand-written classes that build their terms at class initialization. For each term in
+ * the vocabulary's namespace the generated class declares its IRI as a string constant (interned
+ * by the JVM), a pre-built {@link org.apache.jena.graph.Node}, and a {@link org.apache.jena.rdf.model.Property}
+ * for properties or a {@link Resource} for classes and other terms. Properties also get an
+ * integer identifier, with a <code>getPredicateId</code> lookup that callers can <code>switch</code> on.
+ * <p>
+ * Properties are the terms typed as <code>rdf:Property</code> or an OWL property, or used as a
+ * predicate; classes are the terms typed as <code>rdfs:Class</code> or <code>owl:Class</code>.
+ * Run from a build with:
+ * <pre>{@code
+ * java -cp sai-rdf-utils-java.jar com.janeirodigital.sai.rdfutils.RdfVocabularyGenerator \
+ *     interop.ttl http://www.w3.org/ns/solid/interop# com.example.vocab InteropVocabulary target/generated-sources
+ * }</pre>
+ * The README shows how to run it in the <code>generate-sources</code> phase of a Maven build.
+ */
+public final class RdfVocabularyGenerator {
+
+    private static final Set<Resource> PROPERTY_TYPES = Set.of(RDF.Property, OWL.ObjectProperty, OWL.DatatypeProperty, OWL.AnnotationProperty);
+    private static final Set<Resource> CLASS_TYPES = Set.of(RDFS.Class, OWL.Class);
+
+    private enum Kind { PROPERTY, CLASS, TERM }
+
+    private RdfVocabularyGenerator() { }
+
+    /**
+     * Generates a vocabulary class source file
+     * @param args Vocabulary file, namespace, package name, class name, output directory, and optionally a constant name prefix
+     * @throws SaiRdfException when the vocabulary can't be parsed
+     * @throws IOException when the vocabulary can't be read or the class can't be written
+     */
+    public static void main(String[] args) throws SaiRdfException, IOException {
+        if (args.length < 5 || args.length > 6) {
+            throw new IllegalArgumentException("Usage: RdfVocabularyGenerator <vocabulary-file> <namespace> <package> <class-name> <output-directory> [constant-prefix]");
+        }
+        Model vocabulary = RdfUtils.getModelFromFile(URI.create(args[1]), args[0]);
+        write(vocabulary, args[1], args[2], args[3], (args.length == 6) ? args[5] : "", Path.of(args[4]));
+    }
+
+    /**
+     * Generates the vocabulary class and writes it under <code>outputDirectory</code> in the directory of its package
+     * @param vocabulary Model of the vocabulary
+     * @param namespace Namespace of the vocabulary's terms
+     * @param packageName Package of the generated class
+     * @param className Name of the generated class
+     * @param prefix Prefix added to every constant name, e.g. <code>INTEROP_</code>
+     * @param outputDirectory Root directory of generated sources
+     * @return Path of the generated source file
+     * @throws IOException when the class can't be written
+     */
+    public static Path write(Model vocabulary, String namespace, String packageName, String className, String prefix, Path outputDirectory) throws IOException {
+        Objects.requireNonNull(outputDirectory, "Must provide an output directory");
+        String source = generate(vocabulary, namespace, packageName, className, prefix);
+        Path directory = packageName.isEmpty() ? outputDirectory : outputDirectory.resolve(packageName.replace('.', '/'));
+        Files.createDirectories(directory);
+        Path file = directory.resolve(className + ".java");
+        Files.writeString(file, source, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    /**
+     * Generates the source of a vocabulary class
+     * @param vocabulary Model of the vocabulary
+     * @param namespace Namespace of the vocabulary's terms
+     * @param packageName Package of the generated class
+     * @param className Name of the generated class
+     * @param prefix Prefix added to every constant name, e.g. <code>INTEROP_</code>
+     * @return Java source of the class
+     */
+    public static String generate(Model vocabulary, String namespace, String packageName, String className, String prefix) {
+        Objects.requireNonNull(vocabulary, "Must provide a vocabulary to generate from");
+        Objects.requireNonNull(namespace, "Must provide the namespace of the vocabulary");
+        Objects.requireNonNull(packageName, "Must provide a package name");
+        Objects.requireNonNull(className, "Must provide a class name");
+        Objects.requireNonNull(prefix, "Must provide a constant prefix");
+        Map<String, Kind> terms = getTerms(vocabulary, namespace);
+        StringBuilder java = new StringBuilder();
+        if (!packageName.isEmpty()) { java.append("package ").append(packageName).append(";\n\n"); }
+        java.append("import org.apache.jena.graph.Node;\n")
+            .append("import org.apache.jena.graph.NodeFactory;\n")
+            .append("import org.apache.jena.rdf.model.Property;\n")
+            .append("import org.apache.jena.rdf.model.Resource;\n")
+            .append("import org.apache.jena.rdf.model.ResourceFactory;\n\n")
+            .append("/**\n * Vocabulary for ").append(escapeComment(namespace)).append("\n * <p>\n")
+            .append(" * Generated by {@code com.janeirodigital.sai.rdfutils.RdfVocabularyGenerator}. Do not edit.\n */\n")
+            .append("public final class ").append(className).append(" {\n\n")
+            .append("    private ").append(className).append("() { }\n\n")
+            .append("    // Namespace\n")
+            .append("    public static final String NS = ").append(literal(namespace)).append(";\n")
+            .append("    public static final Resource NAMESPACE = ResourceFactory.createResource(NS);\n");
+        Set<String> names = new HashSet<>(Set.of("NS", "NAMESPACE"));
+        Map<String, String> constants = new TreeMap<>();
+        for (Map.Entry<String, Kind> term : terms.entrySet()) {
+            String name = getConstantName(prefix, term.getKey(), term.getValue(), names);
+            constants.put(term.getKey(), name);
+        }
+        StringBuilder lookup = new StringBuilder();
+        int id = 0;
+        for (Kind kind : Kind.values()) {
+            boolean first = true;
+            for (Map.Entry<String, Kind> term : terms.entrySet()) {
+                if (term.getValue() != kind) { continue; }
+                if (first) {
+                    java.append("\n    // ").append(kind == Kind.PROPERTY ? "Properties" : kind == Kind.CLASS ? "Classes" : "Other terms").append("\n");
+                    first = false;
+                }
+                String name = constants.get(term.getKey());
+                String iri = namespace + term.getKey();
+                java.append("    public static final String ").append(name).append("_IRI = ").append(literal(iri)).append(";\n")
+                    .append("    public static final Node ").append(name).append("_NODE = NodeFactory.createURI(").append(name).append("_IRI);\n");
+                if (kind == Kind.PROPERTY) {
+                    java.append("    public static final Property ").append(name).append(" = ResourceFactory.createProperty(").append(name).append("_IRI);\n")
+                        .append("    public static final int ").append(name).append("_ID = ").append(id++).append(";\n");
+                    lookup.append("            case ").append(name).append("_IRI: return ").append(name).append("_ID;\n");
+                } else {
+                    java.append("    public static final Resource ").append(name).append(" = ResourceFactory.createResource(").append(name).append("_IRI);\n");
+                }
+            }
+        }
+        java.append("\n    /**\n     * @param predicate Predicate node\n     * @return Identifier of the property, or -1 when it isn't part of this vocabulary\n     */\n")
+            .append("    public static int getPredicateId(Node predicate) {\n")
+            .append("        return predicate.isURI() ? getPredicateId(predicate.getURI()) : -1;\n")
+            .append("    }\n\n")
+            .append("    /**\n     * @param predicate Predicate IRI\n     * @return Identifier of the property, or -1 when it isn't part of this vocabulary\n     */\n")
+            .append("    public static int getPredicateId(String predicate) {\n")
+            .append("        switch (predicate) {\n")
+            .append(lookup)
+            .append("            default: return -1;\n")
+            .append("        }\n")
+            .append("    }\n\n")
+            .append("}\n");
+        return toAscii(java);
+    }
+
+    /**
+     * Local names of the terms in <code>namespace</code>, with the kind of each, sorted by name
+     */
+    private static Map<String, Kind> getTerms(Model vocabulary, String namespace) {
+        Map<String, Kind> terms = new TreeMap<>();
+        StmtIterator it = vocabulary.listStatements();
+        try {
+            while (it.hasNext()) {
+                Statement statement = it.next();
+                String predicate = getLocalName(statement.getPredicate(), namespace);
+                if (predicate != null) { terms.put(predicate, Kind.PROPERTY); }
+                String subject = getLocalName(statement.getSubject(), namespace);
+                if (subject != null && terms.get(subject) != Kind.PROPERTY) {
+                    Kind kind = Kind.TERM;
+                    if (statement.getPredicate().equals(RDF.type) && PROPERTY_TYPES.contains(statement.getObject())) { kind = Kind.PROPERTY; }
+                    if (statement.getPredicate().equals(RDF.type) && CLASS_TYPES.contains(statement.getObject())) { kind = Kind.CLASS; }
+                    if (kind != Kind.TERM || !terms.containsKey(subject)) { terms.put(subject, kind); }
+                }
+                String object = getLocalName(statement.getObject(), namespace);
+                if (object != null && !terms.containsKey(object)) { terms.put(object, Kind.TERM); }
+            }
+        } finally {
+            it.close();
+        }
+        return terms;
+    }
+
+    private static String getLocalName(RDFNode node, String namespace) {
+        if (!node.isURIResource()) { return null; }
+        String iri = node.asResource().getURI();
+        if (!iri.startsWith(namespace) || iri.length() == namespace.length()) { return null; }
+        String local = iri.substring(namespace.length());
+        return (local.indexOf('/') >= 0 || local.indexOf('#') >= 0) ? null : local;
+    }
+
+    /**
+     * Upper snake case constant name for <code>local</code>, e.g. <code>hasMilestone</code> as <code>HAS_MILESTONE</code>,
+     * chosen so that neither it nor the names derived from it collide with names already <code>taken</code>
+     */
+    private static String getConstantName(String prefix, String local, Kind kind, Set<String> taken) {
+        StringBuilder name = new StringBuilder(prefix);
+        for (int i = 0; i < local.length(); i++) {
+            char c = local.charAt(i);
+            boolean boundary = i > 0 && Character.isUpperCase(c) && (Character.isLowerCase(local.charAt(i - 1)) || Character.isDigit(local.charAt(i - 1)));
+            if (boundary) { name.append('_'); }
+            name.append(Character.isLetterOrDigit(c) ? c : '_');
+        }
+        String base = name.toString().toUpperCase(Locale.ROOT);
+        if (!Character.isJavaIdentifierStart(base.charAt(0))) { base = "_" + base; }
+        String candidate = base;
+        if (!isAvailable(candidate, kind, taken)) {
+            candidate = base + "_" + kind.name();
+            while (!isAvailable(candidate, kind, taken)) { candidate = candidate + "_"; }
+        }
+        taken.addAll(getDerivedNames(candidate, kind));
+        return candidate;
+    }
+
+    private static boolean isAvailable(String name, Kind kind, Set<String> taken) {
+        for (String derived : getDerivedNames(name, kind)) {
+            if (taken.contains(derived)) { return false; }
+        }
+        return true;
+    }
+
+    /**
+     * Names of the constants generated for a term named <code>name</code>
+     */
+    private static List<String> getDerivedNames(String name, Kind kind) {
+        if (kind == Kind.PROPERTY) { return List.of(name, name + "_IRI", name + "_NODE", name + "_ID"); }
+        return List.of(name, name + "_IRI", name + "_NODE");
+    }
+
+    /**
+     * Source with non-ASCII characters as unicode escapes, so it compiles whatever the source encoding
+     */
+    private static String toAscii(CharSequence source) {
+        StringBuilder ascii = new StringBuilder(source.length());
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c < 0x80) { ascii.append(c); } else { ascii.append(String.format("\\u%04x", (int) c)); }
+        }
+        return ascii.toString();
+    }
+
+    private static String literal(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private static String escapeComment(String value) {
+        return value.replace("*/", "*&#47;");
+    }
+
+}
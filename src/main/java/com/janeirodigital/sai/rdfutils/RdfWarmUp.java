@@ -0,0 +1,118 @@
+package com.janeirodigital.sai.rdfutils;
+
+import com.apicatalog.jsonld.JsonLd;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParserRegistry;
+import org.apache.jena.riot.RDFWriterRegistry;
+import org.apache.jena.sys.JenaSystem;
+import org.apache.jena.vocabulary.RDF;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Warm-up behind {@link RdfUtils#warmUp()}. Each phase initializes a subsystem or exercises a
+ * code path that would otherwise be paid for by the first request after startup.
+ */
+final class RdfWarmUp {
+
+    private static final URI SAMPLE_URI = URI.create("https://warmup.example/resource#sample");
+    private static final String SAMPLE_NS = "https://warmup.example/vocab#";
+    private static final List<String> CONTENT_TYPES = List.of(RdfUtils.TEXT_TURTLE, RdfUtils.LD_JSON, RdfUtils.RDF_XML, RdfUtils.N_TRIPLES);
+
+    @FunctionalInterface
+    private interface Phase {
+        void run() throws SaiRdfException;
+    }
+
+    private RdfWarmUp() { }
+
+    /**
+     * Runs every warm-up phase <code>iterations</code> times, preloading <code>jsonLdContexts</code>
+     */
+    static RdfWarmUpReport run(Collection<String> jsonLdContexts, int iterations) {
+        RdfWarmUpReport report = new RdfWarmUpReport();
+        time(report, "jena", JenaSystem::init);
+        time(report, "parsers", () -> {
+            for (String contentType : CONTENT_TYPES) {
+                Lang lang = RdfUtils.getLangForContentType(contentType);
+                RDFParserRegistry.getFactory(lang);
+                RDFWriterRegistry.defaultSerialization(lang);
+            }
+        });
+        Model sample = getSample();
+        time(report, "titanium", () -> {
+            try {
+                JsonLd.class.getName();
+                RdfJsonLdContext.expand(sample);
+            } catch (RuntimeException ex) {
+                throw new SaiRdfException("Failed to initialize JSON-LD processing", ex);
+            }
+        });
+        List<RdfJsonLdContext> contexts = new ArrayList<>();
+        for (String context : jsonLdContexts) {
+            time(report, "contexts", () -> contexts.add(RdfJsonLdContext.of(context)));
+        }
+        time(report, "contexts", () -> {
+            for (RdfJsonLdContext context : RdfJsonLdContext.getSharedContexts()) {
+                if (!contexts.contains(context)) { contexts.add(context); }
+            }
+        });
+        for (int i = 0; i < iterations; i++) {
+            for (String contentType : CONTENT_TYPES) {
+                time(report, contentType, () -> {
+                    String serialized = RdfUtils.getStringFromRdfModel(sample, RdfUtils.getLangForContentType(contentType));
+                    RdfUtils.getModelFromString(SAMPLE_URI, serialized, contentType);
+                });
+            }
+            // RdfUtils.getJsonLdStringFromModel goes through N-Quads and Titanium's own RDF reader
+            time(report, "jsonld", () -> RdfUtils.getJsonLdStringFromModel(sample, null));
+            for (RdfJsonLdContext context : contexts) {
+                time(report, "context " + context.getContext(), () -> {
+                    context.compact(sample);
+                    RdfUtils.getJsonLdStringFromModel(sample, context.getContext());
+                });
+            }
+        }
+        return report;
+    }
+
+    private static void time(RdfWarmUpReport report, String name, Phase phase) {
+        long start = System.nanoTime();
+        try {
+            phase.run();
+        } catch (SaiRdfException ex) {
+            report.addFailure(name, ex);
+        } catch (RuntimeException ex) {
+            report.addFailure(name, new SaiRdfException("Warm-up phase " + name + " failed", ex));
+        }
+        report.addPhase(name, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Small model using the literal types, blank nodes and prefixes found in typical resources
+     */
+    private static Model getSample() {
+        Model model = ModelFactory.createDefaultModel();
+        model.setNsPrefix("ex", SAMPLE_NS);
+        Resource resource = RdfUtils.getNewResourceForType(model, SAMPLE_URI, model.createResource(SAMPLE_NS + "Sample"));
+        Property property = model.createProperty(SAMPLE_NS, "value");
+        resource.addProperty(property, "sample");
+        resource.addProperty(property, "échantillon", "fr");
+        resource.addLiteral(property, 42L);
+        resource.addLiteral(property, true);
+        RdfUtils.updateObject(resource, model.createProperty(SAMPLE_NS, "createdAt"), OffsetDateTime.parse("2021-04-04T20:15:47.000Z"));
+        resource.addProperty(property, model.createResource().addProperty(RDF.value, "nested"));
+        resource.addProperty(property, model.createResource("https://warmup.example/other"));
+        return model;
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.janeirodigital.sai.rdfutils;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Timings of the phases of {@link RdfUtils#warmUp()}, in the order they ran, along with any
+ * phases that failed
+ */
+public final class RdfWarmUpReport {
+
+    private final Map<String, Duration> phases = new LinkedHashMap<>();
+    private final Map<String, SaiRdfException> failures = new LinkedHashMap<>();
+
+    RdfWarmUpReport() { }
+
+    void addPhase(String phase, Duration duration) {
+        phases.merge(phase, duration, Duration::plus);
+    }
+
+    void addFailure(String phase, SaiRdfException failure) {
+        failures.putIfAbsent(phase, failure);
+    }
+
+    /**
+     * @return Time taken by each phase, in the order they ran
+     */
+    public Map<String, Duration> getPhases() {
+        return Collections.unmodifiableMap(phases);
+    }
+
+    /**
+     * @return Failure of each phase that failed
+     */
+    public Map<String, SaiRdfException> getFailures() {
+        return Collections.unmodifiableMap(failures);
+    }
+
+    /**
+     * @return True when every phase completed
+     */
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+
+    /**
+     * @return Total time taken by all phases
+     */
+    public Duration getTotal() {
+        return phases.values().stream().reduce(Duration.ZERO, Duration::plus);
+    }
+
+    /**
+     * @return Summary of phase timings in milliseconds
+     */
+    @Override
+    public String toString() {
+        StringBuilder summary = new StringBuilder("RdfWarmUpReport[total=").append(getTotal().toMillis()).append("ms");
+        phases.forEach((phase, duration) -> summary.append(", ").append(phase).append('=').append(duration.toMillis()).append("ms"));
+        failures.keySet().forEach(phase -> summary.append(", ").append(phase).append("=failed"));
+        return summary.append(']').toString();
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.janeirodigital.sai.rdfutils;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.apache.jena.shared.PrefixMapping;
+
+/**
+ * Options applied while serializing a Jena Model. The {@link RdfWritePolicy} chooses between
+ * pretty and streaming Turtle output, so large responses stream quickly while small ones stay
+ * human-friendly. Formats other than Turtle are written with their default writer.
+ * <p>
+ * With <code>inferPrefixes</code> the most frequently used namespaces of the model are
+ * declared as prefixes when writing (see {@link RdfPrefixes}), without modifying the model.
+ * JSON-LD is then written compacted with a context of those prefixes.
+ * <p>
+ * Options are compared by value, so equal options built separately share cached output.
+ */
+@Getter
+@Builder
+@EqualsAndHashCode
+public class RdfWriteOptions {
+
+    /**
+     * Options choosing the Turtle layout automatically by model size
+     */
+    public static final RdfWriteOptions DEFAULT = RdfWriteOptions.builder().build();
+
+    /**
+     * Layout of Turtle output
+     */
+    @Builder.Default
+    private final RdfWritePolicy policy = RdfWritePolicy.AUTO;
+
+    /**
+     * Largest model (in triples) written with the pretty writer under {@link RdfWritePolicy#AUTO}
+     */
+    @Builder.Default
+    private final long prettyThreshold = 10000;
+
+    /**
+     * Declare prefixes inferred from the namespaces used by the model
+     */
+    private final boolean inferPrefixes;
+
+    /**
+     * Registry of prefix names for well-known namespaces
+     */
+    @Builder.Default
+    private final PrefixMapping knownPrefixes = RdfPrefixes.KNOWN;
+
+    /**
+     * Maximum number of prefixes inferred
+     */
+    @Builder.Default
+    private final int maxInferredPrefixes = 16;
+
+    /**
+     * Minimum number of uses for a namespace to be given a prefix
+     */
+    @Builder.Default
+    private final int minPrefixUses = 2;
+
+}
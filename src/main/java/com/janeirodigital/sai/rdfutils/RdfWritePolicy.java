@@ -0,0 +1,24 @@
+package com.janeirodigital.sai.rdfutils;
+
+/**
+ * Selects how Turtle output is laid out when serializing a model
+ */
+public enum RdfWritePolicy {
+    /**
+     * Jena's pretty Turtle writer, which analyses the whole graph to nest blank nodes and
+     * group statements. Most readable, but slow and memory-hungry on large models.
+     */
+    PRETTY,
+    /**
+     * Streaming Turtle that groups consecutive statements about the same subject
+     */
+    BLOCKS,
+    /**
+     * Streaming Turtle with one complete statement per line
+     */
+    FLAT,
+    /**
+     * {@link #PRETTY} for models up to {@link RdfWriteOptions#getPrettyThreshold()} triples, {@link #BLOCKS} otherwise
+     */
+    AUTO
+}
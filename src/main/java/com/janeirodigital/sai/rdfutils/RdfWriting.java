@@ -0,0 +1,75 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.RDFWriter;
+import org.apache.jena.riot.RDFWriterRegistry;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serialization pipeline behind the {@link RdfWriteOptions} variants of the serialize
+ * helpers in {@link RdfUtils}
+ */
+final class RdfWriting {
+
+    private RdfWriting() { }
+
+    /**
+     * Serialize <code>model</code> in <code>lang</code> to a String subject to <code>options</code>
+     */
+    static String write(Model model, Lang lang, RdfWriteOptions options) {
+        if (options.isInferPrefixes() && isJsonLd(lang)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            write(model, out, lang, options);
+            return out.toString(StandardCharsets.UTF_8);
+        }
+        StringWriter sw = new StringWriter();
+        writer(model, lang, options).output(sw);
+        return sw.toString();
+    }
+
+    /**
+     * Serialize <code>model</code> in <code>lang</code> to <code>out</code> subject to <code>options</code>
+     */
+    static void write(Model model, OutputStream out, Lang lang, RdfWriteOptions options) {
+        if (options.isInferPrefixes() && isJsonLd(lang)) {
+            new RdfJsonLdWriter(out, RdfPrefixes.infer(model, options)).write(model);
+            return;
+        }
+        writer(model, lang, options).output(out);
+    }
+
+    /**
+     * Gets the output format for <code>lang</code> according to the write policy of <code>options</code>
+     */
+    static RDFFormat getFormat(Model model, Lang lang, RdfWriteOptions options) {
+        if (!Lang.TURTLE.equals(lang)) { return RDFWriterRegistry.defaultSerialization(lang); }
+        RdfWritePolicy policy = options.getPolicy();
+        if (policy == RdfWritePolicy.AUTO) {
+            policy = (model.size() <= options.getPrettyThreshold()) ? RdfWritePolicy.PRETTY : RdfWritePolicy.BLOCKS;
+        }
+        switch (policy) {
+            case BLOCKS:
+                return RDFFormat.TURTLE_BLOCKS;
+            case FLAT:
+                return RDFFormat.TURTLE_FLAT;
+            default:
+                return RDFFormat.TURTLE_PRETTY;
+        }
+    }
+
+    private static boolean isJsonLd(Lang lang) {
+        return Lang.JSONLD.equals(lang) || Lang.JSONLD11.equals(lang) || Lang.JSONLD10.equals(lang);
+    }
+
+    private static RDFWriter writer(Model model, Lang lang, RdfWriteOptions options) {
+        Model source = options.isInferPrefixes() ? RdfPrefixes.withPrefixes(model, RdfPrefixes.infer(model, options)) : model;
+        return RDFWriter.source(source).format(getFormat(model, lang, options)).build();
+    }
+
+}
@@ -10,4 +10,13 @@ public class SaiRdfException extends Exception {
     public SaiRdfException(String message) {
         super(message);
     }
+
+    /**
+     * Skips capturing the stack trace when stackless exceptions are enabled through
+     * {@link RdfUtils#setStacklessExceptions(boolean)}
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return RdfUtils.isStacklessExceptions() ? this : super.fillInStackTrace();
+    }
 }
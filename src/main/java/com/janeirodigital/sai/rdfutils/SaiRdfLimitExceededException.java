@@ -0,0 +1,27 @@
+package com.janeirodigital.sai.rdfutils;
+
+/**
+ * Exception thrown when parsing is aborted because the input exceeded one of
+ * the limits of the supplied {@link RdfParseOptions}
+ */
+public class SaiRdfLimitExceededException extends SaiRdfException {
+
+    /**
+     * Limits that can be exceeded while parsing
+     */
+    public enum Limit { INPUT_BYTES, TRIPLES, LITERAL_LENGTH, DEADLINE, PENDING_TRIPLES }
+
+    private final Limit limit;
+
+    public SaiRdfLimitExceededException(Limit limit, String message) {
+        super(message);
+        this.limit = limit;
+    }
+
+    /**
+     * @return Limit that was exceeded
+     */
+    public Limit getLimit() {
+        return limit;
+    }
+}
@@ -7,4 +7,13 @@ public class SaiRdfNotFoundException extends Exception {
     public SaiRdfNotFoundException(String message) {
         super(message);
     }
+
+    /**
+     * Skips capturing the stack trace when stackless exceptions are enabled through
+     * {@link RdfUtils#setStacklessExceptions(boolean)}
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return RdfUtils.isStacklessExceptions() ? this : super.fillInStackTrace();
+    }
 }
@@ -0,0 +1,19 @@
+package com.janeirodigital.sai.rdfutils;
+
+import java.util.Objects;
+
+/**
+ * Wraps a {@link SaiRdfException} with an unchecked exception, for use where checked
+ * exceptions can't be thrown, such as the lazy streams returned by
+ * {@link RdfUtils#streamUriObjects} and {@link RdfUtils#streamStringObjects}
+ */
+public class UncheckedSaiRdfException extends RuntimeException {
+    public UncheckedSaiRdfException(SaiRdfException cause) {
+        super(Objects.requireNonNull(cause).getMessage(), cause);
+    }
+
+    @Override
+    public synchronized SaiRdfException getCause() {
+        return (SaiRdfException) super.getCause();
+    }
+}
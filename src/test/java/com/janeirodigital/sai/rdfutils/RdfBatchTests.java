@@ -0,0 +1,79 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.rdf.model.Model;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.janeirodigital.sai.rdfutils.RdfUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RdfBatchTests {
+
+    @Test
+    @DisplayName("Parse a batch of documents in input order")
+    void checkParseBatch() throws SaiRdfException {
+        List<RdfSource> sources = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            URI uri = URI.create("https://data.example/resource/" + i);
+            sources.add(new RdfSource(uri, "<" + uri + "> <https://vocab.example/index> " + i + " .", TEXT_TURTLE));
+        }
+        List<RdfBatchResult<Model>> results = getModelsFromStrings(sources);
+        assertEquals(50, results.size());
+        for (int i = 0; i < 50; i++) {
+            Model model = results.get(i).get();
+            assertEquals(1, model.size());
+            assertEquals(i, model.listObjects().next().asLiteral().getInt());
+        }
+    }
+
+    @Test
+    @DisplayName("Report per-item failures without failing the batch")
+    void checkParseBatchWithFailures() throws SaiRdfException {
+        URI uri = URI.create("https://data.example/resource");
+        List<RdfSource> sources = List.of(new RdfSource(uri, "<#a> <#b> <#c> .", TEXT_TURTLE),
+                                          new RdfSource(uri, "PRE x: <y> .", TEXT_TURTLE));
+        List<RdfBatchResult<Model>> results = getModelsFromStrings(sources);
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(1, results.get(0).get().size());
+        assertFalse(results.get(1).isSuccess());
+        assertNull(results.get(1).getValue());
+        assertNotNull(results.get(1).getException());
+        assertThrows(SaiRdfException.class, () -> results.get(1).get());
+    }
+
+    @Test
+    @DisplayName("Parse a batch on a provided executor with options")
+    void checkParseBatchWithExecutor() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            URI uri = URI.create("https://data.example/resource");
+            List<RdfSource> sources = List.of(new RdfSource(uri, "<#a> <#b> <#c> .", TEXT_TURTLE),
+                                              new RdfSource(uri, "<#a> <#b> <#c> . <#a> <#b> <#d> .", TEXT_TURTLE));
+            RdfParseOptions options = RdfParseOptions.builder().maxTriples(1).build();
+            List<RdfBatchResult<Model>> results = RdfBatch.parse(sources, options, executor, 2);
+            assertTrue(results.get(0).isSuccess());
+            assertInstanceOf(SaiRdfLimitExceededException.class, results.get(1).getException());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Parse an empty batch")
+    void checkParseEmptyBatch() {
+        assertTrue(getModelsFromStrings(List.of()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Fail to parse a batch with invalid parallelism")
+    void failToParseInvalidParallelism() {
+        assertThrows(IllegalArgumentException.class, () -> RdfBatch.parse(List.of(), RdfParseOptions.UNBOUNDED, Runnable::run, 0));
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.shared.AddDeniedException;
+import org.apache.jena.shared.DeleteDeniedException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+
+import static com.janeirodigital.sai.rdfutils.RdfUtils.*;
+import static com.janeirodigital.sai.rdfutils.TestableVocabulary.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RdfCompactGraphTests {
+
+    private static URI resourceUri;
+    private static Model sourceModel;
+
+    @BeforeAll
+    static void beforeAll() throws SaiRdfException, IOException {
+        resourceUri = URI.create("https://data.example/resource#project");
+        sourceModel = getModelFromFile(resourceUri, "rdf-resource.ttl", TEXT_TURTLE);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    @DisplayName("Build a compact model isomorphic to its source")
+    void checkCompactModelIsomorphic(boolean offHeap) {
+        Model compact = getCompactModel(sourceModel, offHeap);
+        assertEquals(sourceModel.size(), compact.size());
+        assertTrue(compact.isIsomorphicWith(sourceModel));
+        assertEquals(offHeap, ((RdfCompactGraph) compact.getGraph()).isOffHeap());
+    }
+
+    @Test
+    @DisplayName("Read values from a compact model through accessors")
+    void checkCompactModelAccessors() throws SaiRdfException {
+        Resource resource = getResourceFromModel(getCompactModel(sourceModel), resourceUri);
+        assertEquals("Great Validations", getStringObject(resource, TESTABLE_NAME));
+        assertEquals(6, getIntegerObject(resource, TESTABLE_ID));
+        assertEquals(3, getUriObjects(resource, TESTABLE_HAS_TAG).size());
+        assertNull(getObject(resource, TESTABLE_MISSING));
+    }
+
+    @Test
+    @DisplayName("Match every triple pattern against a compact graph")
+    void checkCompactGraphPatterns() {
+        RdfCompactGraph compact = RdfCompactGraph.of(sourceModel.getGraph());
+        List<Triple> triples = sourceModel.getGraph().find().toList();
+        for (Triple triple : triples) {
+            Node s = triple.getSubject(), p = triple.getPredicate(), o = triple.getObject();
+            Node[][] patterns = {
+                    { s, p, o }, { s, p, Node.ANY }, { s, Node.ANY, o }, { s, Node.ANY, Node.ANY },
+                    { Node.ANY, p, o }, { Node.ANY, p, Node.ANY }, { Node.ANY, Node.ANY, o }
+            };
+            for (Node[] pattern : patterns) {
+                assertEquals(sourceModel.getGraph().find(pattern[0], pattern[1], pattern[2]).toSet(),
+                             compact.find(pattern[0], pattern[1], pattern[2]).toSet());
+            }
+        }
+        assertFalse(compact.contains(NodeFactory.createURI("https://data.example/missing"), Node.ANY, Node.ANY));
+    }
+
+    @Test
+    @DisplayName("Fail to modify a compact model")
+    void failToModifyCompactModel() {
+        Model compact = getCompactModel(sourceModel);
+        Resource resource = getResourceFromModel(compact, resourceUri);
+        assertThrows(AddDeniedException.class, () -> resource.addProperty(TESTABLE_NAME, "Other"));
+        assertThrows(DeleteDeniedException.class, () -> resource.removeAll(TESTABLE_NAME));
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.riot.Lang;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.janeirodigital.sai.rdfutils.RdfUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RdfCompressionTests {
+
+    private static URI resourceUri;
+    private static Model model;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    static void beforeAll() throws SaiRdfException, IOException {
+        resourceUri = URI.create("https://data.example/resource#project");
+        model = getModelFromFile(resourceUri, "rdf-resource.ttl", TEXT_TURTLE);
+    }
+
+    @Test
+    @DisplayName("Write and read a gzip compressed file")
+    void checkCompressedFile() throws SaiRdfException, IOException {
+        String path = tempDir.resolve("resource.ttl.gz").toString();
+        writeRdfModelToFile(model, path, RdfWriteOptions.DEFAULT);
+        try (InputStream in = Files.newInputStream(Path.of(path))) {
+            assertTrue(RdfCompression.isGzip(new BufferedInputStream(in)));
+        }
+        assertTrue(getModelFromFile(resourceUri, path).isIsomorphicWith(model));
+    }
+
+    @Test
+    @DisplayName("Detect gzip compressed content regardless of file name")
+    void checkCompressedContentWithoutExtension() throws SaiRdfException, IOException {
+        Path path = tempDir.resolve("resource.nt");
+        try (OutputStream out = RdfCompression.compress(Files.newOutputStream(path))) {
+            writeRdfModelToStream(model, out, Lang.NTRIPLES, RdfWriteOptions.DEFAULT);
+        }
+        assertTrue(getModelFromFile(resourceUri, path.toString()).isIsomorphicWith(model));
+        assertTrue(getModelFromFile(resourceUri, path.toString(), N_TRIPLES, RdfParseOptions.UNBOUNDED).isIsomorphicWith(model));
+    }
+
+    @Test
+    @DisplayName("Write and read an uncompressed file")
+    void checkUncompressedFile() throws SaiRdfException, IOException {
+        String path = tempDir.resolve("resource.jsonld").toString();
+        writeRdfModelToFile(model, path, RdfWriteOptions.DEFAULT);
+        assertTrue(getModelFromFile(resourceUri, path).isIsomorphicWith(model));
+    }
+
+    @Test
+    @DisplayName("Read compressed and uncompressed streams")
+    void checkStreams() throws SaiRdfException, IOException {
+        byte[] turtle = getStringFromRdfModel(model, Lang.TURTLE).getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream out = RdfCompression.compress(compressed)) { out.write(turtle); }
+        Model plain = getModelFromStream(resourceUri, new ByteArrayInputStream(turtle), TEXT_TURTLE, RdfParseOptions.UNBOUNDED);
+        Model inflated = getModelFromStream(resourceUri, new ByteArrayInputStream(compressed.toByteArray()), TEXT_TURTLE, RdfParseOptions.UNBOUNDED);
+        assertTrue(plain.isIsomorphicWith(model));
+        assertTrue(inflated.isIsomorphicWith(model));
+    }
+
+    @Test
+    @DisplayName("Apply input limits to inflated content")
+    void failToReadOversizedCompressedStream() throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream out = RdfCompression.compress(compressed)) { out.write(getStringFromRdfModel(model, Lang.TURTLE).getBytes(StandardCharsets.UTF_8)); }
+        RdfParseOptions options = RdfParseOptions.builder().maxInputBytes(compressed.size()).build();
+        assertThrows(SaiRdfLimitExceededException.class, () -> getModelFromStream(resourceUri, new ByteArrayInputStream(compressed.toByteArray()), TEXT_TURTLE, options));
+    }
+
+    @Test
+    @DisplayName("Determine content type from file names")
+    void checkContentTypeForFileName() {
+        assertEquals(TEXT_TURTLE, getContentTypeForFileName("data/seed.ttl.gz"));
+        assertEquals(TEXT_TURTLE, getContentTypeForFileName("seed.TTL"));
+        assertEquals(LD_JSON, getContentTypeForFileName("seed.jsonld"));
+        assertEquals(RDF_XML, getContentTypeForFileName("seed.rdf.gz"));
+        assertEquals(N_TRIPLES, getContentTypeForFileName("seed.nt"));
+        assertNull(getContentTypeForFileName("seed.txt.gz"));
+        assertEquals("seed.ttl", RdfCompression.stripGzipExtension("seed.ttl.gz"));
+    }
+
+    @Test
+    @DisplayName("Fail to read or write a file with an unknown content type")
+    void failToInferContentType() {
+        assertThrows(SaiRdfException.class, () -> getModelFromFile(resourceUri, "seed.txt"));
+        assertThrows(SaiRdfException.class, () -> writeRdfModelToFile(model, tempDir.resolve("seed.txt").toString(), RdfWriteOptions.DEFAULT));
+    }
+
+}
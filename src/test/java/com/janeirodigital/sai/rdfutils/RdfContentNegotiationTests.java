@@ -0,0 +1,83 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.riot.Lang;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.janeirodigital.sai.rdfutils.RdfContentNegotiation.*;
+import static com.janeirodigital.sai.rdfutils.RdfUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RdfContentNegotiationTests {
+
+    @Test
+    @DisplayName("Determine language for content types with parameters")
+    void checkLangForContentTypeWithParameters() {
+        assertEquals(Lang.TURTLE, getLangForContentType("text/turtle; charset=utf-8"));
+        assertEquals(Lang.JSONLD11, getLangForContentType("application/ld+json; profile=\"" + JSON_LD_COMPACTED + "\""));
+        assertEquals(Lang.NTRIPLES, getLangForContentType("Application/N-Triples"));
+        assertEquals(Lang.RDFXML, getLangForContentType("application/rdf+xml;charset=UTF-8"));
+        assertEquals(Lang.TURTLE, getLangForContentType("text/plain"));
+    }
+
+    @Test
+    @DisplayName("Select the most acceptable content type")
+    void checkNegotiate() {
+        assertEquals(TEXT_TURTLE, getContentTypeForAccept("text/turtle").getEssence());
+        assertEquals(TEXT_TURTLE, getContentTypeForAccept("application/ld+json;q=0.5, text/turtle").getEssence());
+        assertEquals(RDF_XML, getContentTypeForAccept("application/rdf+xml, text/html;q=0.9").getEssence());
+        assertNull(getContentTypeForAccept("text/html, image/*"));
+    }
+
+    @Test
+    @DisplayName("Prefer cheaper content types when equally acceptable")
+    void checkNegotiateByCost() {
+        assertEquals(N_TRIPLES, getContentTypeForAccept("*/*").getEssence());
+        assertEquals(N_TRIPLES, getContentTypeForAccept(null).getEssence());
+        assertEquals(N_TRIPLES, getContentTypeForAccept("text/turtle, application/n-triples").getEssence());
+        RdfMediaType jsonLd = getContentTypeForAccept("application/ld+json");
+        assertEquals(JSON_LD_EXPANDED, jsonLd.getParameter("profile"));
+    }
+
+    @Test
+    @DisplayName("Honor JSON-LD profiles and exclusions")
+    void checkNegotiateProfiles() {
+        RdfMediaType compacted = getContentTypeForAccept("application/ld+json; profile=\"" + JSON_LD_COMPACTED + "\"");
+        assertEquals(JSON_LD_COMPACTED, compacted.getParameter("profile"));
+        assertEquals(TEXT_TURTLE, getContentTypeForAccept("*/*, application/n-triples;q=0").getEssence());
+        RdfMediaType excluded = getContentTypeForAccept("application/ld+json, application/ld+json;profile=\"" + JSON_LD_EXPANDED + "\";q=0");
+        assertEquals(JSON_LD_COMPACTED, excluded.getParameter("profile"));
+    }
+
+    @Test
+    @DisplayName("Ignore parameters that offers don't declare")
+    void checkNegotiateIgnoresUndeclaredParameters() throws SaiRdfException {
+        assertEquals(TEXT_TURTLE, getContentTypeForAccept("text/turtle; charset=utf-8").getEssence());
+        RdfMediaType compacted = getContentTypeForAccept("application/ld+json; charset=utf-8; profile=\"" + JSON_LD_COMPACTED + "\"");
+        assertEquals(JSON_LD_COMPACTED, compacted.getParameter("profile"));
+        List<RdfMediaType> offers = List.of(RdfMediaType.of(TEXT_TURTLE, "charset", "utf-8"));
+        assertNull(negotiate("text/turtle; charset=iso-8859-1", offers));
+    }
+
+    @Test
+    @DisplayName("Select among custom offers")
+    void checkNegotiateCustomOffers() throws SaiRdfException {
+        List<RdfMediaType> offers = List.of(RdfMediaType.of(TEXT_TURTLE), RdfMediaType.of(LD_JSON));
+        assertEquals(TEXT_TURTLE, negotiate("*/*", offers).getEssence());
+        assertEquals(LD_JSON, negotiate("application/*", offers).getEssence());
+        assertNull(negotiate("*/*", List.of()));
+        assertEquals(TEXT_TURTLE, negotiate(" ", offers).getEssence());
+    }
+
+    @Test
+    @DisplayName("Return memoized results for repeated Accept headers")
+    void checkNegotiateMemoized() {
+        String accept = "text/turtle;q=0.8, application/ld+json";
+        assertSame(getContentTypeForAccept(accept), getContentTypeForAccept(accept));
+        assertNull(getContentTypeForAccept("text/html"));
+        assertNull(getContentTypeForAccept("text/html"));
+    }
+
+}
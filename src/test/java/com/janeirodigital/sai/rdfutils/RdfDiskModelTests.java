@@ -0,0 +1,200 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.ResourceFactory;
+import org.apache.jena.riot.Lang;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static com.janeirodigital.sai.rdfutils.RdfUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RdfDiskModelTests {
+
+    private static final Property NAME = ResourceFactory.createProperty("http://testable.example/ns/testable#name");
+    private static final Property HAS_TAG = ResourceFactory.createProperty("http://testable.example/ns/testable#hasTag");
+    private static URI resourceUri;
+    private static Model expected;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    static void beforeAll() throws SaiRdfException, IOException {
+        resourceUri = URI.create("https://data.example/resource#project");
+        expected = getModelFromFile(resourceUri, "rdf-resource.ttl", TEXT_TURTLE);
+    }
+
+    @Test
+    @DisplayName("Load a file into a disk-backed model and read it")
+    void checkLoadAndRead() throws SaiRdfException, SaiRdfNotFoundException, IOException {
+        Path source = writeSource("resource.ttl");
+        try (RdfDiskModel disk = getDiskModelFromFile(tempDir.resolve("db"), resourceUri, source.toString(), TEXT_TURTLE)) {
+            assertTrue(disk.isLoaded());
+            long size = disk.read(Model::size);
+            assertEquals(expected.size(), size);
+            assertEquals("Great Validations", disk.read(model -> getStringObject(getResourceFromModel(model, resourceUri), NAME)));
+            List<URI> tags = disk.read(model -> getUriObjects(getResourceFromModel(model, resourceUri), HAS_TAG));
+            assertEquals(3, tags.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Reuse loaded data while the source is unchanged")
+    void checkReuseLocation() throws SaiRdfException, SaiRdfNotFoundException, IOException {
+        Path source = writeSource("resource.ttl");
+        Path location = tempDir.resolve("db");
+        try (RdfDiskModel disk = RdfDiskModel.load(location, resourceUri, source.toString(), TEXT_TURTLE)) {
+            disk.write(model -> updateObject(getResourceFromModel(model, resourceUri), NAME, "Renamed"));
+        }
+        try (RdfDiskModel disk = RdfDiskModel.load(location, resourceUri, source.toString(), TEXT_TURTLE)) {
+            assertFalse(disk.isLoaded());
+            assertEquals("Renamed", disk.read(model -> getStringObject(getResourceFromModel(model, resourceUri), NAME)));
+        }
+    }
+
+    @Test
+    @DisplayName("Reload data when the source changed")
+    void checkReloadChangedSource() throws SaiRdfException, SaiRdfNotFoundException, IOException {
+        Path source = writeSource("resource.ttl");
+        Path location = tempDir.resolve("db");
+        try (RdfDiskModel disk = RdfDiskModel.load(location, resourceUri, source.toString(), TEXT_TURTLE)) {
+            disk.write(model -> updateObject(getResourceFromModel(model, resourceUri), NAME, "Renamed"));
+        }
+        Files.setLastModifiedTime(source, FileTime.fromMillis(Files.getLastModifiedTime(source).toMillis() + 60000));
+        try (RdfDiskModel disk = RdfDiskModel.load(location, resourceUri, source.toString(), TEXT_TURTLE)) {
+            assertTrue(disk.isLoaded());
+            long size = disk.read(Model::size);
+            assertEquals(expected.size(), size);
+        }
+    }
+
+    @Test
+    @DisplayName("Replace the database instead of growing it when reloading a changed source")
+    void checkReloadReplacesStorage() throws SaiRdfException, IOException {
+        Path source = writeSource("resource.ttl");
+        Path location = tempDir.resolve("db");
+        RdfDiskModel.load(location, resourceUri, source.toString(), TEXT_TURTLE).close();
+        long size = sizeOf(location);
+        for (int i = 1; i <= 3; i++) {
+            Files.setLastModifiedTime(source, FileTime.fromMillis(Files.getLastModifiedTime(source).toMillis() + 60000));
+            try (RdfDiskModel disk = RdfDiskModel.load(location, resourceUri, source.toString(), TEXT_TURTLE)) {
+                assertTrue(disk.isLoaded());
+            }
+            assertEquals(size, sizeOf(location));
+        }
+    }
+
+    @Test
+    @DisplayName("Keep a database open while another handle on it is open")
+    void checkCloseSharedLocation() throws SaiRdfException, SaiRdfNotFoundException, IOException {
+        Path source = writeSource("resource.ttl");
+        Path location = tempDir.resolve("db");
+        try (RdfDiskModel disk = RdfDiskModel.load(location, resourceUri, source.toString(), TEXT_TURTLE)) {
+            RdfDiskModel other = RdfDiskModel.open(location);
+            other.close();
+            other.close();
+            long size = disk.read(Model::size);
+            assertEquals(expected.size(), size);
+        }
+    }
+
+    @Test
+    @DisplayName("Fail to reload a changed source while its database is open")
+    void failToReloadOpenLocation() throws SaiRdfException, SaiRdfNotFoundException, IOException {
+        Path source = writeSource("resource.ttl");
+        Path location = tempDir.resolve("db");
+        try (RdfDiskModel disk = RdfDiskModel.load(location, resourceUri, source.toString(), TEXT_TURTLE)) {
+            Files.setLastModifiedTime(source, FileTime.fromMillis(Files.getLastModifiedTime(source).toMillis() + 60000));
+            assertThrows(IOException.class, () -> RdfDiskModel.load(location, resourceUri, source.toString(), TEXT_TURTLE));
+            long size = disk.read(Model::size);
+            assertEquals(expected.size(), size);
+        }
+    }
+
+    @Test
+    @DisplayName("Load a gzip compressed file")
+    void checkLoadCompressed() throws SaiRdfException, SaiRdfNotFoundException, IOException {
+        Path source = tempDir.resolve("resource.ttl.gz");
+        writeRdfModelToFile(expected, source.toString(), RdfWriteOptions.DEFAULT);
+        try (RdfDiskModel disk = RdfDiskModel.load(tempDir.resolve("db"), resourceUri, source.toString(), TEXT_TURTLE)) {
+            long size = disk.read(Model::size);
+            assertEquals(expected.size(), size);
+        }
+    }
+
+    @Test
+    @DisplayName("Abort a write transaction that fails")
+    void checkAbortFailedWrite() throws SaiRdfException, SaiRdfNotFoundException, IOException {
+        Path source = writeSource("resource.ttl");
+        try (RdfDiskModel disk = RdfDiskModel.load(tempDir.resolve("db"), resourceUri, source.toString(), TEXT_TURTLE)) {
+            assertThrows(SaiRdfException.class, () -> disk.write(model -> {
+                updateObject(getResourceFromModel(model, resourceUri), NAME, "Renamed");
+                throw new SaiRdfException("Failed");
+            }));
+            assertEquals("Great Validations", disk.read(model -> getStringObject(getResourceFromModel(model, resourceUri), NAME)));
+        }
+    }
+
+    @Test
+    @DisplayName("Fail to load invalid input")
+    void failToLoadInvalidInput() throws IOException {
+        Path source = tempDir.resolve("invalid.ttl");
+        Files.writeString(source, "PRE x: <y> .");
+        assertThrows(SaiRdfException.class, () -> RdfDiskModel.load(tempDir.resolve("db"), resourceUri, source.toString(), TEXT_TURTLE).close());
+    }
+
+    @Test
+    @DisplayName("Release the database after failing to load corrupt compressed input")
+    void failToLoadCorruptCompressedInput() throws Exception {
+        Path source = tempDir.resolve("corrupt.ttl");
+        Files.write(source, new byte[] { (byte) 0x1f, (byte) 0x8b, 0x7f, 0x00, 0x01, 0x02, 0x03, 0x04 });
+        Path location = tempDir.resolve("db");
+        assertThrows(SaiRdfException.class, () -> RdfDiskModel.load(location, resourceUri, source.toString(), TEXT_TURTLE));
+        CompletableFuture<Long> written = CompletableFuture.supplyAsync(() -> {
+            try (RdfDiskModel disk = RdfDiskModel.open(location)) {
+                disk.write(model -> updateObject(model.createResource(resourceUri.toString()), NAME, "Written"));
+                return disk.read(Model::size);
+            } catch (SaiRdfException | SaiRdfNotFoundException ex) {
+                throw new CompletionException(ex);
+            }
+        });
+        assertEquals(1L, written.get(30, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Open an empty database")
+    void checkOpenEmpty() throws SaiRdfException, SaiRdfNotFoundException {
+        try (RdfDiskModel disk = RdfDiskModel.open(tempDir.resolve("empty"))) {
+            assertFalse(disk.isLoaded());
+            assertEquals(0L, (long) disk.read(Model::size));
+        }
+    }
+
+    private static long sizeOf(Path location) throws IOException {
+        try (Stream<Path> walk = Files.walk(location)) {
+            return walk.filter(Files::isRegularFile).mapToLong(path -> path.toFile().length()).sum();
+        }
+    }
+
+    private Path writeSource(String name) throws IOException {
+        Path source = tempDir.resolve(name);
+        Files.writeString(source, getStringFromRdfModel(expected, Lang.TURTLE));
+        return source;
+    }
+
+}
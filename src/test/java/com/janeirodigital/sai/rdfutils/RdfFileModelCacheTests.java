@@ -0,0 +1,148 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.shared.AddDeniedException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.janeirodigital.sai.rdfutils.RdfUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RdfFileModelCacheTests {
+
+    private static final URI BASE_URI = URI.create("https://data.example/config");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Return the cached model for an unchanged file")
+    void checkCachedModel() throws SaiRdfException, IOException {
+        Path file = writeFile("config.ttl", "<#a> <#b> <#c> .");
+        try (RdfFileModelCache cache = new RdfFileModelCache(false)) {
+            Model first = cache.get(BASE_URI, file.toString(), TEXT_TURTLE);
+            assertSame(first, cache.get(BASE_URI, file.toString(), TEXT_TURTLE));
+            assertEquals(1, first.size());
+            assertEquals(1, cache.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Reload a file whose size or modification time changed")
+    void checkReloadChangedFile() throws SaiRdfException, IOException {
+        Path file = writeFile("config.ttl", "<#a> <#b> <#c> .");
+        try (RdfFileModelCache cache = new RdfFileModelCache(false)) {
+            Model first = cache.get(BASE_URI, file.toString(), TEXT_TURTLE);
+            Files.writeString(file, "<#a> <#b> <#c> . <#a> <#b> <#d> .");
+            Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 60000));
+            Model second = cache.get(BASE_URI, file.toString(), TEXT_TURTLE);
+            assertNotSame(first, second);
+            assertEquals(2, second.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Evict a model when the watch service reports a change")
+    void checkWatchInvalidation() throws SaiRdfException, IOException, InterruptedException {
+        Path file = writeFile("config.ttl", "<#a> <#b> <#c> .");
+        try (RdfFileModelCache cache = new RdfFileModelCache()) {
+            cache.get(BASE_URI, file.toString(), TEXT_TURTLE);
+            assertEquals(1, cache.size());
+            Files.writeString(file, "<#a> <#b> <#d> .");
+            long deadline = System.currentTimeMillis() + 20000;
+            while (cache.size() > 0 && System.currentTimeMillis() < deadline) { Thread.sleep(50); }
+            assertEquals(0, cache.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Load a file once for concurrent callers")
+    void checkSingleFlight() throws Exception {
+        Path file = writeFile("config.ttl", "<#a> <#b> <#c> .");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try (RdfFileModelCache cache = new RdfFileModelCache(false)) {
+            List<Future<Model>> futures = new ArrayList<>();
+            for (int i = 0; i < 32; i++) { futures.add(executor.submit(() -> cache.get(BASE_URI, file.toString(), TEXT_TURTLE))); }
+            Model first = futures.get(0).get();
+            for (Future<Model> future : futures) { assertSame(first, future.get()); }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Return read-only cached models")
+    void checkReadOnly() throws SaiRdfException, IOException {
+        Path file = writeFile("config.ttl", "<#a> <#b> <#c> .");
+        Model model = getCachedModelFromFile(BASE_URI, file.toString(), TEXT_TURTLE);
+        assertThrows(AddDeniedException.class, () -> model.add(model.createResource("urn:a"), model.createProperty("urn:b"), "c"));
+        assertEquals(1, forkModel(model).getModel().size());
+    }
+
+    @Test
+    @DisplayName("Invalidate cached models explicitly")
+    void checkInvalidate() throws SaiRdfException, IOException {
+        Path file = writeFile("config.ttl", "<#a> <#b> <#c> .");
+        try (RdfFileModelCache cache = new RdfFileModelCache(false)) {
+            Model first = cache.get(BASE_URI, file.toString(), TEXT_TURTLE);
+            cache.invalidate(file.toString());
+            assertEquals(0, cache.size());
+            assertNotSame(first, cache.get(BASE_URI, file.toString(), TEXT_TURTLE));
+            cache.invalidateAll();
+            assertEquals(0, cache.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Fail to load an invalid file without caching the failure")
+    void failToLoadInvalidFile() throws IOException {
+        Path file = writeFile("invalid.ttl", "PRE x: <y> .");
+        try (RdfFileModelCache cache = new RdfFileModelCache(false)) {
+            assertThrows(SaiRdfException.class, () -> cache.get(BASE_URI, file.toString(), TEXT_TURTLE));
+            assertEquals(0, cache.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Fail to load a file whose parse throws an error without blocking later callers")
+    void failToLoadFileWithError() throws Exception {
+        // Nesting this deep overflows the stack of the recursive Turtle parser
+        Path file = writeFile("nested.ttl", "<#a> <#b> " + "(".repeat(1000000));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (RdfFileModelCache cache = new RdfFileModelCache(false)) {
+            List<Future<Model>> futures = new ArrayList<>();
+            for (int i = 0; i < 2; i++) { futures.add(executor.submit(() -> cache.get(BASE_URI, file.toString(), TEXT_TURTLE))); }
+            for (Future<Model> future : futures) {
+                ExecutionException ex = assertThrows(ExecutionException.class, () -> future.get(30, TimeUnit.SECONDS));
+                assertInstanceOf(StackOverflowError.class, ex.getCause());
+            }
+            Future<Model> later = executor.submit(() -> cache.get(BASE_URI, file.toString(), TEXT_TURTLE));
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> later.get(30, TimeUnit.SECONDS));
+            assertInstanceOf(StackOverflowError.class, ex.getCause());
+            assertEquals(0, cache.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Path writeFile(String name, String content) throws IOException {
+        Path file = tempDir.resolve(name);
+        Files.writeString(file, content);
+        return file;
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.janeirodigital.sai.rdfutils;
+
+import com.apicatalog.jsonld.document.JsonDocument;
+import com.apicatalog.jsonld.loader.DocumentLoader;
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+import org.apache.jena.rdf.model.Model;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.janeirodigital.sai.rdfutils.RdfUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RdfJsonLdContextTests {
+
+    private static final String CONTEXT = "{ \"@context\": { \"ex\": \"https://vocab.example/\", \"name\": \"ex:name\" } }";
+    private static List<Model> models;
+
+    @BeforeAll
+    static void beforeAll() throws SaiRdfException {
+        models = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            URI uri = URI.create("https://data.example/item/" + i);
+            models.add(getModelFromString(uri, "<" + uri + "> <https://vocab.example/name> \"item " + i + "\" .", TEXT_TURTLE));
+        }
+    }
+
+    @Test
+    @DisplayName("Serialize a batch of models with a shared context")
+    void checkBatchJsonLd() throws SaiRdfException {
+        List<RdfBatchResult<String>> results = getJsonLdStringsFromModels(models, CONTEXT);
+        assertEquals(models.size(), results.size());
+        for (int i = 0; i < models.size(); i++) {
+            JsonObject json = Json.createReader(new StringReader(results.get(i).get())).readObject();
+            assertEquals("item " + i, json.getString("name"));
+            assertEquals("https://data.example/item/" + i, json.getString("@id"));
+            Model parsed = getModelFromString(URI.create("https://data.example/item/" + i), results.get(i).get(), LD_JSON);
+            assertTrue(parsed.isIsomorphicWith(models.get(i)));
+        }
+    }
+
+    @Test
+    @DisplayName("Serialize a batch of models to expanded JSON-LD")
+    void checkBatchExpandedJsonLd() throws SaiRdfException {
+        List<RdfBatchResult<String>> results = getJsonLdStringsFromModels(models, null);
+        JsonArray json = Json.createReader(new StringReader(results.get(3).get())).readArray();
+        assertEquals("https://data.example/item/3", json.getJsonObject(0).getString("@id"));
+    }
+
+    @Test
+    @DisplayName("Serialize a batch of models into a single graph document")
+    void checkBatchJsonLdDocument() throws SaiRdfException {
+        String document = RdfBatch.toJsonLdDocument(models, RdfJsonLdContext.of(CONTEXT));
+        JsonObject json = Json.createReader(new StringReader(document)).readObject();
+        assertTrue(json.containsKey("@context"));
+        assertEquals(models.size(), json.getJsonArray("@graph").size());
+        Model parsed = getModelFromString(URI.create("https://data.example/"), document, LD_JSON);
+        assertEquals(models.size(), parsed.size());
+    }
+
+    @Test
+    @DisplayName("Serialize a batch of models into a single expanded array")
+    void checkBatchExpandedJsonLdDocument() throws SaiRdfException {
+        String document = RdfBatch.toJsonLdDocument(models, null);
+        assertEquals(models.size(), Json.createReader(new StringReader(document)).readArray().size());
+    }
+
+    @Test
+    @DisplayName("Load a remote context only once for many serializations")
+    void checkRemoteContextLoadedOnce() throws SaiRdfException {
+        AtomicInteger loads = new AtomicInteger();
+        DocumentLoader loader = (uri, options) -> {
+            loads.incrementAndGet();
+            JsonDocument document = JsonDocument.of(Json.createReader(new StringReader(CONTEXT)).readObject());
+            document.setDocumentUrl(uri);
+            return document;
+        };
+        RdfJsonLdContext context = new RdfJsonLdContext(buildRemoteJsonLdContext("https://context.example/ctx.jsonld"), loader);
+        assertEquals(List.of(URI.create("https://context.example/ctx.jsonld")), context.getRemoteContexts());
+        List<RdfBatchResult<String>> results = RdfBatch.toJsonLd(models, context);
+        for (RdfBatchResult<String> result : results) { assertTrue(result.get().contains("\"name\"")); }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Reuse the shared instance for the same context")
+    void checkSharedContext() throws SaiRdfException {
+        assertSame(RdfJsonLdContext.of(CONTEXT), RdfJsonLdContext.of(CONTEXT));
+        assertTrue(RdfJsonLdContext.getSharedContexts().contains(RdfJsonLdContext.of(CONTEXT)));
+        assertEquals(CONTEXT, RdfJsonLdContext.of(CONTEXT).getContext());
+    }
+
+    @Test
+    @DisplayName("Bound the shared contexts and clear them")
+    void checkSharedContextsBounded() throws SaiRdfException {
+        RdfJsonLdContext first = RdfJsonLdContext.of(generatedContext(0));
+        for (int i = 1; i <= RdfJsonLdContext.MAX_SHARED_CONTEXTS; i++) { RdfJsonLdContext.of(generatedContext(i)); }
+        assertEquals(RdfJsonLdContext.MAX_SHARED_CONTEXTS, RdfJsonLdContext.getSharedContexts().size());
+        assertFalse(RdfJsonLdContext.getSharedContexts().contains(first));
+        RdfJsonLdContext.clearSharedContexts();
+        assertTrue(RdfJsonLdContext.getSharedContexts().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Serialize a single model with a shared context")
+    void checkSingleJsonLd() throws SaiRdfException {
+        String json = RdfJsonLdContext.of(CONTEXT).compact(models.get(0)).toString();
+        assertTrue(json.contains("\"item 0\""));
+    }
+
+    @Test
+    @DisplayName("Fail to create a context from invalid JSON")
+    void failToCreateInvalidContext() {
+        assertThrows(SaiRdfException.class, () -> new RdfJsonLdContext("{ not json"));
+    }
+
+    @Test
+    @DisplayName("Fail to create a context when a remote context can't be loaded")
+    void failToLoadRemoteContext() {
+        DocumentLoader loader = (uri, options) -> { throw new com.apicatalog.jsonld.JsonLdError(com.apicatalog.jsonld.JsonLdErrorCode.LOADING_REMOTE_CONTEXT_FAILED); };
+        assertThrows(SaiRdfException.class, () -> new RdfJsonLdContext(buildRemoteJsonLdContext("https://context.example/missing"), loader));
+    }
+
+    private static String generatedContext(int i) {
+        return "{\"@context\":{\"ex" + i + "\":\"http://example.org/" + i + "#\"}}";
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.janeirodigital.sai.rdfutils;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.shared.PrefixMapping;
+import org.apache.jena.shared.impl.PrefixMappingImpl;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import static com.janeirodigital.sai.rdfutils.RdfUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RdfJsonLdWriterTests {
+
+    private static URI resourceUri;
+    private static Model model;
+
+    @BeforeAll
+    static void beforeAll() throws SaiRdfException, IOException {
+        resourceUri = URI.create("https://data.example/resource#project");
+        model = getModelFromFile(resourceUri, "rdf-resource.ttl", TEXT_TURTLE);
+        model.add(model.createResource("https://data.example/resource#labelled"),
+                  model.createProperty("http://www.w3.org/2000/01/rdf-schema#label"),
+                  model.createLiteral("étiquette", "fr"));
+        model.add(model.createResource(), model.createProperty("http://testable.example/ns/testable#name"), "anonymous");
+    }
+
+    @Test
+    @DisplayName("Write a model as expanded JSON-LD")
+    void checkWriteExpanded() throws SaiRdfException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeJsonLdToStream(model, out, false);
+        String json = out.toString(StandardCharsets.UTF_8);
+        JsonArray nodes = Json.createReader(new StringReader(json)).readArray();
+        assertFalse(nodes.isEmpty());
+        Model parsed = getModelFromString(resourceUri, json, LD_JSON);
+        assertTrue(parsed.isIsomorphicWith(model));
+    }
+
+    @Test
+    @DisplayName("Round-trip compact IRIs for prefixes not ending in a gen-delim")
+    void checkWriteCompactedWithNonDelimitedPrefix() throws SaiRdfException {
+        Model prefixed = ModelFactory.createDefaultModel();
+        prefixed.setNsPrefix("ex", "http://x/ns");
+        prefixed.add(prefixed.createResource("http://x/nsthing"), prefixed.createProperty("http://x/nsname"), "Thing");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeJsonLdToStream(prefixed, out, true);
+        String json = out.toString(StandardCharsets.UTF_8);
+        JsonObject definition = Json.createReader(new StringReader(json)).readObject().getJsonObject("@context").getJsonObject("ex");
+        assertEquals("http://x/ns", definition.getString("@id"));
+        assertTrue(definition.getBoolean("@prefix"));
+        assertTrue(json.contains("ex:name"));
+        Model parsed = getModelFromString(resourceUri, json, LD_JSON);
+        assertTrue(parsed.isIsomorphicWith(prefixed));
+    }
+
+    @Test
+    @DisplayName("Write a model as JSON-LD compacted with its prefixes")
+    void checkWriteCompacted() throws SaiRdfException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeJsonLdToStream(model, out, true);
+        String json = out.toString(StandardCharsets.UTF_8);
+        JsonObject document = Json.createReader(new StringReader(json)).readObject();
+        assertEquals("http://testable.example/ns/testable#", document.getJsonObject("@context").getString("test"));
+        boolean compacted = document.getJsonArray("@graph").stream().anyMatch(node -> node.asJsonObject().containsKey("test:name"));
+        assertTrue(compacted);
+        Model parsed = getModelFromString(resourceUri, json, LD_JSON);
+        assertTrue(parsed.isIsomorphicWith(model));
+    }
+
+    @Test
+    @DisplayName("Write JSON-LD directly from a parser")
+    void checkWriteFromParser() throws SaiRdfException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RdfJsonLdWriter writer = new RdfJsonLdWriter(out, new PrefixMappingImpl());
+        String turtle = getStringFromRdfModel(model, Lang.TURTLE);
+        RDFParser.create().source(new StringReader(turtle)).lang(Lang.TURTLE).base(resourceUri.toString()).parse(writer);
+        assertTrue(writer.getNodeCount() > 0);
+        String json = out.toString(StandardCharsets.UTF_8);
+        assertTrue(Json.createReader(new StringReader(json)).readObject().getJsonObject("@context").containsKey("test"));
+        Model parsed = getModelFromString(resourceUri, json, LD_JSON);
+        assertTrue(parsed.isIsomorphicWith(model));
+    }
+
+    @Test
+    @DisplayName("Write an empty model as JSON-LD")
+    void checkWriteEmpty() {
+        ByteArrayOutputStream expanded = new ByteArrayOutputStream();
+        new RdfJsonLdWriter(expanded).write(ModelFactory.createDefaultModel());
+        assertEquals("[]", expanded.toString(StandardCharsets.UTF_8));
+        ByteArrayOutputStream compacted = new ByteArrayOutputStream();
+        RdfJsonLdWriter writer = new RdfJsonLdWriter(compacted, PrefixMapping.Standard);
+        writer.write(ModelFactory.createDefaultModel());
+        assertEquals(0, writer.getNodeCount());
+        assertTrue(Json.createReader(new StringReader(compacted.toString(StandardCharsets.UTF_8))).readObject().getJsonArray("@graph").isEmpty());
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RdfMediaTypeTests {
+
+    @Test
+    @DisplayName("Parse a media type with parameters")
+    void checkParse() throws SaiRdfException {
+        RdfMediaType mediaType = RdfMediaType.parse("Application/LD+JSON; Profile=\"http://www.w3.org/ns/json-ld#compacted\"; q=0.5");
+        assertEquals("application", mediaType.getType());
+        assertEquals("ld+json", mediaType.getSubtype());
+        assertEquals("application/ld+json", mediaType.getEssence());
+        assertEquals("http://www.w3.org/ns/json-ld#compacted", mediaType.getParameter("PROFILE"));
+        assertEquals(1, mediaType.getParameters().size());
+        assertEquals(0.5, mediaType.getQuality());
+        assertFalse(mediaType.isWildcard());
+    }
+
+    @Test
+    @DisplayName("Parse quoted parameters containing separators")
+    void checkParseQuoted() throws SaiRdfException {
+        RdfMediaType mediaType = RdfMediaType.parse("text/turtle; note=\"a;b, \\\"c\\\"\"");
+        assertEquals("a;b, \"c\"", mediaType.getParameter("note"));
+        assertEquals("text/turtle; note=\"a;b, \\\"c\\\"\"", mediaType.toString());
+        assertEquals(mediaType, RdfMediaType.parse(mediaType.toString()));
+    }
+
+    @Test
+    @DisplayName("Parse the ranges of an Accept header")
+    void checkParseAccept() {
+        List<RdfMediaType> ranges = RdfMediaType.parseAccept("text/turtle;q=0.9, application/ld+json, invalid, */*;q=0.1, *");
+        assertEquals(4, ranges.size());
+        assertEquals("*/*", ranges.get(2).getEssence());
+        assertTrue(ranges.get(3).isWildcard());
+        assertTrue(RdfMediaType.parseAccept(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Match media types against ranges")
+    void checkIncludes() throws SaiRdfException {
+        RdfMediaType compacted = RdfMediaType.of("application/ld+json", "profile", RdfContentNegotiation.JSON_LD_COMPACTED);
+        assertTrue(RdfMediaType.parse("*/*").includes(compacted));
+        assertTrue(RdfMediaType.parse("application/*").includes(compacted));
+        assertTrue(RdfMediaType.parse("application/ld+json").includes(compacted));
+        assertTrue(RdfMediaType.parse("application/ld+json; profile=\"http://www.w3.org/ns/json-ld#flattened http://www.w3.org/ns/json-ld#compacted\"").includes(compacted));
+        assertFalse(RdfMediaType.parse("application/ld+json; profile=\"http://www.w3.org/ns/json-ld#expanded\"").includes(compacted));
+        assertFalse(RdfMediaType.parse("text/*").includes(compacted));
+        assertTrue(RdfMediaType.parse("application/ld+json; charset=utf-8").includes(compacted));
+    }
+
+    @Test
+    @DisplayName("Fail to parse invalid media types")
+    void failToParseInvalid() {
+        assertThrows(SaiRdfException.class, () -> RdfMediaType.parse("turtle"));
+        assertThrows(SaiRdfException.class, () -> RdfMediaType.parse("text/"));
+        assertThrows(SaiRdfException.class, () -> RdfMediaType.parse("*/turtle"));
+        assertThrows(SaiRdfException.class, () -> RdfMediaType.parse("text/turtle; q=2"));
+        assertThrows(SaiRdfException.class, () -> RdfMediaType.parse("text/turtle; q=high"));
+        assertThrows(SaiRdfException.class, () -> RdfMediaType.parse("text/turtle; charset"));
+    }
+
+}
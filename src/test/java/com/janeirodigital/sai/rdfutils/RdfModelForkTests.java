@@ -0,0 +1,124 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.graph.GraphEventManager;
+import org.apache.jena.graph.impl.SimpleEventManager;
+import org.apache.jena.mem.GraphMem;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+
+import static com.janeirodigital.sai.rdfutils.RdfUtils.*;
+import static com.janeirodigital.sai.rdfutils.TestableVocabulary.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RdfModelForkTests {
+
+    private static final URI resourceUri = URI.create("https://data.example/resource#project");
+    private static final List<URI> tags = List.of(URI.create("https://data.example/tags/tag-9"));
+    private Model base;
+    private Model original;
+
+    @BeforeEach
+    void beforeEach() throws SaiRdfException, IOException {
+        base = getModelFromFile(resourceUri, "rdf-resource.ttl", TEXT_TURTLE);
+        original = getModelFromFile(resourceUri, "rdf-resource.ttl", TEXT_TURTLE);
+    }
+
+    @Test
+    @DisplayName("Edit a fork without changing its base")
+    void checkForkIsolatesChanges() throws SaiRdfException {
+        RdfModelFork fork = forkModel(base);
+        assertFalse(fork.hasChanges());
+        Resource resource = getResourceFromModel(fork.getModel(), resourceUri);
+        updateUriObjects(resource, TESTABLE_HAS_TAG, tags);
+        updateObject(resource, TESTABLE_NAME, "Speculative");
+        assertTrue(fork.hasChanges());
+        assertEquals(tags, getUriObjects(resource, TESTABLE_HAS_TAG));
+        assertEquals("Speculative", getStringObject(resource, TESTABLE_NAME));
+        assertEquals(2, fork.getAdditions().size());
+        assertEquals(4, fork.getDeletions().size());
+        assertTrue(base.isIsomorphicWith(original));
+    }
+
+    @Test
+    @DisplayName("Commit fork changes into the base")
+    void checkCommitFork() throws SaiRdfException {
+        RdfModelFork fork = forkModel(base);
+        updateUriObjects(getResourceFromModel(fork.getModel(), resourceUri), TESTABLE_HAS_TAG, tags);
+        fork.commit();
+        assertFalse(fork.hasChanges());
+        assertEquals(tags, getUriObjects(getResourceFromModel(base, resourceUri), TESTABLE_HAS_TAG));
+        assertTrue(fork.getModel().isIsomorphicWith(base));
+    }
+
+    @Test
+    @DisplayName("Discard fork changes")
+    void checkDiscardFork() {
+        RdfModelFork fork = forkModel(base);
+        updateUriObjects(getResourceFromModel(fork.getModel(), resourceUri), TESTABLE_HAS_TAG, tags);
+        fork.discard();
+        assertFalse(fork.hasChanges());
+        assertTrue(fork.getModel().isIsomorphicWith(original));
+        assertTrue(base.isIsomorphicWith(original));
+    }
+
+
+    @Test
+    @DisplayName("Stop listening to the base once forks are committed, discarded or closed")
+    void checkForkReleasesBaseListener() throws SaiRdfException {
+        CountingGraph graph = new CountingGraph();
+        Model counted = ModelFactory.createModelForGraph(graph).add(base);
+        getResourcesOfType(counted, TESTABLE_PROJECT);
+        int listeners = graph.getListenerCount();
+        for (int i = 0; i < 100; i++) {
+            RdfModelFork fork = forkModel(counted);
+            getResourcesOfType(fork.getModel(), TESTABLE_PROJECT);
+            fork.discard();
+        }
+        RdfModelFork committed = forkModel(counted);
+        updateObject(getResourceFromModel(committed.getModel(), resourceUri), TESTABLE_NAME, "Committed");
+        assertTrue(getResourcesOfType(committed.getModel(), TESTABLE_PROJECT).isEmpty());
+        committed.commit();
+        try (RdfModelFork closed = forkModel(counted)) {
+            assertEquals(listeners + 1, graph.getListenerCount());
+            assertEquals("Committed", getStringObject(getResourceFromModel(closed.getModel(), resourceUri), TESTABLE_NAME));
+        }
+        assertEquals(listeners, graph.getListenerCount());
+        Resource resource = getResourceFromModel(counted, resourceUri);
+        updateObject(resource, TESTABLE_NAME, "Changed");
+        resource.addProperty(RDF.type, TESTABLE_PROJECT);
+        assertEquals("Changed", getStringObject(getResourceFromModel(committed.getModel(), resourceUri), TESTABLE_NAME));
+        assertEquals(1, getResourcesOfType(committed.getModel(), TESTABLE_PROJECT).size());
+    }
+
+    /**
+     * In-memory graph exposing the number of registered listeners
+     */
+    private static class CountingGraph extends GraphMem {
+        private final CountingEventManager events = new CountingEventManager();
+
+        @Override
+        public GraphEventManager getEventManager() {
+            return events;
+        }
+
+        int getListenerCount() {
+            return events.getListenerCount();
+        }
+    }
+
+    private static class CountingEventManager extends SimpleEventManager {
+        int getListenerCount() {
+            return listeners.size();
+        }
+    }
+
+}
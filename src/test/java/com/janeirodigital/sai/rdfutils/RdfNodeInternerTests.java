@@ -0,0 +1,144 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static com.janeirodigital.sai.rdfutils.RdfUtils.*;
+import static com.janeirodigital.sai.rdfutils.TestableVocabulary.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RdfNodeInternerTests {
+
+    private static final URI resourceUri = URI.create("https://data.example/resource#project");
+    private RdfNodeInterner interner;
+
+    @BeforeEach
+    void beforeEach() {
+        interner = new RdfNodeInterner();
+        setNodeInterner(interner);
+    }
+
+    @AfterEach
+    void afterEach() {
+        setNodeInterner(null);
+    }
+
+    @Test
+    @DisplayName("Intern equal nodes to one instance")
+    void checkInternNodes() {
+        Node first = interner.intern(NodeFactory.createURI(new String("https://data.example/a")));
+        Node second = interner.intern(NodeFactory.createURI(new String("https://data.example/a")));
+        Node literal = interner.intern(NodeFactory.createLiteral("value"));
+        assertSame(first, second);
+        assertSame(literal, interner.intern(NodeFactory.createLiteral("value")));
+        assertEquals(2, interner.getSize());
+        assertEquals(4, interner.getRequests());
+        assertEquals(2, interner.getHits());
+        assertTrue(interner.getEstimatedBytesSaved() > 0);
+        interner.clear();
+        assertEquals(0, interner.getSize());
+        assertEquals(0, interner.getRequests());
+    }
+
+    @Test
+    @DisplayName("Leave blank nodes un-interned")
+    void checkBlankNodesNotInterned() {
+        Node blank = NodeFactory.createBlankNode();
+        assertSame(blank, interner.intern(blank));
+        assertEquals(0, interner.getRequests());
+    }
+
+    @Test
+    @DisplayName("Share nodes across parsed models")
+    void checkShareNodesAcrossParsedModels() throws SaiRdfException, IOException {
+        Model first = getModelFromFile(resourceUri, "rdf-resource.ttl", TEXT_TURTLE);
+        Model second = getModelFromFile(resourceUri, "rdf-resource.ttl", TEXT_TURTLE);
+        Triple firstName = first.getGraph().find(resourceUri(), TESTABLE_NAME.asNode(), Node.ANY).next();
+        Triple secondName = second.getGraph().find(resourceUri(), TESTABLE_NAME.asNode(), Node.ANY).next();
+        assertSame(firstName.getSubject(), secondName.getSubject());
+        assertSame(firstName.getObject(), secondName.getObject());
+        assertTrue(first.isIsomorphicWith(second));
+    }
+
+    @Test
+    @DisplayName("Share nodes across new and updated resources")
+    void checkShareNodesAcrossUpdates() {
+        Resource first = getNewResourceForType(resourceUri, TESTABLE_PROJECT);
+        Resource second = getNewResourceForType(resourceUri, TESTABLE_PROJECT);
+        updateObject(first, TESTABLE_NAME, "Shared name");
+        updateObject(second, TESTABLE_NAME, "Shared name");
+        Triple firstName = first.getModel().getGraph().find(resourceUri(), TESTABLE_NAME.asNode(), Node.ANY).next();
+        Triple secondName = second.getModel().getGraph().find(resourceUri(), TESTABLE_NAME.asNode(), Node.ANY).next();
+        assertSame(firstName.getSubject(), secondName.getSubject());
+        assertSame(firstName.getPredicate(), secondName.getPredicate());
+        assertSame(firstName.getObject(), secondName.getObject());
+    }
+
+    @Test
+    @DisplayName("Intern nodes from every resource factory and update overload")
+    void checkInternAllFactoryOverloads() {
+        Resource typed = getNewResourceForType(resourceUri, "Project");
+        Resource modelTyped = getNewResourceForType(ModelFactory.createDefaultModel(), resourceUri, "Project");
+        assertSame(objectOf(typed, RDF.type), objectOf(modelTyped, RDF.type));
+        assertSame(interner.intern(NodeFactory.createLiteral("Project")), objectOf(typed, RDF.type));
+        assertSame(interner.intern(RDF.type.asNode()), predicateOf(typed, RDF.type));
+
+        Resource resource = getNewResource(resourceUri);
+        URI uri = URI.create("https://data.example/other");
+        OffsetDateTime dateTime = OffsetDateTime.parse("2021-04-04T20:15:47.000Z");
+        updateObject(resource, TESTABLE_HAS_MILESTONE, uri);
+        updateObject(resource, TESTABLE_CREATED_AT, dateTime);
+        updateObject(resource, TESTABLE_ID, 6);
+        updateObject(resource, TESTABLE_ACTIVE, true);
+        assertSame(interner.intern(NodeFactory.createURI(uri.toString())), objectOf(resource, TESTABLE_HAS_MILESTONE));
+        assertSame(interner.intern(NodeFactory.createLiteralByValue(dateTime, XSDDatatype.XSDdateTime)), objectOf(resource, TESTABLE_CREATED_AT));
+        assertSame(interner.intern(NodeFactory.createLiteralByValue(6, XSDDatatype.XSDinteger)), objectOf(resource, TESTABLE_ID));
+        assertSame(interner.intern(NodeFactory.createLiteralByValue(true, XSDDatatype.XSDboolean)), objectOf(resource, TESTABLE_ACTIVE));
+
+        updateUriObjects(resource, TESTABLE_HAS_MILESTONE, List.of(uri));
+        updateStringObjects(resource, TESTABLE_HAS_TAG, List.of("tag"));
+        assertSame(interner.intern(NodeFactory.createURI(uri.toString())), objectOf(resource, TESTABLE_HAS_MILESTONE));
+        assertSame(interner.intern(NodeFactory.createLiteral("tag")), objectOf(resource, TESTABLE_HAS_TAG));
+    }
+
+    @Test
+    @DisplayName("Intern nodes parsed from strings")
+    void checkInternParsedString() throws SaiRdfException {
+        String turtle = "<" + resourceUri + "> <" + TESTABLE_NAME.getURI() + "> \"Shared name\" .";
+        Model first = getModelFromString(resourceUri, turtle, TEXT_TURTLE);
+        Model second = getModelFromString(resourceUri, turtle, TEXT_TURTLE);
+        Triple firstName = first.getGraph().find(resourceUri(), TESTABLE_NAME.asNode(), Node.ANY).next();
+        Triple secondName = second.getGraph().find(resourceUri(), TESTABLE_NAME.asNode(), Node.ANY).next();
+        assertSame(firstName.getSubject(), secondName.getSubject());
+        assertSame(firstName.getObject(), secondName.getObject());
+    }
+
+    private static Node objectOf(Resource resource, Property property) {
+        return resource.getModel().getGraph().find(resource.asNode(), property.asNode(), Node.ANY).next().getObject();
+    }
+
+    private static Node predicateOf(Resource resource, Property property) {
+        return resource.getModel().getGraph().find(resource.asNode(), property.asNode(), Node.ANY).next().getPredicate();
+    }
+
+    private static Node resourceUri() {
+        return NodeFactory.createURI(resourceUri.toString());
+    }
+
+}
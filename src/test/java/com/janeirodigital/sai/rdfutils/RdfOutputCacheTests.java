@@ -0,0 +1,209 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.graph.compose.MultiUnion;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.sparql.graph.GraphReadOnly;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static com.janeirodigital.sai.rdfutils.RdfUtils.*;
+import static com.janeirodigital.sai.rdfutils.TestableVocabulary.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RdfOutputCacheTests {
+
+    private static final URI RESOURCE_URI = URI.create("https://data.example/resource#project");
+    private Model model;
+    private Resource resource;
+    private RdfOutputCache cache;
+
+    @BeforeEach
+    void beforeEach() throws SaiRdfException, IOException {
+        model = getModelFromFile(RESOURCE_URI, "rdf-resource.ttl", TEXT_TURTLE);
+        resource = getResourceFromModel(model, RESOURCE_URI);
+        cache = new RdfOutputCache();
+    }
+
+    @Test
+    @DisplayName("Return cached output for an unchanged model")
+    void checkCachedOutput() {
+        String first = cache.getString(model, Lang.TURTLE);
+        String second = cache.getString(model, Lang.TURTLE);
+        assertSame(first, second);
+        assertEquals(getStringFromRdfModel(model, Lang.TURTLE), first);
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("Cache output separately per format and write options")
+    void checkCachedOutputPerFormat() {
+        RdfWriteOptions flat = RdfWriteOptions.builder().policy(RdfWritePolicy.FLAT).build();
+        String turtle = cache.getString(model, Lang.TURTLE);
+        String flatTurtle = cache.getString(model, Lang.TURTLE, flat);
+        String triples = cache.getString(model, Lang.NTRIPLES);
+        assertNotEquals(turtle, triples);
+        assertEquals(getStringFromRdfModel(model, Lang.TURTLE, flat), flatTurtle);
+        assertSame(flatTurtle, cache.getString(model, Lang.TURTLE, flat));
+        assertEquals(3, cache.getMisses());
+    }
+
+    @Test
+    @DisplayName("Share cached output between equal write options")
+    void checkCachedOutputForEqualOptions() {
+        String first = cache.getString(model, Lang.TURTLE, RdfWriteOptions.builder().policy(RdfWritePolicy.FLAT).build());
+        String second = cache.getString(model, Lang.TURTLE, RdfWriteOptions.builder().policy(RdfWritePolicy.FLAT).build());
+        assertSame(first, second);
+        assertEquals(1, cache.getOutputCount(model));
+    }
+
+    @Test
+    @DisplayName("Bound cached output per model and drop output of earlier versions")
+    void checkBoundedOutputsPerModel() throws SaiRdfException {
+        for (int i = 0; i < RdfOutputCache.MAX_OUTPUTS_PER_MODEL + 8; i++) {
+            cache.getString(model, Lang.TURTLE, RdfWriteOptions.builder().prettyThreshold(i).build());
+        }
+        assertEquals(RdfOutputCache.MAX_OUTPUTS_PER_MODEL, cache.getOutputCount(model));
+        updateObject(resource, TESTABLE_NAME, "Updated Validations");
+        cache.getString(model, Lang.NTRIPLES);
+        assertEquals(1, cache.getOutputCount(model));
+    }
+
+    @Test
+    @DisplayName("Discard cached output when the model is updated")
+    void checkInvalidateOnUpdate() throws SaiRdfException {
+        String before = cache.getString(model, Lang.TURTLE);
+        updateObject(resource, TESTABLE_NAME, "Updated Validations");
+        String after = cache.getString(model, Lang.TURTLE);
+        assertNotEquals(before, after);
+        assertTrue(after.contains("Updated Validations"));
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    @DisplayName("Discard cached output when the graph is changed directly")
+    void checkInvalidateOnGraphChange() {
+        String before = cache.getString(model, Lang.NTRIPLES);
+        model.getGraph().add(Triple.create(resource.asNode(), TESTABLE_DESCRIPTION.asNode(), NodeFactory.createLiteral("Changed")));
+        String after = cache.getString(model, Lang.NTRIPLES);
+        assertNotEquals(before, after);
+        assertTrue(after.contains("Changed"));
+    }
+
+    @Test
+    @DisplayName("Discard cached output when the prefixes change")
+    void checkInvalidateOnPrefixChange() {
+        String before = cache.getString(model, Lang.TURTLE);
+        model.setNsPrefix("tst", "http://testable.example/ns/testable#");
+        String after = cache.getString(model, Lang.TURTLE);
+        assertNotEquals(before, after);
+        assertTrue(after.contains("tst:"));
+    }
+
+    @Test
+    @DisplayName("Discard cached output for a union view when a source changes")
+    void checkInvalidateUnionView() {
+        Model union = getUnionView(List.of(model)).getModel();
+        String before = cache.getString(union, Lang.NTRIPLES);
+        assertSame(before, cache.getString(union, Lang.NTRIPLES));
+        model.add(resource, TESTABLE_DESCRIPTION, "Changed");
+        String after = cache.getString(union, Lang.NTRIPLES);
+        assertTrue(after.contains("Changed"));
+        assertEquals(getStringFromRdfModel(union, Lang.NTRIPLES), after);
+    }
+
+    @Test
+    @DisplayName("Discard cached output for a fork when its base or overlay changes")
+    void checkInvalidateFork() {
+        RdfModelFork fork = forkModel(model);
+        Model forked = fork.getModel();
+        String before = cache.getString(forked, Lang.NTRIPLES);
+        assertSame(before, cache.getString(forked, Lang.NTRIPLES));
+        model.add(resource, TESTABLE_DESCRIPTION, "Changed");
+        assertTrue(cache.getString(forked, Lang.NTRIPLES).contains("Changed"));
+        forked.add(resource, TESTABLE_DESCRIPTION, "Forked");
+        assertTrue(cache.getString(forked, Lang.NTRIPLES).contains("Forked"));
+        fork.discard();
+        assertFalse(cache.getString(forked, Lang.NTRIPLES).contains("Forked"));
+        model.add(resource, TESTABLE_DESCRIPTION, "Discarded");
+        assertTrue(cache.getString(forked, Lang.NTRIPLES).contains("Discarded"));
+    }
+
+    @Test
+    @DisplayName("Serialize composed graphs that don't report source changes on every read")
+    void checkUncachedComposedGraph() {
+        Model union = ModelFactory.createModelForGraph(new GraphReadOnly(new MultiUnion(new Graph[] { model.getGraph() })));
+        String before = cache.getString(union, Lang.NTRIPLES);
+        model.add(resource, TESTABLE_DESCRIPTION, "Changed");
+        String after = cache.getString(union, Lang.NTRIPLES);
+        assertNotEquals(before, after);
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Return cached JSON-LD for an unchanged model")
+    void checkCachedJsonLd() throws SaiRdfException {
+        String first = cache.getJsonLdString(model, null);
+        assertSame(first, cache.getJsonLdString(model, ""));
+        assertEquals(getJsonLdStringFromModel(model, null), first);
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    @DisplayName("Write cached output as UTF-8 bytes")
+    void checkWriteCachedOutput() throws SaiRdfException, IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cache.write(model, out, Lang.TURTLE, RdfWriteOptions.DEFAULT);
+        cache.write(model, out, Lang.TURTLE, RdfWriteOptions.DEFAULT);
+        String turtle = cache.getString(model, Lang.TURTLE, RdfWriteOptions.DEFAULT);
+        assertEquals(turtle + turtle, out.toString(StandardCharsets.UTF_8));
+        ByteArrayOutputStream jsonLd = new ByteArrayOutputStream();
+        cache.writeJsonLd(model, jsonLd, null);
+        assertEquals(cache.getJsonLdString(model, null), jsonLd.toString(StandardCharsets.UTF_8));
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    @DisplayName("Discard cached output on request")
+    void checkInvalidateAndClear() {
+        cache.getString(model, Lang.TURTLE);
+        cache.invalidate(model);
+        assertEquals(0, cache.size());
+        cache.getString(model, Lang.TURTLE);
+        assertEquals(2, cache.getMisses());
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    @DisplayName("Return cached output from the shared cache")
+    void checkSharedCache() throws SaiRdfException {
+        assertSame(getOutputCache(), getOutputCache());
+        assertSame(getCachedStringFromRdfModel(model, Lang.TURTLE), getCachedStringFromRdfModel(model, Lang.TURTLE));
+        assertSame(getCachedStringFromRdfModel(model, Lang.TURTLE, RdfWriteOptions.DEFAULT), getCachedStringFromRdfModel(model, Lang.TURTLE, RdfWriteOptions.DEFAULT));
+        assertSame(getCachedJsonLdStringFromModel(model, null), getCachedJsonLdStringFromModel(model, null));
+    }
+
+    @Test
+    @DisplayName("Fail to serialize a null model")
+    void failToSerializeNullModel() {
+        assertThrows(NullPointerException.class, () -> cache.getString(null, Lang.TURTLE));
+    }
+
+}
@@ -0,0 +1,179 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.RDFNode;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+
+import static com.janeirodigital.sai.rdfutils.RdfUtils.*;
+import static com.janeirodigital.sai.rdfutils.TestableVocabulary.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RdfParsingTests {
+
+    private static URI resourceUri;
+    private static String resourcePath;
+    private static String resourceBody;
+    private static Model expectedModel;
+
+    @BeforeAll
+    static void beforeAll() throws SaiRdfException, IOException {
+        resourceUri = URI.create("https://data.example/resource#project");
+        resourcePath = "rdf-resource.ttl";
+        expectedModel = getModelFromFile(resourceUri, resourcePath, TEXT_TURTLE);
+        resourceBody = getStringFromRdfModel(expectedModel, org.apache.jena.riot.Lang.TURTLE);
+    }
+
+    @Test
+    @DisplayName("Get RDF model from string within limits")
+    void checkGetModelFromStringWithinLimits() throws SaiRdfException {
+        RdfParseOptions options = RdfParseOptions.builder().maxTriples(expectedModel.size())
+                .maxInputBytes(resourceBody.getBytes(StandardCharsets.UTF_8).length)
+                .maxLiteralLength(100).timeout(Duration.ofMinutes(1)).build();
+        Model model = getModelFromString(resourceUri, resourceBody, TEXT_TURTLE, options);
+        assertTrue(model.isIsomorphicWith(expectedModel));
+    }
+
+    @Test
+    @DisplayName("Get RDF model from file with no limits")
+    void checkGetModelFromFileUnbounded() throws SaiRdfException, IOException {
+        Model model = getModelFromFile(resourceUri, resourcePath, TEXT_TURTLE, RdfParseOptions.UNBOUNDED);
+        assertTrue(model.isIsomorphicWith(expectedModel));
+    }
+
+    @Test
+    @DisplayName("Fail to parse input with too many triples")
+    void failToParseTooManyTriples() {
+        RdfParseOptions options = RdfParseOptions.builder().maxTriples(expectedModel.size() - 1).build();
+        SaiRdfLimitExceededException ex = assertThrows(SaiRdfLimitExceededException.class, () -> getModelFromString(resourceUri, resourceBody, TEXT_TURTLE, options));
+        assertEquals(SaiRdfLimitExceededException.Limit.TRIPLES, ex.getLimit());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { TEXT_TURTLE, RDF_XML, LD_JSON, N_TRIPLES })
+    @DisplayName("Fail to parse input with too many triples in each content type")
+    void failToParseTooManyTriplesPerContentType(String contentType) {
+        String body = getStringFromRdfModel(expectedModel, getLangForContentType(contentType));
+        RdfParseOptions options = RdfParseOptions.builder().maxTriples(1).build();
+        SaiRdfLimitExceededException ex = assertThrows(SaiRdfLimitExceededException.class, () -> getModelFromString(resourceUri, body, contentType, options));
+        assertEquals(SaiRdfLimitExceededException.Limit.TRIPLES, ex.getLimit());
+        InputStream in = new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+        RdfParseOptions bytes = RdfParseOptions.builder().maxInputBytes(16).build();
+        ex = assertThrows(SaiRdfLimitExceededException.class, () -> getModelFromStream(resourceUri, in, contentType, bytes));
+        assertEquals(SaiRdfLimitExceededException.Limit.INPUT_BYTES, ex.getLimit());
+    }
+
+    @Test
+    @DisplayName("Fail to parse a single huge literal past its deadline")
+    void failToParseHugeLiteralPastDeadline() {
+        // Unterminated, so the parser never emits a triple
+        String body = "<#a> <#b> \"" + "x".repeat(4_000_000);
+        RdfParseOptions options = RdfParseOptions.builder().timeout(Duration.ofNanos(1)).build();
+        SaiRdfLimitExceededException ex = assertThrows(SaiRdfLimitExceededException.class, () -> getModelFromString(resourceUri, body, TEXT_TURTLE, options));
+        assertEquals(SaiRdfLimitExceededException.Limit.DEADLINE, ex.getLimit());
+    }
+
+    @Test
+    @DisplayName("Fail to parse string with too many bytes")
+    void failToParseStringTooManyBytes() {
+        RdfParseOptions options = RdfParseOptions.builder().maxInputBytes(100).build();
+        SaiRdfLimitExceededException ex = assertThrows(SaiRdfLimitExceededException.class, () -> getModelFromString(resourceUri, resourceBody, TEXT_TURTLE, options));
+        assertEquals(SaiRdfLimitExceededException.Limit.INPUT_BYTES, ex.getLimit());
+    }
+
+    @Test
+    @DisplayName("Fail to parse file with too many bytes")
+    void failToParseFileTooManyBytes() {
+        RdfParseOptions options = RdfParseOptions.builder().maxInputBytes(100).build();
+        SaiRdfLimitExceededException ex = assertThrows(SaiRdfLimitExceededException.class, () -> getModelFromFile(resourceUri, resourcePath, TEXT_TURTLE, options));
+        assertEquals(SaiRdfLimitExceededException.Limit.INPUT_BYTES, ex.getLimit());
+    }
+
+    @Test
+    @DisplayName("Fail to parse input with an overlong literal")
+    void failToParseLongLiteral() {
+        RdfParseOptions options = RdfParseOptions.builder().maxLiteralLength(10).build();
+        SaiRdfLimitExceededException ex = assertThrows(SaiRdfLimitExceededException.class, () -> getModelFromFile(resourceUri, resourcePath, TEXT_TURTLE, options));
+        assertEquals(SaiRdfLimitExceededException.Limit.LITERAL_LENGTH, ex.getLimit());
+    }
+
+    @Test
+    @DisplayName("Fail to parse input past its deadline")
+    void failToParsePastDeadline() {
+        RdfParseOptions options = RdfParseOptions.builder().timeout(Duration.ZERO).build();
+        SaiRdfLimitExceededException ex = assertThrows(SaiRdfLimitExceededException.class, () -> getModelFromFile(resourceUri, resourcePath, TEXT_TURTLE, options));
+        assertEquals(SaiRdfLimitExceededException.Limit.DEADLINE, ex.getLimit());
+    }
+
+    @Test
+    @DisplayName("Parse only triples for requested subjects")
+    void checkParseFilteredBySubject() throws SaiRdfException {
+        RdfParseOptions options = RdfParseOptions.builder().filter(RdfParseFilter.forSubjects(resourceUri)).build();
+        Model model = getModelFromString(resourceUri, resourceBody, TEXT_TURTLE, options);
+        assertEquals(expectedModel.listStatements(getResourceFromModel(expectedModel, resourceUri), null, (RDFNode) null).toList().size(), model.size());
+        assertEquals("Great Validations", getStringObject(getResourceFromModel(model, resourceUri), TESTABLE_NAME));
+    }
+
+    @Test
+    @DisplayName("Parse only triples for requested predicates")
+    void checkParseFilteredByPredicate() throws SaiRdfException {
+        RdfParseOptions options = RdfParseOptions.builder().filter(RdfParseFilter.forPredicates(TESTABLE_HAS_TAG, TESTABLE_NAME)).build();
+        Model model = getModelFromString(resourceUri, resourceBody, TEXT_TURTLE, options);
+        assertEquals(4, model.size());
+    }
+
+    @Test
+    @DisplayName("Parse only triples for subjects of requested types")
+    void checkParseFilteredByType() throws SaiRdfException {
+        String body = "@prefix test: <http://testable.example/ns/testable#> .\n" +
+                "<#project> test:name \"Project\" ; a test:TestableProject .\n" +
+                "<#milestone> a test:TestableMilestone ; test:name \"Milestone\" .\n" +
+                "<#untyped> test:name \"Untyped\" .";
+        RdfParseOptions options = RdfParseOptions.builder().filter(RdfParseFilter.forTypes(TESTABLE_PROJECT)).build();
+        Model model = getModelFromString(resourceUri, body, TEXT_TURTLE, options);
+        assertEquals(2, model.size());
+        assertEquals("Project", getStringObject(getResourceFromModel(model, resourceUri), TESTABLE_NAME));
+    }
+
+    @Test
+    @DisplayName("Release triples held for subjects once a type that isn't requested arrives")
+    void checkParseFilteredByTypeReleasesBuffer() throws SaiRdfException {
+        StringBuilder body = new StringBuilder("@prefix test: <http://testable.example/ns/testable#> .\n");
+        for (int i = 0; i < 1000; i++) {
+            body.append("<#milestone").append(i).append("> test:name \"Milestone\" ; a test:TestableMilestone ; test:description \"Dropped\" .\n");
+        }
+        body.append("<#project> test:name \"Project\" ; a test:TestableProject .");
+        RdfParseFilter filter = RdfParseFilter.builder().types(Set.of(TESTABLE_PROJECT.asNode())).maxPendingTriples(10).build();
+        Model model = getModelFromString(resourceUri, body.toString(), TEXT_TURTLE, RdfParseOptions.builder().filter(filter).build());
+        assertEquals(2, model.size());
+    }
+
+    @Test
+    @DisplayName("Fail to parse input holding too many triples of untyped subjects")
+    void failToParseTooManyPendingTriples() {
+        StringBuilder body = new StringBuilder("@prefix test: <http://testable.example/ns/testable#> .\n");
+        for (int i = 0; i < 20; i++) { body.append("<#untyped").append(i).append("> test:name \"Untyped\" .\n"); }
+        RdfParseFilter filter = RdfParseFilter.builder().types(Set.of(TESTABLE_PROJECT.asNode())).maxPendingTriples(10).build();
+        RdfParseOptions options = RdfParseOptions.builder().filter(filter).build();
+        SaiRdfLimitExceededException ex = assertThrows(SaiRdfLimitExceededException.class, () -> getModelFromString(resourceUri, body.toString(), TEXT_TURTLE, options));
+        assertEquals(SaiRdfLimitExceededException.Limit.PENDING_TRIPLES, ex.getLimit());
+    }
+
+    @Test
+    @DisplayName("Fail to parse invalid input with options")
+    void failToParseInvalidInput() {
+        assertThrows(SaiRdfException.class, () -> getModelFromString(resourceUri, "PRE x: <y> .", TEXT_TURTLE, RdfParseOptions.UNBOUNDED));
+    }
+
+}
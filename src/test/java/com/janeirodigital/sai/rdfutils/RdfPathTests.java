@@ -0,0 +1,88 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Resource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+
+import static com.janeirodigital.sai.rdfutils.RdfUtils.*;
+import static com.janeirodigital.sai.rdfutils.TestableVocabulary.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RdfPathTests {
+
+    private static final URI projectUri = URI.create("https://data.example/projects#project");
+    private static final URI milestoneUri = URI.create("https://data.example/projects#milestone");
+    private static final URI task1Uri = URI.create("https://data.example/projects#task-1");
+    private static final URI task2Uri = URI.create("https://data.example/projects#task-2");
+    private static final URI task3Uri = URI.create("https://data.example/projects#task-3");
+    private Model model;
+    private Resource project;
+
+    @BeforeEach
+    void beforeEach() {
+        model = ModelFactory.createDefaultModel();
+        project = getNewResourceForType(model, projectUri, TESTABLE_PROJECT);
+        updateObject(project, TESTABLE_HAS_MILESTONE, milestoneUri);
+        updateUriObjects(getNewResource(model, milestoneUri), TESTABLE_HAS_TASK, List.of(task1Uri, task2Uri));
+        updateObject(getNewResource(model, task1Uri), TESTABLE_HAS_TASK, task3Uri);
+    }
+
+    @Test
+    @DisplayName("Follow a sequence path")
+    void checkSequencePath() throws SaiRdfException {
+        RdfPath path = RdfPath.of(TESTABLE_HAS_MILESTONE).then(TESTABLE_HAS_TASK);
+        assertEquals(List.of(task1Uri, task2Uri), path.getUriObjects(project).stream().sorted().toList());
+        assertEquals(2, path.getObjects(project).size());
+        assertNotNull(path.getUriObject(project));
+        assertNull(RdfPath.of(TESTABLE_MISSING).getUriObject(project));
+        assertTrue(RdfPath.of(TESTABLE_MISSING).then(TESTABLE_HAS_TASK).getUriObjects(project).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Follow inverse and one or more paths")
+    void checkInverseAndOneOrMorePaths() throws SaiRdfException {
+        Resource milestone = getResourceFromModel(model, milestoneUri);
+        assertEquals(List.of(projectUri), RdfPath.inverse(TESTABLE_HAS_MILESTONE).getUriObjects(milestone));
+        assertEquals(List.of(task1Uri, task2Uri, task3Uri), RdfPath.oneOrMore(TESTABLE_HAS_TASK).getUriObjects(milestone).stream().sorted().toList());
+        assertEquals(List.of(task1Uri, task2Uri, task3Uri), RdfPath.of(TESTABLE_HAS_MILESTONE).thenOneOrMore(TESTABLE_HAS_TASK).getUriObjects(project).stream().sorted().toList());
+        assertEquals(List.of(milestoneUri), RdfPath.of(TESTABLE_HAS_MILESTONE).thenInverse(TESTABLE_HAS_MILESTONE).then(TESTABLE_HAS_MILESTONE).getUriObjects(project));
+    }
+
+    @Test
+    @DisplayName("Keep memoized paths only for recently used start nodes")
+    void checkMemoizedPathBound() throws SaiRdfException {
+        RdfPath path = RdfPath.of(TESTABLE_HAS_TASK);
+        Resource milestone = getResourceFromModel(model, milestoneUri);
+        path.getUriObjects(milestone);
+        for (int i = 0; i < RdfPath.MAX_MEMOIZED_STARTS + 100; i++) {
+            path.getUriObjects(model.createResource("https://data.example/projects#other-" + i));
+            if (i % 100 == 0) { path.getUriObjects(milestone); }
+        }
+        assertEquals(RdfPath.MAX_MEMOIZED_STARTS, path.getMemoizedCount(model.getGraph()));
+        assertEquals(List.of(task1Uri, task2Uri), path.getUriObjects(milestone).stream().sorted().toList());
+    }
+
+    @Test
+    @DisplayName("Recompute memoized paths when the graph changes")
+    void checkMemoizedPathInvalidation() throws SaiRdfException {
+        RdfPath path = RdfPath.of(TESTABLE_HAS_MILESTONE).then(TESTABLE_HAS_TASK);
+        List<URI> first = path.getUriObjects(project);
+        assertEquals(2, first.size());
+        updateUriObjects(getResourceFromModel(model, milestoneUri), TESTABLE_HAS_TASK, List.of(task3Uri));
+        assertEquals(List.of(task3Uri), path.getUriObjects(project));
+    }
+
+    @Test
+    @DisplayName("Fail to get URIs from a path reaching literals")
+    void failToGetUrisFromLiteralPath() {
+        updateObject(project, TESTABLE_NAME, "Project");
+        assertThrows(SaiRdfException.class, () -> RdfPath.of(TESTABLE_NAME).getUriObjects(project));
+    }
+
+}
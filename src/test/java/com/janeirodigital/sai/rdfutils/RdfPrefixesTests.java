@@ -0,0 +1,142 @@
+package com.janeirodigital.sai.rdfutils;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.shared.PrefixMapping;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.net.URI;
+import java.util.Locale;
+
+import static com.janeirodigital.sai.rdfutils.RdfUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RdfPrefixesTests {
+
+    private static final String INTEROP = "http://www.w3.org/ns/solid/interop#";
+    private static final String TESTABLE = "http://testable.example/ns/testable#";
+    private Model model;
+
+    @BeforeEach
+    void beforeEach() {
+        model = ModelFactory.createDefaultModel();
+        Property registeredBy = model.createProperty(INTEROP + "registeredBy");
+        Property name = model.createProperty(TESTABLE + "name");
+        for (int i = 0; i < 5; i++) {
+            Resource resource = getNewResourceForType(model, URI.create("https://data.example/registry/" + i), model.createResource(INTEROP + "DataRegistration"));
+            resource.addProperty(registeredBy, model.createResource("https://alice.example/id#me"));
+            resource.addProperty(name, "registration " + i);
+        }
+        model.add(model.createResource("https://data.example/other"), model.createProperty("https://once.example/vocab#used"), "once");
+    }
+
+    @Test
+    @DisplayName("Infer prefixes for frequently used namespaces")
+    void checkInferPrefixes() {
+        PrefixMapping prefixes = getInferredPrefixes(model);
+        assertEquals(INTEROP, prefixes.getNsPrefixURI("interop"));
+        assertEquals(RDF.getURI(), prefixes.getNsPrefixURI("rdf"));
+        assertEquals(TESTABLE, prefixes.getNsPrefixURI("testable"));
+        assertEquals("https://data.example/registry/", prefixes.getNsPrefixURI("registry"));
+        assertNull(prefixes.getNsURIPrefix("https://once.example/vocab#"));
+        assertTrue(model.getNsPrefixMap().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Keep declared prefixes and respect inference limits")
+    void checkInferPrefixesWithLimits() {
+        model.setNsPrefix("int", INTEROP);
+        RdfWriteOptions options = RdfWriteOptions.builder().maxInferredPrefixes(1).minPrefixUses(1).build();
+        PrefixMapping prefixes = RdfPrefixes.infer(model, options);
+        assertEquals("int", prefixes.getNsURIPrefix(INTEROP));
+        assertNull(prefixes.getNsPrefixURI("interop"));
+        assertEquals(2, prefixes.numPrefixes());
+    }
+
+    @Test
+    @DisplayName("Name unknown namespaces with generated prefixes")
+    void checkGeneratedPrefixNames() {
+        Model numbered = ModelFactory.createDefaultModel();
+        Property property = numbered.createProperty("https://vocab.example/2021/01#value");
+        numbered.add(numbered.createResource("urn:example:a"), property, "a");
+        numbered.add(numbered.createResource("urn:example:b"), property, "b");
+        PrefixMapping prefixes = getInferredPrefixes(numbered);
+        assertEquals("https://vocab.example/2021/01#", prefixes.getNsPrefixURI("ns1"));
+    }
+
+    @Test
+    @DisplayName("Name namespaces independently of the default locale")
+    void checkPrefixNamesIgnoreLocale() {
+        Model issues = ModelFactory.createDefaultModel();
+        Property property = issues.createProperty("https://vocab.example/ISSUES#value");
+        issues.add(issues.createResource("urn:example:a"), property, "a");
+        issues.add(issues.createResource("urn:example:b"), property, "b");
+        Locale locale = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr"));
+            assertEquals("https://vocab.example/ISSUES#", getInferredPrefixes(issues).getNsPrefixURI("issues"));
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+    @Test
+    @DisplayName("Split IRIs into namespaces")
+    void checkGetNamespace() {
+        assertEquals(INTEROP, RdfPrefixes.getNamespace(INTEROP + "Agent"));
+        assertEquals("https://data.example/a/", RdfPrefixes.getNamespace("https://data.example/a/b"));
+        assertNull(RdfPrefixes.getNamespace("https://data.example/a/"));
+        assertNull(RdfPrefixes.getNamespace("https://data.example"));
+        assertNull(RdfPrefixes.getNamespace("urn:example:a"));
+    }
+
+    @Test
+    @DisplayName("Write Turtle with inferred prefixes")
+    void checkWriteTurtleWithInferredPrefixes() throws SaiRdfException {
+        RdfWriteOptions options = RdfWriteOptions.builder().inferPrefixes(true).build();
+        String plain = getStringFromRdfModel(model, Lang.TURTLE);
+        String prefixed = getStringFromRdfModel(model, Lang.TURTLE, options);
+        assertTrue(prefixed.contains("interop:registeredBy"));
+        assertTrue(prefixed.length() < plain.length());
+        assertTrue(getModelFromString(URI.create("https://data.example/"), prefixed, TEXT_TURTLE).isIsomorphicWith(model));
+        assertTrue(model.getNsPrefixMap().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Write JSON-LD compacted with inferred prefixes")
+    void checkWriteJsonLdWithInferredPrefixes() throws SaiRdfException {
+        RdfWriteOptions options = RdfWriteOptions.builder().inferPrefixes(true).build();
+        String json = getStringFromRdfModel(model, Lang.JSONLD11, options);
+        JsonObject document = Json.createReader(new StringReader(json)).readObject();
+        assertEquals(INTEROP, document.getJsonObject("@context").getString("interop"));
+        assertTrue(getModelFromString(URI.create("https://data.example/"), json, LD_JSON).isIsomorphicWith(model));
+    }
+
+    @Test
+    @DisplayName("Build a JSON-LD context from prefixes")
+    void checkToJsonLdContext() throws SaiRdfException {
+        String context = RdfPrefixes.toJsonLdContext(getInferredPrefixes(model));
+        JsonObject json = Json.createReader(new StringReader(context)).readObject();
+        assertEquals(INTEROP, json.getJsonObject("@context").getString("interop"));
+        assertTrue(RdfJsonLdContext.of(context).compact(model).toString().contains("interop:registeredBy"));
+    }
+
+    @Test
+    @DisplayName("Mark prefixes not ending in a gen-delim in a JSON-LD context")
+    void checkToJsonLdContextWithNonDelimitedPrefix() {
+        String context = RdfPrefixes.toJsonLdContext(PrefixMapping.Factory.create().setNsPrefix("ex", "http://x/ns"));
+        JsonObject definition = Json.createReader(new StringReader(context)).readObject().getJsonObject("@context").getJsonObject("ex");
+        assertEquals("http://x/ns", definition.getString("@id"));
+        assertTrue(definition.getBoolean("@prefix"));
+    }
+
+}
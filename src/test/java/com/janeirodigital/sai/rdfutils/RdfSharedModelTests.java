@@ -0,0 +1,81 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.rdf.model.Model;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.janeirodigital.sai.rdfutils.RdfUtils.*;
+import static com.janeirodigital.sai.rdfutils.TestableVocabulary.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RdfSharedModelTests {
+
+    private static final URI resourceUri = URI.create("https://data.example/resource#project");
+    private Model model;
+
+    @BeforeEach
+    void beforeEach() throws SaiRdfException, IOException {
+        model = getModelFromFile(resourceUri, "rdf-resource.ttl", TEXT_TURTLE);
+    }
+
+    @Test
+    @DisplayName("Read and write through a shared model")
+    void checkReadAndWrite() throws SaiRdfException, SaiRdfNotFoundException {
+        RdfSharedModel shared = new RdfSharedModel(model);
+        assertEquals("Great Validations", shared.read(m -> getRequiredStringObject(getResourceFromModel(m, resourceUri), TESTABLE_NAME)));
+        shared.write(m -> updateObject(getResourceFromModel(m, resourceUri), TESTABLE_NAME, "Updated"));
+        assertEquals("Updated", shared.read(m -> getRequiredStringObject(getResourceFromModel(m, resourceUri), TESTABLE_NAME)));
+    }
+
+    @Test
+    @DisplayName("Propagate exceptions from shared reads")
+    void failToReadMissingValue() {
+        RdfSharedModel optimistic = new RdfSharedModel(model, true);
+        RdfSharedModel locking = new RdfSharedModel(model);
+        assertTrue(optimistic.isOptimistic());
+        assertFalse(locking.isOptimistic());
+        assertThrows(SaiRdfNotFoundException.class, () -> optimistic.read(m -> getRequiredUriObject(getResourceFromModel(m, resourceUri), TESTABLE_MISSING)));
+        assertThrows(SaiRdfException.class, () -> locking.read(m -> getRequiredUriObject(getResourceFromModel(m, resourceUri), TESTABLE_NAME)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    @DisplayName("Read consistently while writers update a shared model")
+    void checkConcurrentReadsAndWrites(boolean optimistic) throws Exception {
+        RdfSharedModel shared = new RdfSharedModel(model, optimistic);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                final int writer = i;
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 200; j++) {
+                        if (writer == 0) {
+                            final int value = j;
+                            shared.write(m -> updateObject(getResourceFromModel(m, resourceUri), TESTABLE_ID, value));
+                        } else {
+                            assertNotNull(shared.read(m -> getRequiredIntegerObject(getResourceFromModel(m, resourceUri), TESTABLE_ID)));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) { future.get(); }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(199, getRequiredIntegerObject(getResourceFromModel(model, resourceUri), TESTABLE_ID));
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.riot.Lang;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static com.janeirodigital.sai.rdfutils.RdfUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RdfSnapshotTests {
+
+    private static URI resourceUri;
+    private static Model expected;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    static void beforeAll() throws SaiRdfException, IOException {
+        resourceUri = URI.create("https://data.example/resource#project");
+        expected = getModelFromFile(resourceUri, "rdf-resource.ttl", TEXT_TURTLE);
+    }
+
+    @Test
+    @DisplayName("Write a snapshot on first load and read it on the next")
+    void checkSnapshot() throws SaiRdfException, IOException {
+        Path source = writeSource();
+        assertFalse(RdfSnapshot.isCurrent(resourceUri, source));
+        assertTrue(getModelFromFileWithSnapshot(resourceUri, source.toString(), TEXT_TURTLE).isIsomorphicWith(expected));
+        assertTrue(Files.exists(RdfSnapshot.getSnapshotPath(source)));
+        assertTrue(Files.exists(RdfSnapshot.getKeyPath(source)));
+        assertTrue(RdfSnapshot.isCurrent(resourceUri, source));
+        Model loaded = getModelFromFileWithSnapshot(resourceUri, source.toString(), TEXT_TURTLE);
+        assertTrue(loaded.isIsomorphicWith(expected));
+        assertEquals(expected.getNsPrefixMap(), loaded.getNsPrefixMap());
+    }
+
+    @Test
+    @DisplayName("Reuse a snapshot when the source is touched but unchanged")
+    void checkTouchedSource() throws SaiRdfException, IOException {
+        Path source = writeSource();
+        getModelFromFileWithSnapshot(resourceUri, source.toString(), TEXT_TURTLE);
+        Files.setLastModifiedTime(source, FileTime.fromMillis(Files.getLastModifiedTime(source).toMillis() + 60000));
+        assertTrue(RdfSnapshot.isCurrent(resourceUri, source));
+    }
+
+    @Test
+    @DisplayName("Fall back to parsing when the source changed")
+    void checkChangedSource() throws SaiRdfException, IOException {
+        Path source = writeSource();
+        getModelFromFileWithSnapshot(resourceUri, source.toString(), TEXT_TURTLE);
+        Files.writeString(source, "<#a> <#b> <#c> .");
+        assertFalse(RdfSnapshot.isCurrent(resourceUri, source));
+        assertEquals(1, getModelFromFileWithSnapshot(resourceUri, source.toString(), TEXT_TURTLE).size());
+        assertTrue(RdfSnapshot.isCurrent(resourceUri, source));
+    }
+
+    @Test
+    @DisplayName("Fall back to parsing when the base URI differs")
+    void checkChangedBaseUri() throws SaiRdfException, IOException {
+        Path source = writeSource();
+        getModelFromFileWithSnapshot(resourceUri, source.toString(), TEXT_TURTLE);
+        assertFalse(RdfSnapshot.isCurrent(URI.create("https://other.example/resource"), source));
+    }
+
+    @Test
+    @DisplayName("Fall back to parsing when the snapshot is corrupt")
+    void checkCorruptSnapshot() throws SaiRdfException, IOException {
+        Path source = writeSource();
+        getModelFromFileWithSnapshot(resourceUri, source.toString(), TEXT_TURTLE);
+        Files.write(RdfSnapshot.getSnapshotPath(source), new byte[] { 1, 2, 3, 4 });
+        assertTrue(getModelFromFileWithSnapshot(resourceUri, source.toString(), TEXT_TURTLE).isIsomorphicWith(expected));
+    }
+
+    private Path writeSource() throws IOException {
+        Path source = tempDir.resolve("resource.ttl");
+        Files.writeString(source, getStringFromRdfModel(expected, Lang.TURTLE));
+        return source;
+    }
+
+}
@@ -0,0 +1,174 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Model;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static com.janeirodigital.sai.rdfutils.RdfUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RdfTripleStreamTests {
+
+    private static URI resourceUri;
+    private static Model expectedModel;
+
+    @BeforeAll
+    static void beforeAll() throws SaiRdfException, IOException {
+        resourceUri = URI.create("https://data.example/resource#project");
+        expectedModel = getModelFromFile(resourceUri, "rdf-resource.ttl", TEXT_TURTLE);
+    }
+
+    @Test
+    @DisplayName("Pipe published triples through a streaming writer")
+    void checkPublishToWriter() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RdfTripleWriter writer = getTripleWriter(out, N_TRIPLES);
+        getTriplePublisher(resourceUri, getResourceStream(), TEXT_TURTLE).subscribe(writer);
+        long written = writer.getCompletion().get(10, TimeUnit.SECONDS);
+        assertEquals(expectedModel.size(), written);
+        Model model = getModelFromString(resourceUri, out.toString(StandardCharsets.UTF_8), N_TRIPLES);
+        assertTrue(model.isIsomorphicWith(expectedModel));
+    }
+
+    @Test
+    @DisplayName("Deliver only as many triples as requested")
+    void checkPublisherBackpressure() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ClosingInputStream in = new ClosingInputStream(getResourceStream());
+        RdfTriplePublisher publisher = new RdfTriplePublisher(resourceUri, in, TEXT_TURTLE, 2, executor);
+        List<Triple> received = new CopyOnWriteArrayList<>();
+        CompletableFuture<Flow.Subscription> subscribed = new CompletableFuture<>();
+        CompletableFuture<Void> requested = new CompletableFuture<>();
+        try {
+            publisher.subscribe(new Flow.Subscriber<>() {
+                @Override public void onSubscribe(Flow.Subscription subscription) { subscribed.complete(subscription); subscription.request(3); }
+                @Override public void onNext(Triple item) {
+                    received.add(item);
+                    if (received.size() == 3) { requested.complete(null); }
+                }
+                @Override public void onError(Throwable throwable) { requested.completeExceptionally(throwable); }
+                @Override public void onComplete() { requested.completeExceptionally(new IllegalStateException("Completed")); }
+            });
+            requested.get(10, TimeUnit.SECONDS);
+            Thread.sleep(200);
+            assertEquals(3, received.size());
+            subscribed.get().request(2);
+            long deadline = System.currentTimeMillis() + 10000;
+            while (received.size() < 5 && System.currentTimeMillis() < deadline) { Thread.sleep(10); }
+            Thread.sleep(200);
+            assertEquals(5, received.size());
+            subscribed.get().cancel();
+            deadline = System.currentTimeMillis() + 10000;
+            while (!in.closed && System.currentTimeMillis() < deadline) { Thread.sleep(10); }
+            assertTrue(in.closed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Signal an invalid request from the publishing thread")
+    void failToRequestNonPositive() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ClosingInputStream in = new ClosingInputStream(getResourceStream());
+        RdfTriplePublisher publisher = new RdfTriplePublisher(resourceUri, in, TEXT_TURTLE, 2, executor);
+        List<Triple> received = new CopyOnWriteArrayList<>();
+        CompletableFuture<Flow.Subscription> subscribed = new CompletableFuture<>();
+        CompletableFuture<Thread> failed = new CompletableFuture<>();
+        try {
+            publisher.subscribe(new Flow.Subscriber<>() {
+                @Override public void onSubscribe(Flow.Subscription subscription) { subscribed.complete(subscription); subscription.request(1); }
+                @Override public void onNext(Triple item) { received.add(item); }
+                @Override public void onError(Throwable throwable) {
+                    if (throwable instanceof IllegalArgumentException) { failed.complete(Thread.currentThread()); } else { failed.completeExceptionally(throwable); }
+                }
+                @Override public void onComplete() { failed.completeExceptionally(new IllegalStateException("Completed")); }
+            });
+            long deadline = System.currentTimeMillis() + 10000;
+            while (received.isEmpty() && System.currentTimeMillis() < deadline) { Thread.sleep(10); }
+            subscribed.get().request(0);
+            Thread signalled = failed.get(10, TimeUnit.SECONDS);
+            assertNotSame(Thread.currentThread(), signalled);
+            assertEquals(1, received.size());
+            assertTrue(in.closed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Signal an error when publishing invalid input")
+    void failToPublishInvalidInput() {
+        InputStream in = new ByteArrayInputStream("PRE x: <y> .".getBytes(StandardCharsets.UTF_8));
+        RdfTriplePublisher publisher = new RdfTriplePublisher(resourceUri, in, TEXT_TURTLE);
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        publisher.subscribe(new Flow.Subscriber<>() {
+            @Override public void onSubscribe(Flow.Subscription subscription) { subscription.request(Long.MAX_VALUE); }
+            @Override public void onNext(Triple item) { }
+            @Override public void onError(Throwable throwable) { done.completeExceptionally(throwable); }
+            @Override public void onComplete() { done.complete(null); }
+        });
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> done.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(SaiRdfException.class, ex.getCause());
+    }
+
+    @Test
+    @DisplayName("Reject a second subscriber to the same input")
+    void failToSubscribeTwice() throws SaiRdfException {
+        RdfTriplePublisher publisher = new RdfTriplePublisher(resourceUri, getResourceStream(), TEXT_TURTLE, 10, Runnable::run);
+        publisher.subscribe(new RdfTripleWriter(new ByteArrayOutputStream(), N_TRIPLES));
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        publisher.subscribe(new Flow.Subscriber<>() {
+            @Override public void onSubscribe(Flow.Subscription subscription) { }
+            @Override public void onNext(Triple item) { }
+            @Override public void onError(Throwable throwable) { done.completeExceptionally(throwable); }
+            @Override public void onComplete() { done.complete(null); }
+        });
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> done.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+    }
+
+    @Test
+    @DisplayName("Fail to get a streaming writer for JSON-LD")
+    void failToGetJsonLdWriter() {
+        assertThrows(SaiRdfException.class, () -> getTripleWriter(new ByteArrayOutputStream(), LD_JSON));
+    }
+
+    /**
+     * Input stream recording whether it was closed
+     */
+    private static class ClosingInputStream extends FilterInputStream {
+        private volatile boolean closed;
+
+        ClosingInputStream(InputStream in) { super(in); }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+
+    private static InputStream getResourceStream() {
+        return RdfTripleStreamTests.class.getClassLoader().getResourceAsStream("rdf-resource.ttl");
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+
+import static com.janeirodigital.sai.rdfutils.RdfUtils.*;
+import static com.janeirodigital.sai.rdfutils.TestableVocabulary.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RdfTypeIndexTests {
+
+    private static final URI projectUri = URI.create("https://data.example/projects#project");
+    private static final URI milestoneUri = URI.create("https://data.example/projects#milestone");
+    private static final URI otherMilestoneUri = URI.create("https://data.example/projects#milestone-2");
+    private Model model;
+
+    @BeforeEach
+    void beforeEach() {
+        model = ModelFactory.createDefaultModel();
+        getNewResourceForType(model, projectUri, TESTABLE_PROJECT);
+        getNewResourceForType(model, milestoneUri, TESTABLE_MILESTONE);
+    }
+
+    @Test
+    @DisplayName("Get resources of a type")
+    void checkGetResourcesOfType() {
+        assertEquals(List.of(getResourceFromModel(model, projectUri)), getResourcesOfType(model, TESTABLE_PROJECT));
+        assertEquals(List.of(getResourceFromModel(model, milestoneUri)), getResourcesOfType(model, URI.create(TESTABLE_MILESTONE.asResource().getURI())));
+        assertTrue(getResourcesOfType(model, TESTABLE_TASK).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Keep the type index consistent with updates")
+    void checkIndexFollowsUpdates() {
+        assertEquals(1, getResourcesOfType(model, TESTABLE_MILESTONE).size());
+        getNewResourceForType(model, otherMilestoneUri, TESTABLE_MILESTONE);
+        assertEquals(2, getResourcesOfType(model, TESTABLE_MILESTONE).size());
+        updateObject(getResourceFromModel(model, milestoneUri), RDF.type, TESTABLE_TASK);
+        assertEquals(List.of(getResourceFromModel(model, otherMilestoneUri)), getResourcesOfType(model, TESTABLE_MILESTONE));
+        assertEquals(List.of(getResourceFromModel(model, milestoneUri)), getResourcesOfType(model, TESTABLE_TASK));
+        getResourceFromModel(model, otherMilestoneUri).removeProperties();
+        assertTrue(getResourcesOfType(model, TESTABLE_MILESTONE).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Keep the type index consistent with bulk changes")
+    void checkIndexFollowsBulkChanges() {
+        assertEquals(1, getResourcesOfType(model, TESTABLE_PROJECT).size());
+        Model other = ModelFactory.createDefaultModel();
+        Resource added = getNewResourceForType(other, URI.create("https://data.example/projects#project-2"), TESTABLE_PROJECT);
+        model.add(other);
+        assertEquals(2, getResourcesOfType(model, TESTABLE_PROJECT).size());
+        model.remove(other);
+        assertEquals(1, getResourcesOfType(model, TESTABLE_PROJECT).size());
+        model.removeAll();
+        assertTrue(getResourcesOfType(model, TESTABLE_PROJECT).isEmpty());
+        model.add(other);
+        assertEquals(List.of(added), getResourcesOfType(model, TESTABLE_PROJECT));
+    }
+
+}
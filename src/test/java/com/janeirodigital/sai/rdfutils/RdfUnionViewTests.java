@@ -0,0 +1,99 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.shared.AddDeniedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.net.URI;
+import java.util.List;
+
+import static com.janeirodigital.sai.rdfutils.RdfUtils.*;
+import static com.janeirodigital.sai.rdfutils.TestableVocabulary.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RdfUnionViewTests {
+
+    private static final URI projectUri = URI.create("https://data.example/projects#project");
+    private static final URI milestoneUri = URI.create("https://data.example/milestones#milestone");
+    private Model projectModel;
+    private Model milestoneModel;
+
+    @BeforeEach
+    void beforeEach() {
+        projectModel = ModelFactory.createDefaultModel();
+        Resource project = getNewResourceForType(projectModel, projectUri, TESTABLE_PROJECT);
+        updateObject(project, TESTABLE_HAS_MILESTONE, milestoneUri);
+        milestoneModel = ModelFactory.createDefaultModel();
+        Resource milestone = getNewResourceForType(milestoneModel, milestoneUri, TESTABLE_MILESTONE);
+        updateObject(milestone, TESTABLE_NAME, "Milestone");
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    @DisplayName("Query across models through a union view")
+    void checkQueryUnionView(boolean indexed) throws SaiRdfException {
+        RdfUnionView view = RdfUnionView.of(List.of(projectModel, milestoneModel), indexed);
+        Model union = view.getModel();
+        assertEquals(projectModel.size() + milestoneModel.size(), union.size());
+        URI milestone = getUriObject(getResourceFromModel(union, projectUri), TESTABLE_HAS_MILESTONE);
+        assertEquals("Milestone", getStringObject(getResourceFromModel(union, milestone), TESTABLE_NAME));
+    }
+
+    @Test
+    @DisplayName("Reflect source changes in a dynamic union view")
+    void checkDynamicUnionView() throws SaiRdfException {
+        RdfUnionView view = getUnionView(List.of(projectModel, milestoneModel));
+        updateObject(getResourceFromModel(milestoneModel, milestoneUri), TESTABLE_NAME, "Renamed");
+        assertEquals("Renamed", getStringObject(getResourceFromModel(view.getModel(), milestoneUri), TESTABLE_NAME));
+    }
+
+    @Test
+    @DisplayName("Reflect source changes in type lookups and paths over a dynamic union view")
+    void checkDynamicUnionViewIndexes() throws SaiRdfException {
+        RdfUnionView view = getUnionView(List.of(projectModel, milestoneModel));
+        Model union = view.getModel();
+        RdfPath tags = RdfPath.of(TESTABLE_HAS_TAG);
+        Resource milestone = getResourceFromModel(union, milestoneUri);
+        assertEquals(1, getResourcesOfType(union, TESTABLE_MILESTONE).size());
+        assertTrue(tags.getUriObjects(milestone).isEmpty());
+        URI otherUri = URI.create("https://data.example/milestones#other");
+        getNewResourceForType(milestoneModel, otherUri, TESTABLE_MILESTONE);
+        updateObject(getResourceFromModel(milestoneModel, milestoneUri), TESTABLE_HAS_TAG, URI.create("https://data.example/tags#tag"));
+        assertEquals(2, getResourcesOfType(union, TESTABLE_MILESTONE).size());
+        assertEquals(List.of(URI.create("https://data.example/tags#tag")), tags.getUriObjects(milestone));
+        // A type still stated by another source remains in the view
+        getNewResourceForType(projectModel, otherUri, TESTABLE_MILESTONE);
+        milestoneModel.removeAll(milestoneModel.getResource(otherUri.toString()), null, null);
+        assertEquals(2, getResourcesOfType(union, TESTABLE_MILESTONE).size());
+        projectModel.removeAll(projectModel.getResource(otherUri.toString()), null, null);
+        assertEquals(1, getResourcesOfType(union, TESTABLE_MILESTONE).size());
+        milestoneModel.removeAll(null, TESTABLE_HAS_TAG, null);
+        assertTrue(tags.getUriObjects(milestone).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Look up the sources of statements and resources")
+    void checkUnionProvenance() throws SaiRdfNotFoundException {
+        RdfUnionView view = getUnionView(List.of(projectModel, milestoneModel));
+        Resource milestone = getResourceFromModel(view.getModel(), milestoneUri);
+        assertEquals(List.of(milestoneModel), view.getSources(getRequiredStatement(milestone, TESTABLE_NAME)));
+        assertEquals(List.of(milestoneModel), view.getSources(milestone));
+        assertEquals(2, view.getSources().size());
+        assertTrue(view.getSources(getResourceFromModel(view.getModel(), URI.create("https://data.example/missing"))).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Fail to modify a union view")
+    void failToModifyUnionView() {
+        RdfUnionView view = getUnionView(List.of(projectModel, milestoneModel));
+        Resource project = getResourceFromModel(view.getModel(), projectUri);
+        assertThrows(AddDeniedException.class, () -> project.addProperty(TESTABLE_NAME, "Project"));
+    }
+
+}
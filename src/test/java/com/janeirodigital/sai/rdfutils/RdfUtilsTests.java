@@ -26,6 +26,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static com.janeirodigital.sai.rdfutils.RdfUtils.*;
 import static com.janeirodigital.sai.rdfutils.TestableVocabulary.TESTABLE_MILESTONE;
@@ -646,6 +647,72 @@ class RdfUtilsTests {
         assertEquals(Lang.NTRIPLES, getLangForContentType(N_TRIPLES));
     }
 
+    @Test
+    @DisplayName("Find values without throwing")
+    void checkFindObjects() {
+        assertEquals(READABLE_NAME, findStringObject(readableResource, TestableVocabulary.TESTABLE_NAME).getValue());
+        assertEquals(READABLE_ID, findIntegerObject(readableResource, TestableVocabulary.TESTABLE_ID).getValue());
+        assertEquals(READABLE_ACTIVE, findBooleanObject(readableResource, TestableVocabulary.TESTABLE_ACTIVE).getValue());
+        assertEquals(READABLE_CREATED_AT, findDateTimeObject(readableResource, TestableVocabulary.TESTABLE_CREATED_AT).getValue());
+        assertEquals(READABLE_MILESTONE, findUriObject(readableResource, TestableVocabulary.TESTABLE_HAS_MILESTONE).getValue());
+        assertTrue(findObject(readableResource, TestableVocabulary.TESTABLE_NAME).isFound());
+    }
+
+    @Test
+    @DisplayName("Find missing and invalid values without throwing")
+    void checkFindMissingAndInvalidObjects() {
+        RdfResult<String> missing = findStringObject(readableResource, TestableVocabulary.TESTABLE_MISSING);
+        assertTrue(missing.isNotFound());
+        assertEquals("fallback", missing.orElse("fallback"));
+        assertTrue(findObject(readableResource, TestableVocabulary.TESTABLE_MISSING).isNotFound());
+        assertTrue(findUriObject(readableResource, TestableVocabulary.TESTABLE_MISSING).isNotFound());
+        assertTrue(findStringObject(readableResource, TestableVocabulary.TESTABLE_ID).isInvalid());
+        assertTrue(findIntegerObject(readableResource, TestableVocabulary.TESTABLE_HAS_MILESTONE).isInvalid());
+        assertTrue(findUriObject(readableResource, TestableVocabulary.TESTABLE_NAME).isInvalid());
+        assertThrows(SaiRdfNotFoundException.class, missing::orElseThrow);
+        assertThrows(SaiRdfException.class, () -> findBooleanObject(readableResource, TestableVocabulary.TESTABLE_NAME).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Throw exceptions without stack traces")
+    void checkStacklessExceptions() {
+        setStacklessExceptions(true);
+        try {
+            SaiRdfNotFoundException ex = assertThrows(SaiRdfNotFoundException.class, () -> getRequiredStringObject(readableResource, TestableVocabulary.TESTABLE_MISSING));
+            assertEquals(0, ex.getStackTrace().length);
+            assertEquals(0, new SaiRdfException("stackless").getStackTrace().length);
+        } finally {
+            setStacklessExceptions(false);
+        }
+        assertTrue(new SaiRdfException("with stack").getStackTrace().length > 0);
+    }
+
+    @Test
+    @DisplayName("Stream objects lazily from resource by property")
+    void checkStreamObjects() {
+        assertEquals(READABLE_TAGS, streamUriObjects(readableResource, TestableVocabulary.TESTABLE_HAS_TAG).sorted().collect(Collectors.toList()));
+        assertTrue(CollectionUtils.isEqualCollection(READABLE_COMMENTS, streamStringObjects(readableResource, TestableVocabulary.TESTABLE_HAS_COMMENT).collect(Collectors.toList())));
+        assertEquals(3, streamObjects(readableResource, TestableVocabulary.TESTABLE_HAS_TAG).count());
+        assertEquals(1, streamObjects(readableResource, TestableVocabulary.TESTABLE_HAS_TAG).limit(1).count());
+        assertEquals(0, streamObjects(readableResource, TestableVocabulary.TESTABLE_MISSING).count());
+    }
+
+    @Test
+    @DisplayName("Fail to stream objects of the wrong type")
+    void failToStreamInvalidObjects() {
+        assertThrows(UncheckedSaiRdfException.class, () -> streamUriObjects(readableResource, TestableVocabulary.TESTABLE_HAS_COMMENT).count());
+        assertThrows(UncheckedSaiRdfException.class, () -> streamStringObjects(readableResource, TestableVocabulary.TESTABLE_HAS_TAG).count());
+    }
+
+    @Test
+    @DisplayName("Check for matching objects without collecting them")
+    void checkContainsAndMatchObjects() {
+        assertTrue(containsUriObject(readableResource, TestableVocabulary.TESTABLE_HAS_TAG, READABLE_TAGS.get(1)));
+        assertFalse(containsUriObject(readableResource, TestableVocabulary.TESTABLE_HAS_TAG, URI.create("https://data.example/tags/tag-9")));
+        assertTrue(anyObjectMatches(readableResource, TestableVocabulary.TESTABLE_HAS_COMMENT, node -> node.asLiteral().getString().startsWith("Second")));
+        assertFalse(anyObjectMatches(readableResource, TestableVocabulary.TESTABLE_HAS_COMMENT, RDFNode::isResource));
+    }
+
     private static String getRdfResourceBody() {
         return "PREFIX rdf: <http://www.w3.org/1999/02/22-rdf-syntax-ns#>\n" +
                 "PREFIX rdfs: <http://www.w3.org/2000/01/rdf-schema#>\n" +
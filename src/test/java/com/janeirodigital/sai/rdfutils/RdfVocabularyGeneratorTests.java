@@ -0,0 +1,113 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Property;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.janeirodigital.sai.rdfutils.RdfUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class RdfVocabularyGeneratorTests {
+
+    private static final String NS = "http://testable.example/ns/testable#";
+    private static Model vocabulary;
+
+    @BeforeAll
+    static void beforeAll() throws SaiRdfException, IOException {
+        vocabulary = getModelFromFile(URI.create(NS), "testable-vocabulary.ttl", TEXT_TURTLE);
+    }
+
+    @Test
+    @DisplayName("Generate constants for the properties and classes of a vocabulary")
+    void checkGenerate() {
+        String source = RdfVocabularyGenerator.generate(vocabulary, NS, "com.example.vocab", "Testable", "TESTABLE_");
+        assertTrue(source.contains("package com.example.vocab;"));
+        assertTrue(source.contains("public static final String TESTABLE_HAS_MILESTONE_IRI = \"" + NS + "hasMilestone\";"));
+        assertTrue(source.contains("public static final Property TESTABLE_CREATED_AT = ResourceFactory.createProperty(TESTABLE_CREATED_AT_IRI);"));
+        assertTrue(source.contains("public static final Resource TESTABLE_TESTABLE_PROJECT = ResourceFactory.createResource(TESTABLE_TESTABLE_PROJECT_IRI);"));
+        assertTrue(source.contains("public static final Node TESTABLE_OPEN_NODE"));
+        assertTrue(source.contains("public static final Resource TESTABLE_STATUS"));
+        assertFalse(source.contains("TESTABLE_TESTABLE_PROJECT_ID"));
+    }
+
+    @Test
+    @DisplayName("Generate a vocabulary class that compiles and resolves predicate identifiers")
+    void checkGeneratedClass(@TempDir Path directory) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assumeTrue(compiler != null, "A Java compiler is required to compile the generated class");
+        Path file = RdfVocabularyGenerator.write(vocabulary, NS, "com.example.vocab", "Testable", "", directory);
+        assertEquals(directory.resolve("com/example/vocab/Testable.java"), file);
+        assertTrue(Files.exists(file));
+        int result = compiler.run(null, null, null, "-classpath", System.getProperty("java.class.path"), file.toString());
+        assertEquals(0, result);
+        try (URLClassLoader loader = new URLClassLoader(new java.net.URL[] { directory.toUri().toURL() }, getClass().getClassLoader())) {
+            Class<?> generated = loader.loadClass("com.example.vocab.Testable");
+            Method byNode = generated.getMethod("getPredicateId", Node.class);
+            int id = generated.getField("HAS_MILESTONE_ID").getInt(null);
+            assertEquals(id, byNode.invoke(null, NodeFactory.createURI(NS + "hasMilestone")));
+            assertEquals(-1, byNode.invoke(null, NodeFactory.createURI(NS + "TestableProject")));
+            assertEquals(-1, byNode.invoke(null, NodeFactory.createBlankNode()));
+            Property property = (Property) generated.getField("HAS_MILESTONE").get(null);
+            assertEquals(TestableVocabulary.TESTABLE_HAS_MILESTONE, property);
+            assertSame(NS + "hasMilestone", generated.getField("HAS_MILESTONE_IRI").get(null));
+        }
+    }
+
+    @Test
+    @DisplayName("Generate distinct constant names for colliding terms")
+    void checkGenerateCollidingNames() throws SaiRdfException {
+        Model model = getModelFromString(URI.create(NS), "<" + NS + "hasTag> a <http://www.w3.org/1999/02/22-rdf-syntax-ns#Property> .\n" +
+                                                         "<" + NS + "has_tag> a <http://www.w3.org/2000/01/rdf-schema#Class> .\n" +
+                                                         "<" + NS + "1st> a <http://www.w3.org/2000/01/rdf-schema#Class> .", TEXT_TURTLE);
+        String source = RdfVocabularyGenerator.generate(model, NS, "", "Testable", "");
+        assertFalse(source.contains("package"));
+        assertTrue(source.contains("public static final Property HAS_TAG ="));
+        assertTrue(source.contains("public static final Resource HAS_TAG_CLASS ="));
+        assertTrue(source.contains("public static final Resource _1ST ="));
+    }
+
+    @Test
+    @DisplayName("Generate a compilable class for terms whose constant names overlap")
+    void checkGeneratedClassWithOverlappingNames(@TempDir Path directory) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assumeTrue(compiler != null, "A Java compiler is required to compile the generated class");
+        String property = "> a <http://www.w3.org/1999/02/22-rdf-syntax-ns#Property> .\n";
+        String type = "> a <http://www.w3.org/2000/01/rdf-schema#Class> .\n";
+        Model model = getModelFromString(URI.create(NS), "<" + NS + "hasTag" + property + "<" + NS + "hasTagId" + property +
+                                                         "<" + NS + "tag" + type + "<" + NS + "tagNode" + property +
+                                                         "<" + NS + "tagIri" + type + "<" + NS + "stra\u00dfe" + type +
+                                                         "<" + NS + "strasse" + type, TEXT_TURTLE);
+        Path file = RdfVocabularyGenerator.write(model, NS, "com.example.overlap", "Overlap", "", directory);
+        int result = compiler.run(null, null, null, "-classpath", System.getProperty("java.class.path"), file.toString());
+        assertEquals(0, result);
+        try (URLClassLoader loader = new URLClassLoader(new java.net.URL[] { directory.toUri().toURL() }, getClass().getClassLoader())) {
+            Class<?> generated = loader.loadClass("com.example.overlap.Overlap");
+            Method byIri = generated.getMethod("getPredicateId", String.class);
+            assertNotEquals(byIri.invoke(null, NS + "hasTag"), byIri.invoke(null, NS + "hasTagId"));
+            assertEquals(NS + "hasTag", generated.getField("HAS_TAG_IRI").get(null));
+            assertEquals(NS + "tagNode", ((Property) generated.getField("TAG_NODE_PROPERTY").get(null)).getURI());
+        }
+    }
+
+    @Test
+    @DisplayName("Fail to generate without a namespace")
+    void failToGenerateWithoutNamespace() {
+        assertThrows(NullPointerException.class, () -> RdfVocabularyGenerator.generate(vocabulary, null, "com.example.vocab", "Testable", ""));
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.janeirodigital.sai.rdfutils.RdfUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RdfWarmUpTests {
+
+    private static final String CONTEXT = "{ \"@context\": { \"ex\": \"https://warmup.example/vocab#\" } }";
+
+    @Test
+    @DisplayName("Warm up each phase and content type")
+    void checkWarmUp() {
+        RdfWarmUpReport report = warmUp();
+        assertTrue(report.isSuccessful(), report.getFailures().toString());
+        assertTrue(report.getPhases().keySet().containsAll(List.of("jena", "parsers", "titanium", "contexts", "jsonld", TEXT_TURTLE, LD_JSON, RDF_XML, N_TRIPLES)));
+        assertFalse(report.getTotal().isNegative());
+        assertTrue(report.toString().contains("jena="));
+    }
+
+    @Test
+    @DisplayName("Warm up with preloaded JSON-LD contexts")
+    void checkWarmUpWithContexts() {
+        RdfWarmUpReport report = warmUp(List.of(CONTEXT), 2);
+        assertTrue(report.isSuccessful(), report.getFailures().toString());
+        assertTrue(report.getPhases().containsKey("context " + CONTEXT));
+        assertTrue(RdfJsonLdContext.getSharedContexts().stream().anyMatch(context -> CONTEXT.equals(context.getContext())));
+    }
+
+    @Test
+    @DisplayName("Report phases that fail without failing the warm-up")
+    void checkWarmUpWithFailure() {
+        RdfWarmUpReport report = warmUp(List.of("{ not json"), 1);
+        assertFalse(report.isSuccessful());
+        assertInstanceOf(SaiRdfException.class, report.getFailures().get("contexts"));
+        assertTrue(report.toString().contains("contexts=failed"));
+    }
+
+    @Test
+    @DisplayName("Fail to warm up with invalid iterations")
+    void failToWarmUpWithInvalidIterations() {
+        assertThrows(IllegalArgumentException.class, () -> warmUp(List.of(), 0));
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.janeirodigital.sai.rdfutils;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFFormat;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import static com.janeirodigital.sai.rdfutils.RdfUtils.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RdfWritingTests {
+
+    private static URI resourceUri;
+    private static Model model;
+
+    @BeforeAll
+    static void beforeAll() throws SaiRdfException, IOException {
+        resourceUri = URI.create("https://data.example/resource#project");
+        model = getModelFromFile(resourceUri, "rdf-resource.ttl", TEXT_TURTLE);
+    }
+
+    @Test
+    @DisplayName("Choose the Turtle layout automatically by model size")
+    void checkAutoPolicy() {
+        assertEquals(RDFFormat.TURTLE_PRETTY, RdfWriting.getFormat(model, Lang.TURTLE, RdfWriteOptions.DEFAULT));
+        RdfWriteOptions small = RdfWriteOptions.builder().prettyThreshold(model.size() - 1).build();
+        assertEquals(RDFFormat.TURTLE_BLOCKS, RdfWriting.getFormat(model, Lang.TURTLE, small));
+    }
+
+    @Test
+    @DisplayName("Choose the Turtle layout explicitly")
+    void checkExplicitPolicy() {
+        assertEquals(RDFFormat.TURTLE_FLAT, RdfWriting.getFormat(model, Lang.TURTLE, RdfWriteOptions.builder().policy(RdfWritePolicy.FLAT).build()));
+        assertEquals(RDFFormat.TURTLE_BLOCKS, RdfWriting.getFormat(model, Lang.TURTLE, RdfWriteOptions.builder().policy(RdfWritePolicy.BLOCKS).build()));
+        assertEquals(RDFFormat.TURTLE_PRETTY, RdfWriting.getFormat(model, Lang.TURTLE, RdfWriteOptions.builder().policy(RdfWritePolicy.PRETTY).prettyThreshold(0).build()));
+    }
+
+    @Test
+    @DisplayName("Use the default writer for formats other than Turtle")
+    void checkOtherFormats() {
+        RdfWriteOptions flat = RdfWriteOptions.builder().policy(RdfWritePolicy.FLAT).build();
+        assertEquals(RDFFormat.NTRIPLES, RdfWriting.getFormat(model, Lang.NTRIPLES, flat));
+    }
+
+    @Test
+    @DisplayName("Serialize a model with each Turtle layout")
+    void checkWriteWithPolicies() throws SaiRdfException {
+        for (RdfWritePolicy policy : RdfWritePolicy.values()) {
+            String turtle = getStringFromRdfModel(model, Lang.TURTLE, RdfWriteOptions.builder().policy(policy).build());
+            assertTrue(getModelFromString(resourceUri, turtle, TEXT_TURTLE).isIsomorphicWith(model));
+        }
+    }
+
+    @Test
+    @DisplayName("Write a model to a stream with flat Turtle")
+    void checkWriteToStream() throws SaiRdfException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeRdfModelToStream(model, out, Lang.TURTLE, RdfWriteOptions.builder().policy(RdfWritePolicy.FLAT).build());
+        String turtle = out.toString(StandardCharsets.UTF_8);
+        long statements = turtle.lines().filter(line -> line.endsWith(" .") && !line.startsWith("PREFIX") && !line.startsWith("@prefix")).count();
+        assertEquals(model.size(), statements);
+        assertTrue(getModelFromString(resourceUri, turtle, TEXT_TURTLE).isIsomorphicWith(model));
+    }
+
+}